@@ -0,0 +1,66 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import util.JPAUtil;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado común de los benchmarks de DAOs y servicio: una base SQLite temporal sembrada
+ * con {@link DatosSinteticos} por cada trial. El tamaño se elige con
+ * {@code -p cargos=...} y {@code -p empleados=...}.
+ * <p>
+ * Los benchmarks de inserción hacen crecer la base durante el trial; los identificadores
+ * nuevos salen de {@link #siguienteUnico()} para no chocar con los sembrados.
+ */
+@State(Scope.Benchmark)
+public abstract class BaseSintetica {
+
+    @Param("50")
+    public int cargos;
+
+    @Param({"10000", "100000"})
+    public int empleados;
+
+    private final AtomicLong unicos = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void prepararBase() throws Exception {
+        DatosSinteticos.crearBaseTemporal();
+        DatosSinteticos.sembrar(cargos, empleados);
+        preparar();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrarBase() {
+        JPAUtil.close();
+    }
+
+    /**
+     * Preparación propia de cada benchmark, con la base ya sembrada
+     */
+    protected void preparar() {
+    }
+
+    protected long idEmpleadoAleatorio() {
+        return 1 + ThreadLocalRandom.current().nextInt(empleados);
+    }
+
+    protected long idCargoAleatorio() {
+        return 1 + ThreadLocalRandom.current().nextInt(cargos);
+    }
+
+    protected String identificacionAleatoria() {
+        return DatosSinteticos.numeroEmpleado((int) idEmpleadoAleatorio());
+    }
+
+    protected long siguienteUnico() {
+        return unicos.incrementAndGet();
+    }
+}
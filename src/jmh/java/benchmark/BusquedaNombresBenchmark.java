@@ -0,0 +1,100 @@
+package benchmark;
+
+import dao.CargoDAO;
+import dao.ConsultaEmpleadosDAO;
+import dao.EmpleadoDAO;
+import models.EmpleadoResumen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.IndiceTrigramas;
+import util.JPAUtil;
+import util.UnidadDeTrabajo;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda por nombre: índice de trigramas en memoria frente a la consulta LIKE
+ * ({@code '%texto%'} sobre nombre y apellido) y al índice de texto completo de la base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BusquedaNombresBenchmark {
+
+    private static final int LIMITE = 500;
+
+    @Param("1000000")
+    public int empleados;
+
+    @Param({"garc", "muñoz rub", "EMP-0004242"})
+    public String texto;
+
+    private IndiceTrigramas indice;
+    private ConsultaEmpleadosDAO consultaEmpleados;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        DatosSinteticos.crearBaseTemporal();
+        DatosSinteticos.sembrar(50, empleados);
+
+        CargoDAO cargos = new CargoDAO();
+        indice = new IndiceTrigramas(new EmpleadoDAO(), cargos::buscarPorId);
+        indice.reconstruir();
+        consultaEmpleados = new ConsultaEmpleadosDAO();
+        // Crea el índice FTS fuera de la medición
+        consultaEmpleados.buscarPorNombre("preparar");
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        JPAUtil.close();
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> indiceTrigramas() {
+        return indice.buscar(texto, LIMITE);
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> consultaLike() {
+        // Cada palabra debe aparecer en el nombre o el apellido, como en el índice
+        String[] palabras = texto.split("\\s+");
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new models.EmpleadoResumen(e.id, e.num_empleado, e.nombre, e.apellido, e.email, " +
+                        "e.telefono, e.fechaContratacion, e.salarioActual, e.activo, c.id, c.nombre, c.nivel) " +
+                        "FROM Empleado e JOIN e.cargo c WHERE 1 = 1");
+        for (int i = 0; i < palabras.length; i++) {
+            jpql.append(" AND (e.nombre LIKE :p").append(i).append(" OR e.apellido LIKE :p").append(i)
+                    .append(" OR e.num_empleado LIKE :p").append(i).append(")");
+        }
+        jpql.append(" ORDER BY e.apellido, e.nombre");
+
+        return UnidadDeTrabajo.consultar(em -> {
+            var query = em.createQuery(jpql.toString(), EmpleadoResumen.class).setMaxResults(LIMITE);
+            for (int i = 0; i < palabras.length; i++) {
+                query.setParameter("p" + i, "%" + palabras[i] + "%");
+            }
+            return query.getResultList();
+        });
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> indiceTextoCompleto() {
+        return consultaEmpleados.buscarPorNombre(texto);
+    }
+}
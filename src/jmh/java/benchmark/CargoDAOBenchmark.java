@@ -0,0 +1,71 @@
+package benchmark;
+
+import dao.CargoDAO;
+import models.Cargo;
+import models.ResumenCargo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de {@link CargoDAO}. Las lecturas por id y el listado completo se
+ * sirven desde la caché de segundo nivel tras el calentamiento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CargoDAOBenchmark extends BaseSintetica {
+
+    private CargoDAO cargoDAO;
+
+    @Override
+    protected void preparar() {
+        cargoDAO = new CargoDAO();
+    }
+
+    @Benchmark
+    public Cargo guardar() {
+        long n = siguienteUnico();
+        return cargoDAO.guardar(new Cargo("Cargo benchmark " + n, "Cargo creado por el benchmark", 2500.0, "Junior"));
+    }
+
+    @Benchmark
+    public Optional<Cargo> buscarPorId() {
+        return cargoDAO.buscarPorId(idCargoAleatorio());
+    }
+
+    @Benchmark
+    public Optional<Cargo> buscarPorNombreExacto() {
+        return cargoDAO.buscarPorNombreExacto("Cargo " + idCargoAleatorio());
+    }
+
+    @Benchmark
+    public List<Cargo> buscarPorNombre() {
+        return cargoDAO.buscarPorNombre("cargo 1");
+    }
+
+    @Benchmark
+    public List<Cargo> buscarTodos() {
+        return cargoDAO.buscarTodos();
+    }
+
+    @Benchmark
+    public List<ResumenCargo> buscarResumenes() {
+        return cargoDAO.buscarResumenes();
+    }
+
+    @Benchmark
+    public long contar() {
+        return cargoDAO.contar();
+    }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import org.hibernate.Session;
+import util.JPAUtil;
+import util.UnidadDeTrabajo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Base SQLite temporal con datos sintéticos reproducibles (semilla fija) para los
+ * benchmarks. Hibernate crea el esquema al configurar la base; las filas se insertan
+ * con JDBC por lotes para que sembrar un millón de empleados tome segundos.
+ */
+public final class DatosSinteticos {
+
+    private static final String[] NOMBRES = {
+            "Ana", "José", "María", "Luis", "Carmen", "Jorge", "Lucía", "Andrés", "Sofía", "Martín",
+            "Valentina", "Diego", "Camila", "Javier", "Isabel", "Raúl", "Elena", "Tomás", "Paula", "Héctor",
+            "Natalia", "Óscar", "Daniela", "Rubén", "Gabriela", "Iván", "Mónica", "Sebastián", "Inés", "Álvaro"};
+
+    private static final String[] APELLIDOS = {
+            "García", "Rodríguez", "González", "Fernández", "López", "Martínez", "Sánchez", "Pérez", "Gómez", "Martín",
+            "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez", "Romero", "Alonso", "Gutiérrez",
+            "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos", "Gil", "Ramírez", "Serrano", "Blanco", "Suárez",
+            "Molina", "Castro", "Ortega", "Rubio", "Marín", "Sanz", "Núñez", "Iglesias", "Medina", "Garrido"};
+
+    private static final String[] NIVELES = {"Junior", "Semi-Senior", "Senior", "Lead", "Gerente"};
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private DatosSinteticos() {
+    }
+
+    /**
+     * Configura JPAUtil sobre un archivo SQLite nuevo que se borra al terminar la JVM
+     */
+    public static Path crearBaseTemporal() throws IOException {
+        Path archivo = Files.createTempFile("benchmark-empleados-", ".db");
+        archivo.toFile().deleteOnExit();
+        JPAUtil.configureSQLite(archivo.toString());
+        return archivo;
+    }
+
+    /**
+     * Inserta los cargos y empleados indicados y avanza los generadores de ids más allá
+     * de los valores usados, para que las inserciones posteriores por JPA no choquen.
+     */
+    public static void sembrar(int cargos, int empleados) {
+        Random aleatorio = new Random(42);
+        UnidadDeTrabajo.ejecutar(em -> {
+            em.unwrap(Session.class).doWork(conexion -> {
+                try (PreparedStatement insertar = conexion.prepareStatement(
+                        "INSERT INTO cargos (id, nombre, descripcion, salario_base, nivel) VALUES (?, ?, ?, ?, ?)")) {
+                    for (int i = 1; i <= cargos; i++) {
+                        insertar.setLong(1, i);
+                        insertar.setString(2, "Cargo " + i);
+                        insertar.setString(3, "Cargo sintético " + i);
+                        insertar.setDouble(4, 1000 + 250.0 * (i % 20));
+                        insertar.setString(5, NIVELES[i % NIVELES.length]);
+                        insertar.addBatch();
+                    }
+                    insertar.executeBatch();
+                }
+
+                try (PreparedStatement insertar = conexion.prepareStatement(
+                        "INSERT INTO empleados (id, num_empleado, nombre, apellido, email, telefono, " +
+                                "fecha_contratacion, salario_actual, activo, cargo_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                    LocalDate inicio = LocalDate.of(2000, 1, 1);
+                    for (int i = 1; i <= empleados; i++) {
+                        insertar.setLong(1, i);
+                        insertar.setString(2, numeroEmpleado(i));
+                        insertar.setString(3, NOMBRES[aleatorio.nextInt(NOMBRES.length)]);
+                        insertar.setString(4, APELLIDOS[aleatorio.nextInt(APELLIDOS.length)] + " "
+                                + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)]);
+                        insertar.setString(5, "empleado" + i + "@empresa.com");
+                        insertar.setString(6, String.format("3%09d", i));
+                        insertar.setDate(7, Date.valueOf(inicio.plusDays(aleatorio.nextInt(9000))));
+                        insertar.setDouble(8, 1000 + aleatorio.nextInt(9000));
+                        insertar.setBoolean(9, aleatorio.nextInt(10) != 0);
+                        insertar.setLong(10, 1 + aleatorio.nextInt(cargos));
+                        insertar.addBatch();
+                        if (i % TAMANO_LOTE == 0) {
+                            insertar.executeBatch();
+                        }
+                    }
+                    insertar.executeBatch();
+                }
+
+                try (Statement statement = conexion.createStatement()) {
+                    statement.execute("DELETE FROM secuencias_id");
+                    statement.execute("INSERT INTO secuencias_id (entidad, siguiente_valor) VALUES ('cargos', "
+                            + (cargos + 1000) + ")");
+                    statement.execute("INSERT INTO secuencias_id (entidad, siguiente_valor) VALUES ('empleados', "
+                            + (empleados + 1000) + ")");
+                }
+            });
+            return null;
+        });
+    }
+
+    public static String numeroEmpleado(int indice) {
+        return String.format("EMP-%07d", indice);
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import dao.CargoDAO;
+import dao.ConsultaEmpleadosDAO;
+import dao.EmpleadoDAO;
+import dao.Pagina;
+import models.Cargo;
+import models.Empleado;
+import models.EmpleadoResumen;
+import models.EstadisticasSistema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de {@link EmpleadoDAO} y de las proyecciones de {@link ConsultaEmpleadosDAO}:
+ * altas, lecturas puntuales, listados paginados y completos, búsqueda por nombre y conteos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmpleadoDAOBenchmark extends BaseSintetica {
+
+    private static final int TAMANO_PAGINA = 20;
+    private static final int TAMANO_LOTE = 100;
+
+    private EmpleadoDAO empleadoDAO;
+    private ConsultaEmpleadosDAO consultaEmpleados;
+    private Cargo cargo;
+
+    @Override
+    protected void preparar() {
+        empleadoDAO = new EmpleadoDAO();
+        consultaEmpleados = new ConsultaEmpleadosDAO();
+        cargo = new CargoDAO().buscarPorId(1L).orElseThrow();
+        // Crea el índice FTS fuera de la medición
+        consultaEmpleados.buscarPorNombre("preparar");
+    }
+
+    @Benchmark
+    public Empleado guardar() {
+        return empleadoDAO.guardar(nuevoEmpleado());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANO_LOTE)
+    public int guardarTodos() {
+        List<Empleado> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            lote.add(nuevoEmpleado());
+        }
+        return empleadoDAO.guardarTodos(lote);
+    }
+
+    @Benchmark
+    public Optional<Empleado> buscarPorId() {
+        return empleadoDAO.buscarPorId(idEmpleadoAleatorio());
+    }
+
+    @Benchmark
+    public Optional<Empleado> buscarPorIdentificacion() {
+        return empleadoDAO.buscarPorIdentificacion(identificacionAleatoria());
+    }
+
+    @Benchmark
+    public Pagina<EmpleadoResumen> paginaResumenesActivos() {
+        return consultaEmpleados.listarActivos(null, TAMANO_PAGINA);
+    }
+
+    @Benchmark
+    public Pagina<EmpleadoResumen> paginaResumenesPorCargo() {
+        return consultaEmpleados.listarPorCargo(idCargoAleatorio(), null, TAMANO_PAGINA);
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> listarActivos() {
+        return consultaEmpleados.listarActivos();
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> buscarResumenesPorNombre() {
+        return consultaEmpleados.buscarPorNombre("garc");
+    }
+
+    @Benchmark
+    public long contarActivos() {
+        return empleadoDAO.contarActivos();
+    }
+
+    @Benchmark
+    public long contarPorCargo() {
+        return empleadoDAO.contarPorCargo(idCargoAleatorio());
+    }
+
+    @Benchmark
+    public EstadisticasSistema calcularEstadisticas() {
+        return empleadoDAO.calcularEstadisticas();
+    }
+
+    private Empleado nuevoEmpleado() {
+        long n = siguienteUnico();
+        return new Empleado("BEN-" + n, "Benchmark", "Empleado " + n, "benchmark" + n + "@empresa.com",
+                "300" + n, LocalDate.of(2024, 1, 1), 3000.0, cargo);
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import dao.CursorEmpleado;
+import dao.Pagina;
+import models.Cargo;
+import models.Empleado;
+import models.EmpleadoResumen;
+import models.ResumenCargo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import service.GestionEmpleadosService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flujos principales de {@link GestionEmpleadosService}, tal como los usa el menú:
+ * alta con validación, consulta por identificación, recorrido paginado, búsqueda por
+ * nombre, actualización y los resúmenes de cargos y estadísticas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServicioBenchmark extends BaseSintetica {
+
+    private static final int TAMANO_PAGINA = 20;
+    private static final int PAGINAS_RECORRIDAS = 5;
+
+    private GestionEmpleadosService servicio;
+    private Cargo cargo;
+
+    @Override
+    protected void preparar() {
+        servicio = new GestionEmpleadosService();
+        cargo = servicio.obtenerCargoPorId(1L).orElseThrow();
+    }
+
+    @Benchmark
+    public Empleado crearEmpleado() {
+        long n = siguienteUnico();
+        return servicio.crearEmpleado("SRV-" + n, "Servicio", "Empleado " + n, "servicio" + n + "@empresa.com",
+                "310" + n, LocalDate.of(2024, 1, 1), 3000.0, cargo);
+    }
+
+    @Benchmark
+    public Optional<Empleado> obtenerEmpleadoPorIdentificacion() {
+        return servicio.obtenerEmpleadoPorIdentificacion(identificacionAleatoria());
+    }
+
+    @Benchmark
+    public int recorrerPaginas() {
+        int total = 0;
+        CursorEmpleado cursor = null;
+        for (int i = 0; i < PAGINAS_RECORRIDAS; i++) {
+            Pagina<EmpleadoResumen> pagina = servicio.obtenerPaginaEmpleadosActivos(cursor, TAMANO_PAGINA);
+            total += pagina.elementos().size();
+            if (!pagina.tieneSiguiente()) {
+                break;
+            }
+            cursor = pagina.siguiente();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> buscarEmpleadosPorNombre() {
+        return servicio.buscarEmpleadosPorNombre("garc");
+    }
+
+    @Benchmark
+    public Empleado actualizarEmpleado() {
+        Empleado empleado = servicio.obtenerEmpleadoPorId(idEmpleadoAleatorio()).orElseThrow();
+        double salario = 1000 + ThreadLocalRandom.current().nextInt(9000);
+        return servicio.actualizarEmpleado(empleado.getId(), empleado.getNombre(), empleado.getApellido(),
+                empleado.getEmail(), empleado.getTelefono(), salario, empleado.getCargo());
+    }
+
+    @Benchmark
+    public List<ResumenCargo> obtenerResumenCargos() {
+        return servicio.obtenerResumenCargos();
+    }
+
+    @Benchmark
+    public String obtenerEstadisticas() {
+        return servicio.obtenerEstadisticas();
+    }
+}
@@ -1,18 +1,44 @@
 // src/main/java/Main.java
+import api.ServidorHttp;
+import dao.CursorEmpleado;
+import dao.Pagina;
 import models.Cargo;
 import models.Empleado;
+import models.EmpleadoResumen;
+import models.HistorialSalario;
+import models.ReglaAjusteSalarial;
+import models.ResultadoAjusteSalarial;
+import models.ResumenCargo;
+import models.ResumenNomina;
+import service.ExportadorEmpleados;
 import service.GestionEmpleadosService;
-
+import service.MetricasConflictos;
+import util.EstadisticasCache;
+import util.EstadisticasHibernate;
+import util.EstadoReplica;
+import util.MetricasOperacion;
+import util.MetricasPool;
+
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 public class Main {
 
     private static final Scanner scanner = new Scanner(System.in);
+    private static final int TAMANO_PAGINA = 20;
+    private static final int PUERTO_HTTP_DEFECTO = 8080;
     private static GestionEmpleadosService servicio;
 
     public static void main(String[] args) {
+        if (args.length > 0 && "--http".equals(args[0])) {
+            iniciarApiHttp(args.length > 1 ? Integer.parseInt(args[1]) : PUERTO_HTTP_DEFECTO);
+            return;
+        }
+
         System.out.println("🚀 INICIANDO SISTEMA DE GESTIÓN DE EMPLEADOS");
         System.out.println("=============================================\n");
 
@@ -38,6 +64,26 @@ public class Main {
         }
     }
 
+    /**
+     * Modo servidor: atiende la API HTTP en lugar del menú hasta que se detiene el proceso
+     */
+    private static void iniciarApiHttp(int puerto) {
+        System.out.println("🚀 INICIANDO API HTTP DE GESTIÓN DE EMPLEADOS");
+        System.out.println("=============================================\n");
+
+        servicio = new GestionEmpleadosService();
+        servicio.inicializarDatosEjemplo();
+
+        ServidorHttp servidor = new ServidorHttp(servicio, puerto);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.detener(5);
+            servicio.cerrar();
+            System.out.println("✅ API HTTP FINALIZADA");
+        }));
+        servidor.iniciar();
+        System.out.println("🌐 API disponible en http://localhost:" + servidor.getPuerto() + "/api (Ctrl+C para salir)");
+    }
+
     private static void mostrarMenuPrincipal() {
         boolean salir = false;
 
@@ -64,7 +110,7 @@ public class Main {
                         menuConsultas();
                         break;
                     case 4:
-                        mostrarEstadisticas();
+                        menuEstadisticas();
                         break;
                     case 5:
                         salir = true;
@@ -140,7 +186,9 @@ public class Main {
             System.out.println("6. Desactivar empleado");
             System.out.println("7. Activar empleado");
             System.out.println("8. Eliminar empleado");
-            System.out.println("9. Volver al menú principal");
+            System.out.println("9. Desactivar todos los empleados de un cargo");
+            System.out.println("10. Ajuste salarial masivo");
+            System.out.println("11. Volver al menú principal");
             System.out.print("Seleccione una opción: ");
 
             try {
@@ -172,6 +220,12 @@ public class Main {
                         eliminarEmpleado();
                         break;
                     case 9:
+                        desactivarEmpleadosPorCargo();
+                        break;
+                    case 10:
+                        ajusteSalarialMasivo();
+                        break;
+                    case 11:
                         volver = true;
                         break;
                     default:
@@ -193,7 +247,10 @@ public class Main {
             System.out.println("1. Empleados activos");
             System.out.println("2. Empleados inactivos");
             System.out.println("3. Empleados por cargo");
-            System.out.println("4. Volver al menú principal");
+            System.out.println("4. Exportar empleados (CSV / JSON Lines)");
+            System.out.println("5. Historial de salarios de un empleado");
+            System.out.println("6. Resumen de nómina");
+            System.out.println("7. Volver al menú principal");
             System.out.print("Seleccione una opción: ");
 
             try {
@@ -210,6 +267,15 @@ public class Main {
                         listarEmpleadosPorCargo();
                         break;
                     case 4:
+                        exportarEmpleados();
+                        break;
+                    case 5:
+                        mostrarHistorialSalarios();
+                        break;
+                    case 6:
+                        mostrarResumenNomina();
+                        break;
+                    case 7:
                         volver = true;
                         break;
                     default:
@@ -227,17 +293,16 @@ public class Main {
 
     private static void listarCargos() {
         System.out.println("\n--- LISTADO DE CARGOS ---");
-        List<Cargo> cargos = servicio.obtenerTodosLosCargos();
+        List<ResumenCargo> cargos = servicio.obtenerResumenCargos();
 
         if (cargos.isEmpty()) {
             System.out.println("No hay cargos registrados.");
         } else {
             cargos.forEach(cargo -> {
-                long numEmpleados = servicio.obtenerEmpleadosPorCargo(cargo).size();
-                System.out.printf("- ID: %d | %s (Nivel: %s) | Salario base: $%,.2f | Empleados: %d%n",
-                        cargo.getId(), cargo.getNombre(), cargo.getNivel(),
-                        cargo.getSalarioBase(), numEmpleados);
-                System.out.printf("  Descripción: %s%n", cargo.getDescripcion());
+                System.out.printf("- ID: %d | %s (Nivel: %s) | Salario base: $%,.2f | Empleados: %d (activos: %d)%n",
+                        cargo.id(), cargo.nombre(), cargo.nivel(),
+                        cargo.salarioBase(), cargo.totalEmpleados(), cargo.empleadosActivos());
+                System.out.printf("  Descripción: %s%n", cargo.descripcion());
             });
         }
     }
@@ -310,7 +375,8 @@ public class Main {
             String nivel = scanner.nextLine();
             if (nivel.trim().isEmpty()) nivel = cargoExistente.getNivel();
 
-            Cargo cargoActualizado = servicio.actualizarCargo(id, nombre, descripcion, salarioBase, nivel);
+            Cargo cargoActualizado = servicio.actualizarCargo(id, cargoExistente.getVersion(),
+                    nombre, descripcion, salarioBase, nivel);
             System.out.println("✅ Cargo actualizado exitosamente: " + cargoActualizado.getNombre());
 
         } catch (Exception e) {
@@ -337,67 +403,49 @@ public class Main {
 
     private static void listarEmpleados() {
         System.out.println("\n--- LISTADO DE EMPLEADOS ---");
-        List<Empleado> empleados = servicio.obtenerTodosLosEmpleados();
-
-        if (empleados.isEmpty()) {
-            System.out.println("No hay empleados registrados.");
-        } else {
-            empleados.forEach(emp -> {
-                String estado = emp.getActivo() ? "ACTIVO" : "INACTIVO";
-                System.out.printf("- ID: %d | %s %s | %s | Cargo: %s | Salario: $%,.2f | %s%n",
-                        emp.getId(), emp.getNombre(), emp.getApellido(),
-                        emp.getNum_empleado(), emp.getCargo().getNombre(),
-                        emp.getSalarioActual(), estado);
-            });
-        }
+        mostrarPaginas(servicio::obtenerPaginaEmpleados, emp -> {
+            String estado = emp.activo() ? "ACTIVO" : "INACTIVO";
+            System.out.printf("- ID: %d | %s %s | %s | Cargo: %s | Salario: $%,.2f | %s%n",
+                    emp.id(), emp.nombre(), emp.apellido(),
+                    emp.numEmpleado(), emp.cargoNombre(),
+                    emp.salarioActual(), estado);
+        }, "No hay empleados registrados.");
     }
 
     private static void listarEmpleadosActivos() {
         System.out.println("\n--- EMPLEADOS ACTIVOS ---");
-        List<Empleado> empleados = servicio.obtenerEmpleadosActivos();
-
-        if (empleados.isEmpty()) {
-            System.out.println("No hay empleados activos.");
-        } else {
-            empleados.forEach(emp -> {
-                System.out.printf("- %s %s | %s | %s | $%,.2f%n",
-                        emp.getNombre(), emp.getApellido(), emp.getNum_empleado(),
-                        emp.getCargo().getNombre(), emp.getSalarioActual());
-            });
-        }
+        mostrarPaginas(servicio::obtenerPaginaEmpleadosActivos, emp -> {
+            System.out.printf("- %s %s | %s | %s | $%,.2f%n",
+                    emp.nombre(), emp.apellido(), emp.numEmpleado(),
+                    emp.cargoNombre(), emp.salarioActual());
+        }, "No hay empleados activos.");
     }
 
     private static void listarEmpleadosInactivos() {
         System.out.println("\n--- EMPLEADOS INACTIVOS ---");
-        List<Empleado> empleados = servicio.obtenerEmpleadosInactivos();
-
-        if (empleados.isEmpty()) {
-            System.out.println("No hay empleados inactivos.");
-        } else {
-            empleados.forEach(emp -> {
-                System.out.printf("- %s %s | %s | %s%n",
-                        emp.getNombre(), emp.getApellido(), emp.getNum_empleado(),
-                        emp.getCargo().getNombre());
-            });
-        }
+        mostrarPaginas(servicio::obtenerPaginaEmpleadosInactivos, emp -> {
+            System.out.printf("- %s %s | %s | %s%n",
+                    emp.nombre(), emp.apellido(), emp.numEmpleado(),
+                    emp.cargoNombre());
+        }, "No hay empleados inactivos.");
     }
 
     private static void buscarEmpleadoPorNombre() {
         System.out.print("Ingrese el nombre o apellido del empleado: ");
         String nombre = scanner.nextLine();
 
-        List<Empleado> empleados = servicio.buscarEmpleadosPorNombre(nombre);
-
+        List<EmpleadoResumen> empleados = servicio.buscarEmpleadosPorNombre(nombre);
         if (empleados.isEmpty()) {
             System.out.println("No se encontraron empleados con ese nombre.");
-        } else {
-            System.out.println("\n--- RESULTADOS DE BÚSQUEDA ---");
-            empleados.forEach(emp -> {
-                String estado = emp.getActivo() ? "ACTIVO" : "INACTIVO";
-                System.out.printf("- %s %s | %s | %s | %s%n",
-                        emp.getNombre(), emp.getApellido(), emp.getNum_empleado(),
-                        emp.getCargo().getNombre(), estado);
-            });
+            return;
+        }
+
+        System.out.println("\n--- RESULTADOS DE BÚSQUEDA (por relevancia) ---");
+        for (EmpleadoResumen emp : empleados) {
+            String estado = emp.activo() ? "ACTIVO" : "INACTIVO";
+            System.out.printf("- %s %s | %s | %s | %s%n",
+                    emp.nombre(), emp.apellido(), emp.numEmpleado(),
+                    emp.cargoNombre(), estado);
         }
     }
 
@@ -431,23 +479,101 @@ public class Main {
         Long cargoId = Long.parseLong(scanner.nextLine());
 
         try {
-            List<Empleado> empleados = servicio.obtenerEmpleadosPorCargo(cargoId);
-
-            if (empleados.isEmpty()) {
-                System.out.println("No hay empleados en este cargo.");
-            } else {
-                empleados.forEach(emp -> {
-                    String estado = emp.getActivo() ? "ACTIVO" : "INACTIVO";
-                    System.out.printf("- %s %s | %s | $%,.2f | %s%n",
-                            emp.getNombre(), emp.getApellido(), emp.getNum_empleado(),
-                            emp.getSalarioActual(), estado);
-                });
+            mostrarPaginas((desde, tamano) -> servicio.obtenerPaginaEmpleadosPorCargo(cargoId, desde, tamano), emp -> {
+                String estado = emp.activo() ? "ACTIVO" : "INACTIVO";
+                System.out.printf("- %s %s | %s | $%,.2f | %s%n",
+                        emp.nombre(), emp.apellido(), emp.numEmpleado(),
+                        emp.salarioActual(), estado);
+            }, "No hay empleados en este cargo.");
+        } catch (Exception e) {
+            System.out.println("❌ Error: " + e.getMessage());
+        }
+    }
+
+    private static void exportarEmpleados() {
+        System.out.println("\n--- EXPORTAR EMPLEADOS ---");
+
+        System.out.print("Formato (1 = CSV, 2 = JSON Lines): ");
+        ExportadorEmpleados.Formato formato = scanner.nextLine().trim().equals("2") ?
+                ExportadorEmpleados.Formato.JSON_LINES : ExportadorEmpleados.Formato.CSV;
+
+        System.out.print("Archivo de destino: ");
+        Path destino = Path.of(scanner.nextLine().trim());
+
+        try {
+            long exportados = servicio.exportarEmpleados(destino, formato);
+            System.out.printf("✅ %d empleados exportados a %s%n", exportados, destino.toAbsolutePath());
+        } catch (Exception e) {
+            System.out.println("❌ Error al exportar empleados: " + e.getMessage());
+        }
+    }
+
+    private static void mostrarHistorialSalarios() {
+        System.out.println("\n--- HISTORIAL DE SALARIOS ---");
+
+        System.out.print("ID del empleado: ");
+        Long empleadoId = Long.parseLong(scanner.nextLine());
+
+        System.out.print("Consultar el salario a una fecha (YYYY-MM-DD, vacío para omitir): ");
+        String fecha = scanner.nextLine().trim();
+
+        try {
+            List<HistorialSalario> historial = servicio.obtenerHistorialSalarios(empleadoId);
+            if (historial.isEmpty()) {
+                System.out.println("No hay cambios de salario registrados para este empleado.");
+            }
+            for (HistorialSalario cambio : historial) {
+                System.out.printf("- %s | %-14s | %s -> $%,.2f%n",
+                        cambio.getVigenteDesde().withNano(0), cambio.getMotivo(),
+                        cambio.getSalarioAnterior() == null ? "-" : String.format("$%,.2f", cambio.getSalarioAnterior()),
+                        cambio.getSalarioNuevo());
+            }
+
+            if (!fecha.isEmpty()) {
+                LocalDate dia = LocalDate.parse(fecha);
+                servicio.obtenerSalarioEnFecha(empleadoId, dia).ifPresentOrElse(
+                        salario -> System.out.printf("Salario al %s: $%,.2f%n", dia, salario),
+                        () -> System.out.println("❌ El empleado no existe o no estaba contratado en esa fecha."));
             }
         } catch (Exception e) {
             System.out.println("❌ Error: " + e.getMessage());
         }
     }
 
+    private static void mostrarResumenNomina() {
+        System.out.println("\n--- RESUMEN DE NÓMINA ---");
+
+        System.out.print("Agrupar por (1 = total, 2 = cargo, 3 = nivel, 4 = año de contratación, 5 = estado): ");
+        ResumenNomina.Agrupacion agrupacion = switch (scanner.nextLine().trim()) {
+            case "2" -> ResumenNomina.Agrupacion.CARGO;
+            case "3" -> ResumenNomina.Agrupacion.NIVEL;
+            case "4" -> ResumenNomina.Agrupacion.ANIO_CONTRATACION;
+            case "5" -> ResumenNomina.Agrupacion.ESTADO;
+            default -> ResumenNomina.Agrupacion.TOTAL;
+        };
+
+        System.out.print("¿Solo empleados activos? (s/n): ");
+        boolean soloActivos = scanner.nextLine().trim().equalsIgnoreCase("s");
+
+        try {
+            List<ResumenNomina> resumenes = servicio.obtenerResumenNomina(agrupacion, soloActivos);
+            System.out.printf("%-30s %9s %16s %12s %12s %12s %14s%n",
+                    "Grupo", "Empleados", "Total", "Promedio", "Mínimo", "Máximo", "Dif. base prom.");
+            for (ResumenNomina resumen : resumenes) {
+                System.out.printf("%-30s %9d %16s %12s %12s %12s %14s%n",
+                        resumen.grupo(), resumen.empleados(), String.format("%,.2f", resumen.totalSalarios()),
+                        monto(resumen.salarioPromedio()), monto(resumen.salarioMinimo()),
+                        monto(resumen.salarioMaximo()), monto(resumen.diferenciaPromedio()));
+            }
+        } catch (Exception e) {
+            System.out.println("❌ Error: " + e.getMessage());
+        }
+    }
+
+    private static String monto(Double valor) {
+        return valor == null ? "-" : String.format("%,.2f", valor);
+    }
+
     private static void crearEmpleado() {
         System.out.println("\n--- CREAR NUEVO EMPLEADO ---");
 
@@ -533,7 +659,7 @@ public class Main {
                     .orElseThrow(() -> new IllegalArgumentException("Cargo no encontrado"));
 
             Empleado empleadoActualizado = servicio.actualizarEmpleado(
-                    id, nombres, apellidos, email, telefono, salario, cargo);
+                    id, empleadoExistente.getVersion(), nombres, apellidos, email, telefono, salario, cargo);
 
             System.out.println("✅ Empleado actualizado exitosamente: " + empleadoActualizado.getNombreCompleto());
 
@@ -557,12 +683,59 @@ public class Main {
         }
     }
 
+    private static void desactivarEmpleadosPorCargo() {
+        System.out.println("\n--- DESACTIVAR EMPLEADOS DE UN CARGO ---");
+        listarCargos();
+
+        System.out.print("Ingrese el ID del cargo: ");
+        Long cargoId = Long.parseLong(scanner.nextLine());
+
+        try {
+            int desactivados = servicio.desactivarEmpleadosPorCargo(cargoId);
+            System.out.println("✅ Empleados desactivados: " + desactivados);
+        } catch (Exception e) {
+            System.out.println("❌ Error al desactivar empleados: " + e.getMessage());
+        }
+    }
+
+    private static void ajusteSalarialMasivo() {
+        System.out.println("\n--- AJUSTE SALARIAL MASIVO ---");
+        System.out.print("Porcentaje de aumento (ej: 5 para +5%): ");
+        double porcentaje = Double.parseDouble(scanner.nextLine());
+
+        System.out.print("ID del cargo (Enter para todos los empleados activos): ");
+        String cargo = scanner.nextLine().trim();
+
+        ReglaAjusteSalarial regla = ReglaAjusteSalarial.porcentaje(porcentaje);
+        if (!cargo.isEmpty()) {
+            regla = regla.paraCargo(Long.parseLong(cargo));
+        }
+        List<ReglaAjusteSalarial> reglas = List.of(regla);
+
+        try {
+            ResultadoAjusteSalarial simulacion = servicio.simularAjusteSalarial(reglas);
+            System.out.printf("Empleados alcanzados: %d | Masa salarial: $%,.2f -> $%,.2f | Costo: $%,.2f (%.2f%%)%n",
+                    simulacion.ajustesPorRegla().getFirst(), simulacion.masaSalarialAnterior(),
+                    simulacion.masaSalarialNueva(), simulacion.diferencia(), simulacion.porcentajeIncremento());
+
+            System.out.print("¿Aplicar el ajuste? (s/n): ");
+            if (!scanner.nextLine().trim().equalsIgnoreCase("s")) {
+                System.out.println("Ajuste cancelado");
+                return;
+            }
+            ResultadoAjusteSalarial aplicado = servicio.aplicarAjusteSalarial(reglas);
+            System.out.printf("✅ Ajuste aplicado a %d empleados%n", aplicado.ajustesPorRegla().getFirst());
+        } catch (Exception e) {
+            System.out.println("❌ Error al ajustar salarios: " + e.getMessage());
+        }
+    }
+
     private static void activarEmpleado() {
         System.out.println("\n--- ACTIVAR EMPLEADO ---");
-        servicio.obtenerEmpleadosInactivos().forEach(emp -> {
+        mostrarPaginas(servicio::obtenerPaginaEmpleadosInactivos, emp -> {
             System.out.printf("- ID: %d | %s %s | %s%n",
-                    emp.getId(), emp.getNombre(), emp.getApellido(), emp.getNum_empleado());
-        });
+                    emp.id(), emp.nombre(), emp.apellido(), emp.numEmpleado());
+        }, "No hay empleados inactivos.");
 
         System.out.print("Ingrese el ID del empleado a activar: ");
         Long id = Long.parseLong(scanner.nextLine());
@@ -590,10 +763,123 @@ public class Main {
         }
     }
 
+    // ===== PAGINACIÓN =====
+
+    /**
+     * Muestra un listado página a página. Cada página se pide a partir del cursor
+     * de la anterior, así el costo no crece al avanzar en el listado.
+     */
+    private static <T> void mostrarPaginas(BiFunction<CursorEmpleado, Integer, Pagina<T>> consulta,
+                                           Consumer<T> imprimir, String mensajeVacio) {
+        Pagina<T> pagina = consulta.apply(null, TAMANO_PAGINA);
+        if (pagina.elementos().isEmpty()) {
+            System.out.println(mensajeVacio);
+            return;
+        }
+
+        while (true) {
+            pagina.elementos().forEach(imprimir);
+            if (!pagina.tieneSiguiente()) {
+                return;
+            }
+
+            System.out.print("-- [Enter] página siguiente | [s] terminar listado: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("s")) {
+                return;
+            }
+            pagina = consulta.apply(pagina.siguiente(), TAMANO_PAGINA);
+        }
+    }
+
     // ===== ESTADÍSTICAS =====
 
+    private static void menuEstadisticas() {
+        boolean volver = false;
+
+        while (!volver) {
+            System.out.println("\n--- ESTADÍSTICAS DEL SISTEMA ---");
+            System.out.println("1. Resumen del sistema");
+            System.out.println("2. Métricas de rendimiento");
+            System.out.println("3. Volver al menú principal");
+            System.out.print("Seleccione una opción: ");
+
+            try {
+                int opcion = Integer.parseInt(scanner.nextLine());
+
+                switch (opcion) {
+                    case 1:
+                        mostrarEstadisticas();
+                        break;
+                    case 2:
+                        mostrarMetricasRendimiento();
+                        break;
+                    case 3:
+                        volver = true;
+                        break;
+                    default:
+                        System.out.println("❌ Opción no válida.");
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("❌ Por favor, ingrese un número válido.");
+            } catch (Exception e) {
+                System.out.println("❌ Error: " + e.getMessage());
+            }
+        }
+    }
+
     private static void mostrarEstadisticas() {
         System.out.println("\n" + servicio.obtenerEstadisticas());
         System.out.println("🔧 " + servicio.getDatabaseStatus());
+
+        EstadisticasCache cache = servicio.obtenerEstadisticasCache();
+        System.out.printf("🗄️ Caché de cargos: %d entradas | entidades %d aciertos / %d fallos (%.0f%%) | " +
+                        "consultas %d aciertos / %d fallos (%.0f%%)%n",
+                cache.entradasCargos(), cache.aciertos(), cache.fallos(), cache.tasaAciertos() * 100,
+                cache.aciertosConsultas(), cache.fallosConsultas(), cache.tasaAciertosConsultas() * 100);
+
+        MetricasPool pool = servicio.obtenerMetricasPool();
+        System.out.printf("🔌 Pool de conexiones: %d activas / %d inactivas | %d hilos esperando | " +
+                        "%d adquisiciones (media %d µs, máx %d µs) | %d tiempos agotados | %d sentencias lentas%n",
+                pool.activas(), pool.inactivas(), pool.hilosEsperando(), pool.adquisiciones(),
+                pool.adquisicionMediaMicros(), pool.adquisicionMaximaMicros(), pool.tiemposAgotados(),
+                pool.sentenciasLentas());
+
+        for (EstadoReplica replica : servicio.obtenerEstadoReplicas()) {
+            System.out.printf("📚 Réplica %s: %d lecturas (%d en curso) | %d fallos | %s%n",
+                    replica.nombre(), replica.lecturas(), replica.enCurso(), replica.fallos(),
+                    replica.disponible() ? "disponible" : "fuera de rotación");
+        }
+    }
+
+    private static void mostrarMetricasRendimiento() {
+        System.out.println("\n--- MÉTRICAS DE RENDIMIENTO ---");
+        List<MetricasOperacion> operaciones = servicio.obtenerMetricasRendimiento();
+        if (operaciones.isEmpty()) {
+            System.out.println("Aún no se ha medido ninguna operación.");
+        } else {
+            System.out.printf("%-58s %8s %7s %9s %9s %9s %9s %9s%n",
+                    "Operación", "Llamadas", "Errores", "Media µs", "p50 µs", "p95 µs", "p99 µs", "Máx µs");
+            for (MetricasOperacion op : operaciones) {
+                System.out.printf("%-58s %8d %7d %9d %9d %9d %9d %9d%n",
+                        op.operacion(), op.llamadas(), op.errores(), op.mediaMicros(),
+                        op.p50Micros(), op.p95Micros(), op.p99Micros(), op.maximoMicros());
+            }
+        }
+
+        EstadisticasHibernate hibernate = servicio.obtenerEstadisticasHibernate();
+        System.out.printf("%n🧮 Hibernate: %d sentencias | %d consultas | entidades %d cargadas, %d insertadas, " +
+                        "%d actualizadas, %d eliminadas | %d flushes | %d transacciones | caché %d aciertos / %d fallos%n",
+                hibernate.sentenciasPreparadas(), hibernate.consultasEjecutadas(), hibernate.entidadesCargadas(),
+                hibernate.entidadesInsertadas(), hibernate.entidadesActualizadas(), hibernate.entidadesEliminadas(),
+                hibernate.flushes(), hibernate.transacciones(), hibernate.aciertosCache(), hibernate.fallosCache());
+        if (!hibernate.consultaMasLenta().isEmpty()) {
+            System.out.printf("🐢 Consulta más lenta (%d ms): %s%n",
+                    hibernate.consultaMasLentaMs(), hibernate.consultaMasLenta());
+        }
+
+        for (MetricasConflictos conflictos : servicio.obtenerMetricasConflictos()) {
+            System.out.printf("⚔️ Conflictos en %s: %d | resueltos con reintento %d | agotados %d%n",
+                    conflictos.operacion(), conflictos.conflictos(), conflictos.resueltas(), conflictos.agotadas());
+        }
     }
 }
\ No newline at end of file
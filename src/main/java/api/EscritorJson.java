@@ -0,0 +1,238 @@
+package api;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * Escritor JSON en flujo: cada llamada escribe directamente en el {@link Writer} de
+ * destino, sin construir el documento ni cadenas intermedias en memoria. Los enteros
+ * se convierten a dígitos en un búfer reutilizable y las cadenas se escapan por tramos.
+ * Lleva la cuenta de comas por nivel de anidamiento; no valida que la estructura
+ * resultante esté bien formada.
+ */
+public final class EscritorJson implements Closeable, Flushable {
+
+    static final int NIVELES_MAXIMOS = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer salida;
+    private final boolean[] vacio = new boolean[NIVELES_MAXIMOS];
+    private final char[] digitos = new char[20];
+    private int nivel;
+    private boolean despuesDeNombre;
+
+    public EscritorJson(Writer salida) {
+        this.salida = salida;
+        this.vacio[0] = true;
+    }
+
+    public EscritorJson inicioObjeto() throws IOException {
+        return abrir('{');
+    }
+
+    public EscritorJson finObjeto() throws IOException {
+        return cerrar('}');
+    }
+
+    public EscritorJson inicioArreglo() throws IOException {
+        return abrir('[');
+    }
+
+    public EscritorJson finArreglo() throws IOException {
+        return cerrar(']');
+    }
+
+    /**
+     * Escribe el nombre de un miembro; el siguiente valor escrito es el suyo
+     */
+    public EscritorJson nombre(String nombre) throws IOException {
+        separar();
+        cadena(nombre);
+        salida.write(':');
+        despuesDeNombre = true;
+        return this;
+    }
+
+    public EscritorJson valor(String valor) throws IOException {
+        separar();
+        if (valor == null) {
+            salida.write("null");
+        } else {
+            cadena(valor);
+        }
+        return this;
+    }
+
+    public EscritorJson valor(long valor) throws IOException {
+        separar();
+        entero(valor);
+        return this;
+    }
+
+    public EscritorJson valor(Long valor) throws IOException {
+        return valor == null ? nulo() : valor(valor.longValue());
+    }
+
+    public EscritorJson valor(Double valor) throws IOException {
+        separar();
+        if (valor == null || valor.isNaN() || valor.isInfinite()) {
+            salida.write("null");
+        } else if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            entero(valor.longValue());
+        } else {
+            salida.write(Double.toString(valor));
+        }
+        return this;
+    }
+
+    public EscritorJson valor(Boolean valor) throws IOException {
+        separar();
+        salida.write(valor == null ? "null" : valor ? "true" : "false");
+        return this;
+    }
+
+    public EscritorJson valor(LocalDate valor) throws IOException {
+        separar();
+        if (valor == null) {
+            salida.write("null");
+            return this;
+        }
+        salida.write('"');
+        entero(valor.getYear());
+        salida.write('-');
+        dosDigitos(valor.getMonthValue());
+        salida.write('-');
+        dosDigitos(valor.getDayOfMonth());
+        salida.write('"');
+        return this;
+    }
+
+    public EscritorJson nulo() throws IOException {
+        separar();
+        salida.write("null");
+        return this;
+    }
+
+    // Atajos nombre + valor
+
+    public EscritorJson campo(String nombre, String valor) throws IOException {
+        return nombre(nombre).valor(valor);
+    }
+
+    public EscritorJson campo(String nombre, long valor) throws IOException {
+        return nombre(nombre).valor(valor);
+    }
+
+    public EscritorJson campo(String nombre, Long valor) throws IOException {
+        return nombre(nombre).valor(valor);
+    }
+
+    public EscritorJson campo(String nombre, Double valor) throws IOException {
+        return nombre(nombre).valor(valor);
+    }
+
+    public EscritorJson campo(String nombre, Boolean valor) throws IOException {
+        return nombre(nombre).valor(valor);
+    }
+
+    public EscritorJson campo(String nombre, LocalDate valor) throws IOException {
+        return nombre(nombre).valor(valor);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        salida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.close();
+    }
+
+    private EscritorJson abrir(char apertura) throws IOException {
+        separar();
+        if (nivel + 1 >= NIVELES_MAXIMOS) {
+            throw new IllegalStateException("Anidamiento JSON demasiado profundo");
+        }
+        salida.write(apertura);
+        vacio[++nivel] = true;
+        return this;
+    }
+
+    private EscritorJson cerrar(char cierre) throws IOException {
+        if (nivel == 0) {
+            throw new IllegalStateException("No hay objeto ni arreglo abierto");
+        }
+        nivel--;
+        salida.write(cierre);
+        return this;
+    }
+
+    private void separar() throws IOException {
+        if (despuesDeNombre) {
+            despuesDeNombre = false;
+            return;
+        }
+        if (!vacio[nivel]) {
+            salida.write(',');
+        }
+        vacio[nivel] = false;
+    }
+
+    private void entero(long valor) throws IOException {
+        if (valor == Long.MIN_VALUE) {
+            salida.write(Long.toString(valor));
+            return;
+        }
+        boolean negativo = valor < 0;
+        long resto = Math.abs(valor);
+        int posicion = digitos.length;
+        do {
+            digitos[--posicion] = (char) ('0' + resto % 10);
+            resto /= 10;
+        } while (resto > 0);
+        if (negativo) {
+            digitos[--posicion] = '-';
+        }
+        salida.write(digitos, posicion, digitos.length - posicion);
+    }
+
+    private void dosDigitos(int valor) throws IOException {
+        salida.write('0' + valor / 10);
+        salida.write('0' + valor % 10);
+    }
+
+    /**
+     * Escribe la cadena entre comillas, copiando de una vez cada tramo sin caracteres a escapar
+     */
+    private void cadena(String valor) throws IOException {
+        salida.write('"');
+        int inicioTramo = 0;
+        int largo = valor.length();
+        for (int i = 0; i < largo; i++) {
+            char c = valor.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            salida.write(valor, inicioTramo, i - inicioTramo);
+            switch (c) {
+                case '"' -> salida.write("\\\"");
+                case '\\' -> salida.write("\\\\");
+                case '\n' -> salida.write("\\n");
+                case '\r' -> salida.write("\\r");
+                case '\t' -> salida.write("\\t");
+                default -> {
+                    salida.write("\\u00");
+                    salida.write(HEX[c >> 4]);
+                    salida.write(HEX[c & 0xF]);
+                }
+            }
+            inicioTramo = i + 1;
+        }
+        salida.write(valor, inicioTramo, largo - inicioTramo);
+        salida.write('"');
+    }
+}
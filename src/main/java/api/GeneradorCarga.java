@@ -0,0 +1,217 @@
+package api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generador de carga local para {@link ServidorHttp}: lanza {@code concurrencia}
+ * clientes en hilos virtuales que repiten durante {@code segundos} una mezcla de
+ * lecturas (empleado por id, página de activos, búsqueda por nombre y estadísticas)
+ * y al final informa el rendimiento y los percentiles de latencia por tipo de petición.
+ * <p>
+ * Uso: {@code java -cp ... api.GeneradorCarga [url] [concurrencia] [segundos]}, por
+ * defecto {@code http://localhost:8080 64 30}.
+ */
+public final class GeneradorCarga {
+
+    private static final Duration PLAZO_PETICION = Duration.ofSeconds(10);
+    private static final int MUESTRA_EMPLEADOS = 500;
+
+    /**
+     * Tipo de petición de la mezcla, con su peso relativo
+     */
+    private enum Tipo {
+        EMPLEADO_POR_ID(40), PAGINA_ACTIVOS(30), BUSQUEDA(20), ESTADISTICAS(10);
+
+        private final int peso;
+
+        Tipo(int peso) {
+            this.peso = peso;
+        }
+
+        static Tipo elegir(ThreadLocalRandom aleatorio) {
+            int valor = aleatorio.nextInt(100);
+            for (Tipo tipo : values()) {
+                valor -= tipo.peso;
+                if (valor < 0) {
+                    return tipo;
+                }
+            }
+            return ESTADISTICAS;
+        }
+    }
+
+    /**
+     * Latencias de un cliente; cada cliente escribe solo en las suyas
+     */
+    private static final class Muestras {
+        private final long[][] nanos = new long[Tipo.values().length][1024];
+        private final int[] cantidad = new int[Tipo.values().length];
+
+        void agregar(Tipo tipo, long duracion) {
+            int i = tipo.ordinal();
+            if (cantidad[i] == nanos[i].length) {
+                nanos[i] = Arrays.copyOf(nanos[i], nanos[i].length * 2);
+            }
+            nanos[i][cantidad[i]++] = duracion;
+        }
+    }
+
+    private final String base;
+    private final HttpClient cliente;
+    private final List<Long> ids = new ArrayList<>();
+    private final List<String> prefijos = new ArrayList<>();
+    private final LongAdder errores = new LongAdder();
+
+    private GeneradorCarga(String base) {
+        this.base = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(PLAZO_PETICION)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrencia = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        GeneradorCarga generador = new GeneradorCarga(url);
+        generador.tomarMuestra();
+        generador.ejecutar(concurrencia, Duration.ofSeconds(segundos));
+    }
+
+    /**
+     * Lee una página de empleados para sacar ids y prefijos de apellido reales
+     */
+    @SuppressWarnings("unchecked")
+    private void tomarMuestra() throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = cliente.send(peticion("/api/empleados?tamano=" + MUESTRA_EMPLEADOS),
+                HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("El servidor respondió " + respuesta.statusCode() + " al tomar la muestra");
+        }
+        for (Object elemento : (List<Object>) LectorJson.leerObjeto(respuesta.body()).get("elementos")) {
+            Map<String, Object> empleado = (Map<String, Object>) elemento;
+            ids.add(((Number) empleado.get("id")).longValue());
+            String apellido = (String) empleado.get("apellido");
+            if (apellido != null && apellido.length() >= 3) {
+                prefijos.add(apellido.substring(0, 3));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No hay empleados en el servidor para generar carga");
+        }
+        System.out.printf("Muestra: %d empleados, %d prefijos de búsqueda%n", ids.size(), prefijos.size());
+    }
+
+    private void ejecutar(int concurrencia, Duration duracion) throws Exception {
+        System.out.printf("Generando carga contra %s: %d clientes durante %d s...%n",
+                base, concurrencia, duracion.toSeconds());
+        long fin = System.nanoTime() + duracion.toNanos();
+        long inicio = System.nanoTime();
+
+        List<Future<Muestras>> clientes = new ArrayList<>(concurrencia);
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrencia; i++) {
+                clientes.add(hilos.submit(() -> cliente(fin)));
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        List<Muestras> muestras = new ArrayList<>(concurrencia);
+        for (Future<Muestras> cliente : clientes) {
+            muestras.add(cliente.get());
+        }
+        informar(muestras, segundos);
+    }
+
+    private Muestras cliente(long fin) {
+        Muestras muestras = new Muestras();
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        while (System.nanoTime() < fin) {
+            Tipo tipo = Tipo.elegir(aleatorio);
+            HttpRequest peticion = peticion(ruta(tipo, aleatorio));
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                if (respuesta.statusCode() >= 400) {
+                    errores.increment();
+                }
+            } catch (IOException e) {
+                errores.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            muestras.agregar(tipo, System.nanoTime() - inicio);
+        }
+        return muestras;
+    }
+
+    private String ruta(Tipo tipo, ThreadLocalRandom aleatorio) {
+        return switch (tipo) {
+            case EMPLEADO_POR_ID -> "/api/empleados/" + ids.get(aleatorio.nextInt(ids.size()));
+            case PAGINA_ACTIVOS -> "/api/empleados?estado=activos&tamano=20";
+            case BUSQUEDA -> "/api/empleados/buscar?q=" + URLEncoder.encode(
+                    prefijos.isEmpty() ? "a" : prefijos.get(aleatorio.nextInt(prefijos.size())), StandardCharsets.UTF_8);
+            case ESTADISTICAS -> "/api/estadisticas";
+        };
+    }
+
+    private HttpRequest peticion(String ruta) {
+        return HttpRequest.newBuilder(URI.create(base + ruta))
+                .timeout(PLAZO_PETICION)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private void informar(List<Muestras> muestras, double segundos) {
+        long total = 0;
+        System.out.println();
+        System.out.printf("%-16s %10s %10s %10s %10s %10s%n", "Petición", "Cantidad", "p50 ms", "p95 ms", "p99 ms", "Máx ms");
+        for (Tipo tipo : Tipo.values()) {
+            int cantidad = muestras.stream().mapToInt(m -> m.cantidad[tipo.ordinal()]).sum();
+            long[] nanos = new long[cantidad];
+            int posicion = 0;
+            for (Muestras muestra : muestras) {
+                int n = muestra.cantidad[tipo.ordinal()];
+                System.arraycopy(muestra.nanos[tipo.ordinal()], 0, nanos, posicion, n);
+                posicion += n;
+            }
+            Arrays.sort(nanos);
+            total += cantidad;
+            System.out.printf("%-16s %10d %10.2f %10.2f %10.2f %10.2f%n", tipo, cantidad,
+                    percentil(nanos, 50), percentil(nanos, 95), percentil(nanos, 99),
+                    cantidad == 0 ? 0 : nanos[cantidad - 1] / 1e6);
+        }
+        System.out.println();
+        System.out.printf("Total: %d peticiones en %.1f s (%.0f pet/s), %d errores%n",
+                total, segundos, total / segundos, errores.sum());
+    }
+
+    private static double percentil(long[] ordenados, double percentil) {
+        if (ordenados.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100 * ordenados.length) - 1;
+        return ordenados[Math.max(0, indice)] / 1e6;
+    }
+}
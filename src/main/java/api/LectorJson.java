@@ -0,0 +1,204 @@
+package api;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Analizador JSON mínimo para los cuerpos de las peticiones. Produce {@link Map}
+ * (objetos, en orden), {@link List}, {@link String}, {@link BigDecimal},
+ * {@link Boolean} o null. Lanza {@link IllegalArgumentException} si el texto no es JSON
+ * o anida más niveles de los que {@link EscritorJson} admite.
+ */
+public final class LectorJson {
+
+    private final String texto;
+    private int posicion;
+    private int nivel;
+
+    private LectorJson(String texto) {
+        this.texto = texto;
+    }
+
+    public static Object leer(String texto) {
+        LectorJson lector = new LectorJson(texto);
+        Object valor = lector.valor();
+        lector.espacios();
+        if (lector.posicion != texto.length()) {
+            throw lector.error("contenido inesperado tras el valor");
+        }
+        return valor;
+    }
+
+    /**
+     * Lee un documento que debe ser un objeto
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> leerObjeto(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("Se esperaba un cuerpo JSON");
+        }
+        if (!(leer(texto) instanceof Map<?, ?> objeto)) {
+            throw new IllegalArgumentException("Se esperaba un objeto JSON");
+        }
+        return (Map<String, Object>) objeto;
+    }
+
+    private Object valor() {
+        espacios();
+        if (posicion >= texto.length()) {
+            throw error("fin inesperado");
+        }
+        char c = texto.charAt(posicion);
+        return switch (c) {
+            case '{' -> anidado(this::objeto);
+            case '[' -> anidado(this::arreglo);
+            case '"' -> cadena();
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            default -> numero();
+        };
+    }
+
+    /**
+     * Limita la recursión para que un cuerpo como {@code [[[[...} sea un error de la
+     * petición y no un StackOverflowError
+     */
+    private Object anidado(Supplier<Object> contenedor) {
+        if (nivel + 1 >= EscritorJson.NIVELES_MAXIMOS) {
+            throw error("anidamiento demasiado profundo");
+        }
+        nivel++;
+        Object valor = contenedor.get();
+        nivel--;
+        return valor;
+    }
+
+    private Map<String, Object> objeto() {
+        Map<String, Object> objeto = new LinkedHashMap<>();
+        posicion++;
+        espacios();
+        if (consumir('}')) {
+            return objeto;
+        }
+        do {
+            espacios();
+            if (posicion >= texto.length() || texto.charAt(posicion) != '"') {
+                throw error("se esperaba el nombre de un miembro");
+            }
+            String nombre = cadena();
+            espacios();
+            if (!consumir(':')) {
+                throw error("se esperaba ':'");
+            }
+            objeto.put(nombre, valor());
+            espacios();
+        } while (consumir(','));
+        if (!consumir('}')) {
+            throw error("se esperaba '}'");
+        }
+        return objeto;
+    }
+
+    private List<Object> arreglo() {
+        List<Object> arreglo = new ArrayList<>();
+        posicion++;
+        espacios();
+        if (consumir(']')) {
+            return arreglo;
+        }
+        do {
+            arreglo.add(valor());
+            espacios();
+        } while (consumir(','));
+        if (!consumir(']')) {
+            throw error("se esperaba ']'");
+        }
+        return arreglo;
+    }
+
+    private String cadena() {
+        posicion++;
+        StringBuilder resultado = new StringBuilder();
+        while (posicion < texto.length()) {
+            char c = texto.charAt(posicion++);
+            if (c == '"') {
+                return resultado.toString();
+            }
+            if (c != '\\') {
+                resultado.append(c);
+                continue;
+            }
+            if (posicion >= texto.length()) {
+                break;
+            }
+            char escape = texto.charAt(posicion++);
+            switch (escape) {
+                case '"', '\\', '/' -> resultado.append(escape);
+                case 'b' -> resultado.append('\b');
+                case 'f' -> resultado.append('\f');
+                case 'n' -> resultado.append('\n');
+                case 'r' -> resultado.append('\r');
+                case 't' -> resultado.append('\t');
+                case 'u' -> {
+                    if (posicion + 4 > texto.length()) {
+                        throw error("escape unicode incompleto");
+                    }
+                    try {
+                        resultado.append((char) Integer.parseInt(texto.substring(posicion, posicion + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("escape unicode inválido");
+                    }
+                    posicion += 4;
+                }
+                default -> throw error("escape inválido '\\" + escape + "'");
+            }
+        }
+        throw error("cadena sin cerrar");
+    }
+
+    private BigDecimal numero() {
+        int inicio = posicion;
+        while (posicion < texto.length() && "+-0123456789.eE".indexOf(texto.charAt(posicion)) >= 0) {
+            posicion++;
+        }
+        if (inicio == posicion) {
+            throw error("valor inesperado '" + texto.charAt(posicion) + "'");
+        }
+        try {
+            return new BigDecimal(texto.substring(inicio, posicion));
+        } catch (NumberFormatException e) {
+            throw error("número inválido");
+        }
+    }
+
+    private Object literal(String palabra, Object valor) {
+        if (!texto.startsWith(palabra, posicion)) {
+            throw error("se esperaba " + palabra);
+        }
+        posicion += palabra.length();
+        return valor;
+    }
+
+    private boolean consumir(char esperado) {
+        if (posicion < texto.length() && texto.charAt(posicion) == esperado) {
+            posicion++;
+            return true;
+        }
+        return false;
+    }
+
+    private void espacios() {
+        while (posicion < texto.length() && Character.isWhitespace(texto.charAt(posicion))) {
+            posicion++;
+        }
+    }
+
+    private IllegalArgumentException error(String detalle) {
+        return new IllegalArgumentException("JSON inválido en la posición " + posicion + ": " + detalle);
+    }
+}
@@ -0,0 +1,876 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dao.CursorEmpleado;
+import dao.Pagina;
+import lombok.extern.slf4j.Slf4j;
+import models.Cargo;
+import models.Empleado;
+import models.EmpleadoResumen;
+import models.EstadisticasSistema;
+import models.HistorialSalario;
+import models.ReglaAjusteSalarial;
+import models.ResultadoAjusteSalarial;
+import models.ResumenCargo;
+import models.ResumenNomina;
+import service.GestionEmpleadosService;
+import service.MetricasConflictos;
+import util.EstadoReplica;
+import util.MetricasOperacion;
+import util.MetricasPool;
+import util.SesionLectura;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * API HTTP/JSON sobre {@link GestionEmpleadosService}, con el {@link HttpServer} del JDK
+ * y un hilo virtual por petición. Las respuestas se escriben en flujo con
+ * {@link EscritorJson} directamente sobre el cuerpo de la respuesta (codificación por
+ * bloques), así que ni los listados ni la exportación completa se arman en memoria.
+ * <p>
+ * Los listados se paginan por clave: cada página trae en {@code siguiente} un cursor
+ * opaco que se pasa tal cual en el parámetro {@code cursor} para pedir la siguiente.
+ * Los errores se responden como {@code {"error": "..."}}: 400 para datos inválidos,
+ * 404 para recursos inexistentes, 409 para conflictos de estado y 500 para el resto.
+ * <p>
+ * Un cliente que envía siempre el mismo encabezado {@value #ENCABEZADO_SESION} lee sus
+ * propias escrituras aunque haya réplicas de lectura configuradas ({@link SesionLectura}).
+ */
+@Slf4j
+public class ServidorHttp {
+
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+    private static final int TAMANO_BUFER = 16 * 1024;
+    private static final int PETICIONES_PENDIENTES = 1024;
+    private static final int CUERPO_MAXIMO = 64 * 1024;
+    private static final int TAMANO_PAGINA_DEFECTO = 20;
+    private static final int TAMANO_PAGINA_MAXIMO = 500;
+    private static final String SEPARADOR_CURSOR = "\u0000";
+    private static final String ENCABEZADO_SESION = "X-Sesion-Lectura";
+    private static final int MAXIMO_SESIONES = 10_000;
+
+    @FunctionalInterface
+    private interface Manejador {
+        void atender(Peticion peticion) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface CuerpoJson {
+        void escribir(EscritorJson json) throws IOException;
+    }
+
+    /**
+     * Recurso pedido por id o identificación que no existe; se responde con 404
+     */
+    private static final class RecursoNoEncontrado extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private RecursoNoEncontrado(String mensaje) {
+            super(mensaje);
+        }
+    }
+
+    private record Ruta(String metodo, Pattern patron, Manejador manejador) {
+    }
+
+    /**
+     * Petición en curso, con los grupos capturados de la ruta y los parámetros de la consulta
+     */
+    private record Peticion(HttpExchange intercambio, Matcher ruta, Map<String, String> parametros) {
+
+        Long id() {
+            return Long.valueOf(ruta.group(1));
+        }
+
+        String parametro(String nombre) {
+            String valor = parametros.get(nombre);
+            return valor == null || valor.isBlank() ? null : valor.trim();
+        }
+
+        Map<String, Object> cuerpo() throws IOException {
+            try (InputStream entrada = intercambio.getRequestBody()) {
+                byte[] bytes = entrada.readNBytes(CUERPO_MAXIMO + 1);
+                if (bytes.length > CUERPO_MAXIMO) {
+                    throw new IllegalArgumentException("El cuerpo supera el máximo de " + CUERPO_MAXIMO + " bytes");
+                }
+                return LectorJson.leerObjeto(new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private final GestionEmpleadosService servicio;
+    private final HttpServer servidor;
+    private final ExecutorService hilos;
+    private final List<Ruta> rutas = new ArrayList<>();
+    private final Map<String, SesionLectura> sesiones = new ConcurrentHashMap<>();
+
+    /**
+     * Prepara el servidor en el puerto indicado (0 para uno libre); no atiende
+     * peticiones hasta llamar a {@link #iniciar()}
+     */
+    public ServidorHttp(GestionEmpleadosService servicio, int puerto) {
+        this.servicio = servicio;
+        try {
+            this.servidor = HttpServer.create(new InetSocketAddress(puerto), PETICIONES_PENDIENTES);
+        } catch (IOException e) {
+            log.error("Error al crear el servidor HTTP en el puerto {}: {}", puerto, e.getMessage());
+            throw new RuntimeException("Error al crear el servidor HTTP", e);
+        }
+        this.hilos = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(hilos);
+        servidor.createContext("/api", this::despachar);
+        registrarRutas();
+    }
+
+    public void iniciar() {
+        servidor.start();
+        log.info("🌐 API HTTP escuchando en http://localhost:{}/api", getPuerto());
+    }
+
+    /**
+     * Deja de aceptar conexiones y espera hasta {@code segundosEspera} a que terminen
+     * las peticiones en curso
+     */
+    public void detener(int segundosEspera) {
+        servidor.stop(segundosEspera);
+        hilos.close();
+        log.info("API HTTP detenida");
+    }
+
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    private void registrarRutas() {
+        ruta("GET", "/api/salud", this::salud);
+        ruta("GET", "/api/estadisticas", this::estadisticas);
+        ruta("GET", "/api/nomina", this::resumenNomina);
+        ruta("GET", "/api/metricas", this::metricas);
+
+        ruta("GET", "/api/cargos", this::listarCargos);
+        ruta("POST", "/api/cargos", this::crearCargo);
+        ruta("GET", "/api/cargos/(\\d+)", this::obtenerCargo);
+        ruta("PUT", "/api/cargos/(\\d+)", this::actualizarCargo);
+        ruta("DELETE", "/api/cargos/(\\d+)", this::eliminarCargo);
+        ruta("GET", "/api/cargos/(\\d+)/empleados", this::listarEmpleadosDeCargo);
+        ruta("POST", "/api/cargos/(\\d+)/empleados/(activar|desactivar)", this::cambiarEstadoDeCargo);
+
+        ruta("GET", "/api/empleados", this::listarEmpleados);
+        ruta("POST", "/api/empleados", this::crearEmpleado);
+        ruta("GET", "/api/empleados/buscar", this::buscarEmpleados);
+        ruta("GET", "/api/empleados/exportar", this::exportarEmpleados);
+        ruta("GET", "/api/empleados/identificacion/([^/]+)", this::obtenerEmpleadoPorIdentificacion);
+        ruta("GET", "/api/empleados/(\\d+)", this::obtenerEmpleado);
+        ruta("PUT", "/api/empleados/(\\d+)", this::actualizarEmpleado);
+        ruta("DELETE", "/api/empleados/(\\d+)", this::eliminarEmpleado);
+        ruta("POST", "/api/empleados/(\\d+)/(activar|desactivar)", this::cambiarEstadoEmpleado);
+        ruta("GET", "/api/empleados/(\\d+)/historial", this::historialSalarios);
+
+        ruta("POST", "/api/ajustes-salariales", this::ajustarSalarios);
+    }
+
+    private void ruta(String metodo, String patron, Manejador manejador) {
+        rutas.add(new Ruta(metodo, Pattern.compile(patron), manejador));
+    }
+
+    private void despachar(HttpExchange intercambio) {
+        String metodo = intercambio.getRequestMethod();
+        String camino = intercambio.getRequestURI().getPath();
+        try {
+            boolean caminoConocido = false;
+            for (Ruta ruta : rutas) {
+                Matcher coincidencia = ruta.patron().matcher(camino);
+                if (!coincidencia.matches()) {
+                    continue;
+                }
+                caminoConocido = true;
+                if (ruta.metodo().equals(metodo)) {
+                    atender(ruta, new Peticion(intercambio, coincidencia,
+                            parametros(intercambio.getRequestURI().getRawQuery())));
+                    return;
+                }
+            }
+            if (caminoConocido) {
+                error(intercambio, 405, "Método no permitido: " + metodo);
+            } else {
+                error(intercambio, 404, "Recurso no encontrado: " + camino);
+            }
+        } catch (RecursoNoEncontrado e) {
+            error(intercambio, 404, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            error(intercambio, 400, e.getMessage());
+        } catch (IllegalStateException e) {
+            error(intercambio, 409, e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Conexión interrumpida en {} {}: {}", metodo, camino, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error al atender {} {}: {}", metodo, camino, e.getMessage(), e);
+            error(intercambio, 500, "Error interno del servidor");
+        } finally {
+            intercambio.close();
+        }
+    }
+
+    private void atender(Ruta ruta, Peticion peticion) throws IOException {
+        String clave = peticion.intercambio().getRequestHeaders().getFirst(ENCABEZADO_SESION);
+        if (clave == null || clave.isBlank()) {
+            ruta.manejador().atender(peticion);
+            return;
+        }
+        if (sesiones.size() >= MAXIMO_SESIONES) {
+            sesiones.clear();
+        }
+        SesionLectura sesion = sesiones.computeIfAbsent(clave, k -> new SesionLectura());
+        servicio.conLecturasPropias(sesion, () -> {
+            try {
+                ruta.manejador().atender(peticion);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    // ===== SISTEMA =====
+
+    private void salud(Peticion peticion) throws IOException {
+        String estado = servicio.getDatabaseStatus();
+        responder(peticion.intercambio(), 200, json -> json.inicioObjeto()
+                .campo("estado", "ok")
+                .campo("base_datos", estado)
+                .finObjeto());
+    }
+
+    private void estadisticas(Peticion peticion) throws IOException {
+        EstadisticasSistema estadisticas = servicio.obtenerEstadisticasSistema();
+        responder(peticion.intercambio(), 200, json -> json.inicioObjeto()
+                .campo("total_empleados", estadisticas.totalEmpleados())
+                .campo("empleados_activos", estadisticas.empleadosActivos())
+                .campo("empleados_inactivos", estadisticas.empleadosInactivos())
+                .campo("total_cargos", estadisticas.totalCargos())
+                .finObjeto());
+    }
+
+    /**
+     * {@code ?agrupar=total|cargo|nivel|anio|estado} (total por defecto) y {@code ?activos=true}
+     * para excluir a los inactivos
+     */
+    private void resumenNomina(Peticion peticion) throws IOException {
+        String agrupar = peticion.parametro("agrupar");
+        ResumenNomina.Agrupacion agrupacion = switch (agrupar == null ? "total" : agrupar) {
+            case "total" -> ResumenNomina.Agrupacion.TOTAL;
+            case "cargo" -> ResumenNomina.Agrupacion.CARGO;
+            case "nivel" -> ResumenNomina.Agrupacion.NIVEL;
+            case "anio" -> ResumenNomina.Agrupacion.ANIO_CONTRATACION;
+            case "estado" -> ResumenNomina.Agrupacion.ESTADO;
+            default -> throw new IllegalArgumentException(
+                    "Parámetro 'agrupar' no válido: use total, cargo, nivel, anio o estado");
+        };
+        List<ResumenNomina> resumenes = servicio.obtenerResumenNomina(agrupacion,
+                Boolean.parseBoolean(peticion.parametro("activos")));
+        responder(peticion.intercambio(), 200, json -> {
+            json.inicioArreglo();
+            for (ResumenNomina resumen : resumenes) {
+                json.inicioObjeto()
+                        .campo("grupo", resumen.grupo())
+                        .campo("empleados", resumen.empleados())
+                        .campo("total_salarios", resumen.totalSalarios())
+                        .campo("salario_promedio", resumen.salarioPromedio())
+                        .campo("salario_minimo", resumen.salarioMinimo())
+                        .campo("salario_maximo", resumen.salarioMaximo())
+                        .campo("diferencia_base_promedio", resumen.diferenciaPromedio())
+                        .campo("diferencia_base_minima", resumen.diferenciaMinima())
+                        .campo("diferencia_base_maxima", resumen.diferenciaMaxima())
+                        .finObjeto();
+            }
+            json.finArreglo();
+        });
+    }
+
+    private void metricas(Peticion peticion) throws IOException {
+        List<MetricasOperacion> operaciones = servicio.obtenerMetricasRendimiento();
+        MetricasPool pool = servicio.obtenerMetricasPool();
+        List<EstadoReplica> replicas = servicio.obtenerEstadoReplicas();
+        List<MetricasConflictos> conflictos = servicio.obtenerMetricasConflictos();
+        responder(peticion.intercambio(), 200, json -> {
+            json.inicioObjeto().nombre("operaciones").inicioArreglo();
+            for (MetricasOperacion operacion : operaciones) {
+                json.inicioObjeto()
+                        .campo("operacion", operacion.operacion())
+                        .campo("llamadas", operacion.llamadas())
+                        .campo("errores", operacion.errores())
+                        .campo("media_us", operacion.mediaMicros())
+                        .campo("p50_us", operacion.p50Micros())
+                        .campo("p95_us", operacion.p95Micros())
+                        .campo("p99_us", operacion.p99Micros())
+                        .campo("maximo_us", operacion.maximoMicros())
+                        .finObjeto();
+            }
+            json.finArreglo().nombre("pool").inicioObjeto()
+                    .campo("activas", pool.activas())
+                    .campo("inactivas", pool.inactivas())
+                    .campo("hilos_esperando", pool.hilosEsperando())
+                    .campo("adquisiciones", pool.adquisiciones())
+                    .campo("tiempos_agotados", pool.tiemposAgotados())
+                    .campo("adquisicion_media_us", pool.adquisicionMediaMicros())
+                    .campo("sentencias_lentas", pool.sentenciasLentas())
+                    .finObjeto()
+                    .nombre("replicas").inicioArreglo();
+            for (EstadoReplica replica : replicas) {
+                json.inicioObjeto()
+                        .campo("nombre", replica.nombre())
+                        .campo("lecturas", replica.lecturas())
+                        .campo("en_curso", replica.enCurso())
+                        .campo("fallos", replica.fallos())
+                        .campo("disponible", replica.disponible())
+                        .finObjeto();
+            }
+            json.finArreglo().nombre("conflictos").inicioArreglo();
+            for (MetricasConflictos conflicto : conflictos) {
+                json.inicioObjeto()
+                        .campo("operacion", conflicto.operacion())
+                        .campo("conflictos", conflicto.conflictos())
+                        .campo("resueltas", conflicto.resueltas())
+                        .campo("agotadas", conflicto.agotadas())
+                        .finObjeto();
+            }
+            json.finArreglo().finObjeto();
+        });
+    }
+
+    // ===== CARGOS =====
+
+    private void listarCargos(Peticion peticion) throws IOException {
+        List<ResumenCargo> cargos = servicio.obtenerResumenCargos();
+        responder(peticion.intercambio(), 200, json -> {
+            json.inicioArreglo();
+            for (ResumenCargo cargo : cargos) {
+                json.inicioObjeto()
+                        .campo("id", cargo.id())
+                        .campo("nombre", cargo.nombre())
+                        .campo("descripcion", cargo.descripcion())
+                        .campo("nivel", cargo.nivel())
+                        .campo("salario_base", cargo.salarioBase())
+                        .campo("total_empleados", cargo.totalEmpleados())
+                        .campo("empleados_activos", cargo.empleadosActivos())
+                        .campo("empleados_inactivos", cargo.empleadosInactivos())
+                        .campo("suma_salarios", cargo.sumaSalarios())
+                        .finObjeto();
+            }
+            json.finArreglo();
+        });
+    }
+
+    private void obtenerCargo(Peticion peticion) throws IOException {
+        responderCargo(peticion.intercambio(), 200, existente(servicio.obtenerCargoPorId(peticion.id()), "Cargo", peticion.id()));
+    }
+
+    private void crearCargo(Peticion peticion) throws IOException {
+        Map<String, Object> cuerpo = peticion.cuerpo();
+        Cargo cargo = servicio.crearCargo(textoObligatorio(cuerpo, "nombre"), texto(cuerpo, "descripcion", null),
+                decimalObligatorio(cuerpo, "salario_base"), texto(cuerpo, "nivel", null));
+        responderCargo(peticion.intercambio(), 201, cargo);
+    }
+
+    /**
+     * Los campos ausentes del cuerpo conservan su valor actual, también si la
+     * actualización se reintenta por un conflicto. Con {@code version} en el cuerpo la
+     * actualización es condicional: si el cargo cambió desde esa versión responde 409
+     */
+    private void actualizarCargo(Peticion peticion) throws IOException {
+        existente(servicio.obtenerCargoPorId(peticion.id()), "Cargo", peticion.id());
+        Map<String, Object> cuerpo = peticion.cuerpo();
+        Long version = entero(cuerpo, "version");
+        Cargo cargo = servicio.actualizarCargo(peticion.id(), actual -> {
+            if (version != null && version != actual.getVersion()) {
+                throw new IllegalStateException("El cargo fue modificado; versión actual: " + actual.getVersion());
+            }
+            actual.setNombre(texto(cuerpo, "nombre", actual.getNombre()));
+            actual.setDescripcion(texto(cuerpo, "descripcion", actual.getDescripcion()));
+            actual.setSalarioBase(decimal(cuerpo, "salario_base", actual.getSalarioBase()));
+            actual.setNivel(texto(cuerpo, "nivel", actual.getNivel()));
+        });
+        responderCargo(peticion.intercambio(), 200, cargo);
+    }
+
+    private void eliminarCargo(Peticion peticion) throws IOException {
+        existente(servicio.obtenerCargoPorId(peticion.id()), "Cargo", peticion.id());
+        servicio.eliminarCargo(peticion.id());
+        sinContenido(peticion.intercambio());
+    }
+
+    private void listarEmpleadosDeCargo(Peticion peticion) throws IOException {
+        Pagina<EmpleadoResumen> pagina = servicio.obtenerPaginaEmpleadosPorCargo(peticion.id(),
+                cursor(peticion), tamanoPagina(peticion));
+        responderPagina(peticion.intercambio(), pagina);
+    }
+
+    private void cambiarEstadoDeCargo(Peticion peticion) throws IOException {
+        existente(servicio.obtenerCargoPorId(peticion.id()), "Cargo", peticion.id());
+        int afectados = "activar".equals(peticion.ruta().group(2))
+                ? servicio.activarEmpleadosPorCargo(peticion.id())
+                : servicio.desactivarEmpleadosPorCargo(peticion.id());
+        responder(peticion.intercambio(), 200, json -> json.inicioObjeto()
+                .campo("afectados", afectados)
+                .finObjeto());
+    }
+
+    // ===== EMPLEADOS =====
+
+    /**
+     * Filtros opcionales: {@code nombre}, {@code cargo} (id) o {@code estado} (activos,
+     * inactivos); solo se aplica uno, el primero presente en ese orden
+     */
+    private void listarEmpleados(Peticion peticion) throws IOException {
+        CursorEmpleado desde = cursor(peticion);
+        int tamano = tamanoPagina(peticion);
+        String nombre = peticion.parametro("nombre");
+        String cargo = peticion.parametro("cargo");
+        String estado = peticion.parametro("estado");
+
+        Pagina<EmpleadoResumen> pagina;
+        if (nombre != null) {
+            pagina = servicio.buscarPaginaEmpleadosPorNombre(nombre, desde, tamano);
+        } else if (cargo != null) {
+            pagina = servicio.obtenerPaginaEmpleadosPorCargo(Long.valueOf(cargo), desde, tamano);
+        } else if (estado == null) {
+            pagina = servicio.obtenerPaginaEmpleados(desde, tamano);
+        } else {
+            pagina = switch (estado.toLowerCase(Locale.ROOT)) {
+                case "activos" -> servicio.obtenerPaginaEmpleadosActivos(desde, tamano);
+                case "inactivos" -> servicio.obtenerPaginaEmpleadosInactivos(desde, tamano);
+                default -> throw new IllegalArgumentException("Estado inválido: " + estado + " (activos o inactivos)");
+            };
+        }
+        responderPagina(peticion.intercambio(), pagina);
+    }
+
+    /**
+     * Búsqueda por subcadenas de nombre, apellido o número en el índice de trigramas del servicio
+     */
+    private void buscarEmpleados(Peticion peticion) throws IOException {
+        String texto = peticion.parametro("q");
+        if (texto == null) {
+            throw new IllegalArgumentException("Falta el parámetro 'q'");
+        }
+        List<EmpleadoResumen> empleados = servicio.buscarEmpleadosPorNombre(texto);
+        responder(peticion.intercambio(), 200, json -> {
+            json.inicioArreglo();
+            for (EmpleadoResumen empleado : empleados) {
+                escribirEmpleado(json, empleado);
+            }
+            json.finArreglo();
+        });
+    }
+
+    /**
+     * Toda la tabla como un único arreglo, escrito a medida que se leen las filas. Si
+     * la lectura falla a mitad de camino la respuesta queda truncada, porque el estado
+     * ya se envió
+     */
+    private void exportarEmpleados(Peticion peticion) throws IOException {
+        responder(peticion.intercambio(), 200, json -> {
+            json.inicioArreglo();
+            servicio.recorrerEmpleados(empleado -> {
+                try {
+                    escribirEmpleado(json, empleado);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.finArreglo();
+        });
+    }
+
+    private void obtenerEmpleado(Peticion peticion) throws IOException {
+        Empleado empleado = existente(servicio.obtenerEmpleadoPorId(peticion.id()), "Empleado", peticion.id());
+        responderEmpleado(peticion.intercambio(), 200, empleado, empleado.getCargo());
+    }
+
+    private void obtenerEmpleadoPorIdentificacion(Peticion peticion) throws IOException {
+        String identificacion = URLDecoder.decode(peticion.ruta().group(1), StandardCharsets.UTF_8);
+        Empleado empleado = existente(servicio.obtenerEmpleadoPorIdentificacion(identificacion), "Empleado", identificacion);
+        responderEmpleado(peticion.intercambio(), 200, empleado, empleado.getCargo());
+    }
+
+    private void crearEmpleado(Peticion peticion) throws IOException {
+        Map<String, Object> cuerpo = peticion.cuerpo();
+        Cargo cargo = cargoDelCuerpo(cuerpo, null);
+        Empleado empleado = servicio.crearEmpleado(
+                textoObligatorio(cuerpo, "num_empleado"),
+                textoObligatorio(cuerpo, "nombre"),
+                textoObligatorio(cuerpo, "apellido"),
+                texto(cuerpo, "email", null),
+                texto(cuerpo, "telefono", null),
+                fecha(cuerpo, "fecha_contratacion", LocalDate.now()),
+                decimalObligatorio(cuerpo, "salario_actual"),
+                cargo);
+        responderEmpleado(peticion.intercambio(), 201, empleado, cargo);
+    }
+
+    /**
+     * Los campos ausentes del cuerpo conservan su valor actual, también si la
+     * actualización se reintenta por un conflicto. Con {@code version} en el cuerpo la
+     * actualización es condicional: si el empleado cambió desde esa versión responde 409
+     */
+    private void actualizarEmpleado(Peticion peticion) throws IOException {
+        existente(servicio.obtenerEmpleadoPorId(peticion.id()), "Empleado", peticion.id());
+        Map<String, Object> cuerpo = peticion.cuerpo();
+        Long version = entero(cuerpo, "version");
+        Cargo nuevoCargo = entero(cuerpo, "cargo_id") != null ? cargoDelCuerpo(cuerpo, null) : null;
+        // El cargo del empleado leído viene inicializado; el del resultado del merge puede ser un proxy
+        Cargo[] cargo = new Cargo[1];
+        Empleado empleado = servicio.actualizarEmpleado(peticion.id(), actual -> {
+            if (version != null && version != actual.getVersion()) {
+                throw new IllegalStateException("El empleado fue modificado; versión actual: " + actual.getVersion());
+            }
+            actual.setNombre(texto(cuerpo, "nombre", actual.getNombre()));
+            actual.setApellido(texto(cuerpo, "apellido", actual.getApellido()));
+            actual.setEmail(texto(cuerpo, "email", actual.getEmail()));
+            actual.setTelefono(texto(cuerpo, "telefono", actual.getTelefono()));
+            actual.setSalarioActual(decimal(cuerpo, "salario_actual", actual.getSalarioActual()));
+            if (nuevoCargo != null) {
+                actual.setCargo(nuevoCargo);
+            }
+            cargo[0] = actual.getCargo();
+        });
+        responderEmpleado(peticion.intercambio(), 200, empleado, cargo[0]);
+    }
+
+    private void eliminarEmpleado(Peticion peticion) throws IOException {
+        existente(servicio.obtenerEmpleadoPorId(peticion.id()), "Empleado", peticion.id());
+        servicio.eliminarEmpleado(peticion.id());
+        sinContenido(peticion.intercambio());
+    }
+
+    private void cambiarEstadoEmpleado(Peticion peticion) throws IOException {
+        existente(servicio.obtenerEmpleadoPorId(peticion.id()), "Empleado", peticion.id());
+        if ("activar".equals(peticion.ruta().group(2))) {
+            servicio.activarEmpleado(peticion.id());
+        } else {
+            servicio.desactivarEmpleado(peticion.id());
+        }
+        sinContenido(peticion.intercambio());
+    }
+
+    /**
+     * Cambios de salario del empleado; con {@code ?fecha=AAAA-MM-DD} incluye además el
+     * salario que tenía ese día. El historial se conserva aunque el empleado se elimine
+     */
+    private void historialSalarios(Peticion peticion) throws IOException {
+        String parametroFecha = peticion.parametro("fecha");
+        LocalDate fecha = parametroFecha == null ? null
+                : fecha(Map.of("fecha", parametroFecha), "fecha", null);
+        List<HistorialSalario> historial = servicio.obtenerHistorialSalarios(peticion.id());
+        Double salarioEnFecha = fecha == null ? null
+                : servicio.obtenerSalarioEnFecha(peticion.id(), fecha).orElse(null);
+        responder(peticion.intercambio(), 200, json -> {
+            json.inicioObjeto().campo("empleado_id", peticion.id());
+            if (fecha != null) {
+                json.campo("fecha", fecha).campo("salario_en_fecha", salarioEnFecha);
+            }
+            json.nombre("cambios").inicioArreglo();
+            for (HistorialSalario cambio : historial) {
+                json.inicioObjeto()
+                        .campo("vigente_desde", cambio.getVigenteDesde().toString())
+                        .campo("motivo", cambio.getMotivo())
+                        .campo("salario_anterior", cambio.getSalarioAnterior())
+                        .campo("salario_nuevo", cambio.getSalarioNuevo())
+                        .campo("cargo_anterior_id", cambio.getCargoAnteriorId())
+                        .campo("cargo_nuevo_id", cambio.getCargoNuevoId())
+                        .finObjeto();
+            }
+            json.finArreglo().finObjeto();
+        });
+    }
+
+    /**
+     * Cuerpo: {@code {"reglas": [{"tipo": "PORCENTAJE", "valor": 5, "cargo_id": 1, ...}]}}.
+     * Con {@code ?simular=true} solo calcula el costo
+     */
+    private void ajustarSalarios(Peticion peticion) throws IOException {
+        Map<String, Object> cuerpo = peticion.cuerpo();
+        if (!(cuerpo.get("reglas") instanceof List<?> lista)) {
+            throw new IllegalArgumentException("El campo 'reglas' debe ser un arreglo");
+        }
+        List<ReglaAjusteSalarial> reglas = new ArrayList<>(lista.size());
+        for (Object elemento : lista) {
+            if (!(elemento instanceof Map<?, ?> regla)) {
+                throw new IllegalArgumentException("Cada regla debe ser un objeto");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> campos = (Map<String, Object>) regla;
+            reglas.add(new ReglaAjusteSalarial(
+                    ReglaAjusteSalarial.TipoAjuste.valueOf(textoObligatorio(campos, "tipo").toUpperCase(Locale.ROOT)),
+                    decimalObligatorio(campos, "valor"),
+                    entero(campos, "cargo_id"),
+                    texto(campos, "nivel", null),
+                    fecha(campos, "contratado_desde", null),
+                    fecha(campos, "contratado_hasta", null)));
+        }
+
+        ResultadoAjusteSalarial resultado = Boolean.parseBoolean(peticion.parametro("simular"))
+                ? servicio.simularAjusteSalarial(reglas)
+                : servicio.aplicarAjusteSalarial(reglas);
+        responder(peticion.intercambio(), 200, json -> {
+            json.inicioObjeto()
+                    .campo("simulacion", resultado.simulacion())
+                    .nombre("ajustes_por_regla").inicioArreglo();
+            for (Integer ajustados : resultado.ajustesPorRegla()) {
+                json.valor(ajustados.longValue());
+            }
+            json.finArreglo()
+                    .campo("masa_salarial_anterior", resultado.masaSalarialAnterior())
+                    .campo("masa_salarial_nueva", resultado.masaSalarialNueva())
+                    .campo("diferencia", resultado.diferencia())
+                    .campo("porcentaje_incremento", resultado.porcentajeIncremento())
+                    .finObjeto();
+        });
+    }
+
+    private Cargo cargoDelCuerpo(Map<String, Object> cuerpo, Cargo actual) {
+        Long cargoId = entero(cuerpo, "cargo_id");
+        if (cargoId == null) {
+            if (actual == null) {
+                throw new IllegalArgumentException("El campo 'cargo_id' es obligatorio");
+            }
+            return actual;
+        }
+        return servicio.obtenerCargoPorId(cargoId)
+                .orElseThrow(() -> new IllegalArgumentException("Cargo no encontrado con ID: " + cargoId));
+    }
+
+    // ===== RESPUESTAS =====
+
+    private static void responder(HttpExchange intercambio, int estado, CuerpoJson cuerpo) throws IOException {
+        intercambio.getResponseHeaders().set("Content-Type", TIPO_JSON);
+        intercambio.sendResponseHeaders(estado, 0);
+        try (EscritorJson json = new EscritorJson(new BufferedWriter(
+                new OutputStreamWriter(intercambio.getResponseBody(), StandardCharsets.UTF_8), TAMANO_BUFER))) {
+            cuerpo.escribir(json);
+        }
+    }
+
+    private static void sinContenido(HttpExchange intercambio) throws IOException {
+        intercambio.sendResponseHeaders(204, -1);
+    }
+
+    private static void error(HttpExchange intercambio, int estado, String mensaje) {
+        if (intercambio.getResponseCode() != -1) {
+            // Los encabezados ya salieron: solo queda cortar la respuesta
+            return;
+        }
+        try {
+            responder(intercambio, estado, json -> json.inicioObjeto()
+                    .campo("error", mensaje)
+                    .finObjeto());
+        } catch (IOException e) {
+            log.debug("No se pudo enviar el error {} al cliente: {}", estado, e.getMessage());
+        }
+    }
+
+    private static void responderPagina(HttpExchange intercambio, Pagina<EmpleadoResumen> pagina) throws IOException {
+        responder(intercambio, 200, json -> {
+            json.inicioObjeto().nombre("elementos").inicioArreglo();
+            for (EmpleadoResumen empleado : pagina.elementos()) {
+                escribirEmpleado(json, empleado);
+            }
+            json.finArreglo()
+                    .campo("siguiente", codificarCursor(pagina.siguiente()))
+                    .finObjeto();
+        });
+    }
+
+    private static void responderCargo(HttpExchange intercambio, int estado, Cargo cargo) throws IOException {
+        responder(intercambio, estado, json -> json.inicioObjeto()
+                .campo("id", cargo.getId())
+                .campo("nombre", cargo.getNombre())
+                .campo("descripcion", cargo.getDescripcion())
+                .campo("nivel", cargo.getNivel())
+                .campo("salario_base", cargo.getSalarioBase())
+                .campo("version", cargo.getVersion())
+                .finObjeto());
+    }
+
+    private static void responderEmpleado(HttpExchange intercambio, int estado, Empleado empleado, Cargo cargo)
+            throws IOException {
+        EmpleadoResumen resumen = EmpleadoResumen.de(empleado, cargo);
+        responder(intercambio, estado, json -> {
+            escribirCamposEmpleado(json.inicioObjeto(), resumen);
+            json.campo("version", empleado.getVersion()).finObjeto();
+        });
+    }
+
+    private static void escribirEmpleado(EscritorJson json, EmpleadoResumen empleado) throws IOException {
+        escribirCamposEmpleado(json.inicioObjeto(), empleado);
+        json.finObjeto();
+    }
+
+    private static void escribirCamposEmpleado(EscritorJson json, EmpleadoResumen empleado) throws IOException {
+        json.campo("id", empleado.id())
+                .campo("num_empleado", empleado.numEmpleado())
+                .campo("nombre", empleado.nombre())
+                .campo("apellido", empleado.apellido())
+                .campo("email", empleado.email())
+                .campo("telefono", empleado.telefono())
+                .campo("fecha_contratacion", empleado.fechaContratacion())
+                .campo("salario_actual", empleado.salarioActual())
+                .campo("activo", empleado.activo())
+                .campo("cargo_id", empleado.cargoId())
+                .campo("cargo", empleado.cargoNombre())
+                .campo("cargo_nivel", empleado.cargoNivel());
+    }
+
+    // ===== PARÁMETROS =====
+
+    private static <T> T existente(Optional<T> valor, String recurso, Object clave) {
+        return valor.orElseThrow(() -> new RecursoNoEncontrado(recurso + " no encontrado: " + clave));
+    }
+
+    private static Map<String, String> parametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null || consulta.isEmpty()) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String nombre = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(nombre, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    private static int tamanoPagina(Peticion peticion) {
+        String tamano = peticion.parametro("tamano");
+        if (tamano == null) {
+            return TAMANO_PAGINA_DEFECTO;
+        }
+        int valor = Integer.parseInt(tamano);
+        if (valor < 1 || valor > TAMANO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_PAGINA_MAXIMO);
+        }
+        return valor;
+    }
+
+    private static CursorEmpleado cursor(Peticion peticion) {
+        return decodificarCursor(peticion.parametro("cursor"));
+    }
+
+    /**
+     * Cursor opaco para el cliente: la clave de orden (apellido, nombre, id y, en la
+     * búsqueda por nombre, la relevancia) en Base64 URL
+     */
+    static String codificarCursor(CursorEmpleado cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String clave = cursor.apellido() + SEPARADOR_CURSOR + cursor.nombre() + SEPARADOR_CURSOR + cursor.id()
+                + (cursor.relevancia() != null ? SEPARADOR_CURSOR + cursor.relevancia() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(clave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CursorEmpleado decodificarCursor(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARADOR_CURSOR, -1);
+            if (partes.length == 3) {
+                return new CursorEmpleado(partes[0], partes[1], Long.valueOf(partes[2]));
+            }
+            if (partes.length == 4) {
+                return new CursorEmpleado(partes[0], partes[1], Long.valueOf(partes[2]), Double.valueOf(partes[3]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 o id inválidos: se informa abajo como cursor inválido
+        }
+        throw new IllegalArgumentException("Cursor de paginación inválido");
+    }
+
+    private static String texto(Map<String, Object> cuerpo, String campo, String defecto) {
+        if (!cuerpo.containsKey(campo)) {
+            return defecto;
+        }
+        Object valor = cuerpo.get(campo);
+        if (valor != null && !(valor instanceof String)) {
+            throw new IllegalArgumentException("El campo '" + campo + "' debe ser una cadena");
+        }
+        return (String) valor;
+    }
+
+    private static String textoObligatorio(Map<String, Object> cuerpo, String campo) {
+        String valor = texto(cuerpo, campo, null);
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("El campo '" + campo + "' es obligatorio");
+        }
+        return valor;
+    }
+
+    private static Double decimal(Map<String, Object> cuerpo, String campo, Double defecto) {
+        if (!cuerpo.containsKey(campo)) {
+            return defecto;
+        }
+        Object valor = cuerpo.get(campo);
+        if (valor != null && !(valor instanceof BigDecimal)) {
+            throw new IllegalArgumentException("El campo '" + campo + "' debe ser numérico");
+        }
+        return valor == null ? null : ((BigDecimal) valor).doubleValue();
+    }
+
+    private static Double decimalObligatorio(Map<String, Object> cuerpo, String campo) {
+        Double valor = decimal(cuerpo, campo, null);
+        if (valor == null) {
+            throw new IllegalArgumentException("El campo '" + campo + "' es obligatorio");
+        }
+        return valor;
+    }
+
+    private static Long entero(Map<String, Object> cuerpo, String campo) {
+        Object valor = cuerpo.get(campo);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return ((BigDecimal) valor).longValueExact();
+        } catch (ClassCastException | ArithmeticException e) {
+            throw new IllegalArgumentException("El campo '" + campo + "' debe ser un entero");
+        }
+    }
+
+    private static LocalDate fecha(Map<String, Object> cuerpo, String campo, LocalDate defecto) {
+        String valor = texto(cuerpo, campo, null);
+        if (valor == null) {
+            return defecto;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("El campo '" + campo + "' debe tener el formato AAAA-MM-DD");
+        }
+    }
+}
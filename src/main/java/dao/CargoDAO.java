@@ -1,54 +1,116 @@
 package dao;
 
 import models.Cargo;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import models.ResumenCargo;
+import util.UnidadDeTrabajo;
 import jakarta.persistence.TypedQuery;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Los EntityManager se obtienen por operación a través de {@link UnidadDeTrabajo}, por
+ * lo que una misma instancia puede usarse desde varios hilos. Los cargos retornados
+ * quedan desconectados y su lista de empleados no está inicializada.
+ */
 @Slf4j
 public class CargoDAO implements ICargo {
 
-    private final EntityManager entityManager;
+    /** Filas por transacción en guardarTodos */
+    private static final int TAMANO_LOTE = 1000;
 
-    public CargoDAO(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    private final List<ObservadorCargos> observadores = new CopyOnWriteArrayList<>();
+
+    public void agregarObservador(ObservadorCargos observador) {
+        observadores.add(observador);
     }
 
     @Override
     public Cargo guardar(Cargo cargo) {
-        EntityTransaction transaction = null;
         try {
-            transaction = entityManager.getTransaction();
-            transaction.begin();
-
-            if (cargo.getId() == null) {
-                entityManager.persist(cargo);
-                log.info("Cargo guardado: {}", cargo.getNombre());
-            } else {
-                cargo = entityManager.merge(cargo);
-                log.info("Cargo actualizado: {}", cargo.getNombre());
-            }
+            boolean nuevo = cargo.getId() == null;
+            Cargo guardado = UnidadDeTrabajo.ejecutar(em -> {
+                if (nuevo) {
+                    em.persist(cargo);
+                    return cargo;
+                }
+                return em.merge(cargo);
+            });
 
-            transaction.commit();
-            return cargo;
+            log.info("Cargo {}: {}", nuevo ? "guardado" : "actualizado", guardado.getNombre());
+            UnidadDeTrabajo.alConfirmar(() -> notificarGuardado(guardado, nuevo));
+            return guardado;
 
         } catch (Exception e) {
-            if (transaction != null && transaction.isActive()) {
-                transaction.rollback();
-            }
             log.error("Error al guardar cargo: {}", e.getMessage());
             throw new RuntimeException("Error al guardar cargo", e);
         }
     }
 
+    @Override
+    public int guardarTodos(Collection<Cargo> cargos) {
+        int guardados = 0;
+        try {
+            List<Cargo> lote = new ArrayList<>(Math.min(cargos.size(), TAMANO_LOTE));
+            for (Cargo cargo : cargos) {
+                lote.add(cargo);
+                if (lote.size() == TAMANO_LOTE) {
+                    guardados += guardarLote(lote);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                guardados += guardarLote(lote);
+            }
+
+            log.info("Cargos guardados en lote: {}", guardados);
+            return guardados;
+
+        } catch (Exception e) {
+            log.error("Error al guardar cargos en lote (guardados: {}): {}", guardados, e.getMessage());
+            throw new RuntimeException("Error al guardar cargos en lote", e);
+        }
+    }
+
+    /**
+     * Guarda un lote en su propia transacción (o en la transacción en curso del hilo)
+     */
+    private int guardarLote(List<Cargo> lote) {
+        List<Cargo> guardados = new ArrayList<>(lote.size());
+        List<Boolean> nuevos = new ArrayList<>(lote.size());
+
+        UnidadDeTrabajo.ejecutar(em -> {
+            for (Cargo cargo : lote) {
+                boolean nuevo = cargo.getId() == null;
+                if (nuevo) {
+                    em.persist(cargo);
+                    guardados.add(cargo);
+                } else {
+                    guardados.add(em.merge(cargo));
+                }
+                nuevos.add(nuevo);
+            }
+            em.flush();
+            em.clear();
+            return null;
+        });
+
+        UnidadDeTrabajo.alConfirmar(() -> {
+            for (int i = 0; i < guardados.size(); i++) {
+                notificarGuardado(guardados.get(i), nuevos.get(i));
+            }
+        });
+        return guardados.size();
+    }
+
     @Override
     public Optional<Cargo> buscarPorId(Long id) {
         try {
-            Cargo cargo = entityManager.find(Cargo.class, id);
-            return Optional.ofNullable(cargo);
+            return Optional.ofNullable(UnidadDeTrabajo.consultar(em -> em.find(Cargo.class, id)));
         } catch (Exception e) {
             log.error("Error al buscar cargo por ID {}: {}", id, e.getMessage());
             return Optional.empty();
@@ -58,12 +120,15 @@ public class CargoDAO implements ICargo {
     @Override
     public Optional<Cargo> buscarPorNombreExacto(String nombre) {
         try {
-            TypedQuery<Cargo> query = entityManager.createQuery(
-                    "SELECT c FROM Cargo c WHERE c.nombre = :nombre", Cargo.class);
-            query.setParameter("nombre", nombre);
+            return UnidadDeTrabajo.consultar(em -> {
+                TypedQuery<Cargo> query = em.createQuery(
+                        "SELECT c FROM Cargo c WHERE c.nombre = :nombre", Cargo.class);
+                cacheable(query);
+                query.setParameter("nombre", nombre);
 
-            List<Cargo> resultados = query.getResultList();
-            return resultados.isEmpty() ? Optional.empty() : Optional.of(resultados.getFirst());
+                List<Cargo> resultados = query.getResultList();
+                return resultados.isEmpty() ? Optional.empty() : Optional.of(resultados.getFirst());
+            });
 
         } catch (Exception e) {
             log.error("Error al buscar cargo por nombre '{}': {}", nombre, e.getMessage());
@@ -74,22 +139,46 @@ public class CargoDAO implements ICargo {
     @Override
     public List<Cargo> buscarTodos() {
         try {
-            TypedQuery<Cargo> query = entityManager.createQuery(
-                    "SELECT c FROM Cargo c ORDER BY c.nombre", Cargo.class);
-            return query.getResultList();
+            return UnidadDeTrabajo.consultar(em -> {
+                TypedQuery<Cargo> query = em.createQuery(
+                        "SELECT c FROM Cargo c ORDER BY c.nombre", Cargo.class);
+                cacheable(query);
+                return query.getResultList();
+            });
         } catch (Exception e) {
             log.error("Error al buscar todos los cargos: {}", e.getMessage());
             throw new RuntimeException("Error al obtener cargos", e);
         }
     }
 
+    @Override
+    public List<ResumenCargo> buscarResumenes() {
+        try {
+            return UnidadDeTrabajo.consultar(em -> em.createQuery(
+                    "SELECT new models.ResumenCargo(c.id, c.nombre, c.descripcion, c.nivel, c.salarioBase, " +
+                            "COUNT(e), " +
+                            "SUM(CASE WHEN e.activo = true THEN 1 ELSE 0 END), " +
+                            "SUM(CASE WHEN e.activo = false THEN 1 ELSE 0 END), " +
+                            "COALESCE(SUM(e.salarioActual), 0.0)) " +
+                            "FROM Cargo c LEFT JOIN c.empleados e " +
+                            "GROUP BY c.id, c.nombre, c.descripcion, c.nivel, c.salarioBase " +
+                            "ORDER BY c.nombre", ResumenCargo.class)
+                    .getResultList());
+        } catch (Exception e) {
+            log.error("Error al obtener resumen de cargos: {}", e.getMessage());
+            throw new RuntimeException("Error al obtener resumen de cargos", e);
+        }
+    }
+
     @Override
     public List<Cargo> buscarPorNombre(String nombre) {
         try {
-            TypedQuery<Cargo> query = entityManager.createQuery(
-                    "SELECT c FROM Cargo c WHERE c.nombre LIKE :nombre ORDER BY c.nombre", Cargo.class);
-            query.setParameter("nombre", "%" + nombre + "%");
-            return query.getResultList();
+            // El catálogo es pequeño y está en la caché de consultas: se filtra en memoria,
+            // sin distinguir mayúsculas ni acentos
+            String buscado = IndiceTextoCompleto.normalizar(nombre);
+            return buscarTodos().stream()
+                    .filter(cargo -> IndiceTextoCompleto.normalizar(cargo.getNombre()).contains(buscado))
+                    .toList();
         } catch (Exception e) {
             log.error("Error al buscar cargos por nombre '{}': {}", nombre, e.getMessage());
             throw new RuntimeException("Error al buscar cargos", e);
@@ -98,31 +187,27 @@ public class CargoDAO implements ICargo {
 
     @Override
     public boolean eliminar(Long id) {
-        EntityTransaction transaction = null;
         try {
-            transaction = entityManager.getTransaction();
-            transaction.begin();
-
-            Cargo cargo = entityManager.find(Cargo.class, id);
-            if (cargo != null) {
-                if (!cargo.getEmpleados().isEmpty()) {
-                    throw new IllegalStateException(
-                            "No se puede eliminar el cargo. Tiene " + cargo.getEmpleados().size() + " empleados asociados.");
+            Cargo eliminado = UnidadDeTrabajo.ejecutar(em -> {
+                Cargo cargo = em.find(Cargo.class, id);
+                if (cargo != null) {
+                    if (!cargo.getEmpleados().isEmpty()) {
+                        throw new IllegalStateException(
+                                "No se puede eliminar el cargo. Tiene " + cargo.getEmpleados().size() + " empleados asociados.");
+                    }
+                    em.remove(cargo);
                 }
+                return cargo;
+            });
 
-                entityManager.remove(cargo);
-                log.info("Cargo eliminado: {}", cargo.getNombre());
-                transaction.commit();
-                return true;
+            if (eliminado == null) {
+                return false;
             }
-
-            transaction.commit();
-            return false;
+            log.info("Cargo eliminado: {}", eliminado.getNombre());
+            UnidadDeTrabajo.alConfirmar(() -> observadores.forEach(o -> o.cargoEliminado(eliminado)));
+            return true;
 
         } catch (Exception e) {
-            if (transaction != null && transaction.isActive()) {
-                transaction.rollback();
-            }
             log.error("Error al eliminar cargo ID {}: {}", id, e.getMessage());
             throw new RuntimeException("Error al eliminar cargo", e);
         }
@@ -131,10 +216,13 @@ public class CargoDAO implements ICargo {
     @Override
     public boolean existePorNombre(String nombre) {
         try {
-            TypedQuery<Long> query = entityManager.createQuery(
-                    "SELECT COUNT(c) FROM Cargo c WHERE c.nombre = :nombre", Long.class);
-            query.setParameter("nombre", nombre);
-            return query.getSingleResult() > 0;
+            return UnidadDeTrabajo.consultar(em -> {
+                TypedQuery<Long> query = em.createQuery(
+                        "SELECT COUNT(c) FROM Cargo c WHERE c.nombre = :nombre", Long.class);
+                cacheable(query);
+                query.setParameter("nombre", nombre);
+                return query.getSingleResult() > 0;
+            });
         } catch (Exception e) {
             log.error("Error al verificar existencia de cargo '{}': {}", nombre, e.getMessage());
             return false;
@@ -144,12 +232,28 @@ public class CargoDAO implements ICargo {
     @Override
     public long contar() {
         try {
-            TypedQuery<Long> query = entityManager.createQuery(
-                    "SELECT COUNT(c) FROM Cargo c", Long.class);
-            return query.getSingleResult();
+            return UnidadDeTrabajo.consultar(em -> {
+                TypedQuery<Long> query = em.createQuery(
+                        "SELECT COUNT(c) FROM Cargo c", Long.class);
+                cacheable(query);
+                return query.getSingleResult();
+            });
         } catch (Exception e) {
             log.error("Error al contar cargos: {}", e.getMessage());
             return 0;
         }
     }
+
+    private void notificarGuardado(Cargo cargo, boolean nuevo) {
+        observadores.forEach(o -> o.cargoGuardado(cargo, nuevo));
+    }
+
+    /**
+     * Las consultas del catálogo se guardan en la caché de consultas; Hibernate las
+     * invalida automáticamente cuando cambia la tabla de cargos.
+     */
+    private static void cacheable(TypedQuery<?> query) {
+        query.setHint(HibernateHints.HINT_CACHEABLE, true);
+        query.setHint(HibernateHints.HINT_CACHE_REGION, Cargo.REGION_CACHE_CONSULTAS);
+    }
 }
@@ -0,0 +1,189 @@
+package dao;
+
+import models.EmpleadoResumen;
+import util.UnidadDeTrabajo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class ConsultaEmpleadosDAO implements IConsultaEmpleados {
+
+    private static final String SELECT_RESUMEN =
+            "SELECT new models.EmpleadoResumen(e.id, e.num_empleado, e.nombre, e.apellido, e.email, " +
+                    "e.telefono, e.fechaContratacion, e.salarioActual, e.activo, c.id, c.nombre, c.nivel) " +
+                    "FROM Empleado e JOIN e.cargo c";
+
+    private static final String ORDEN = " ORDER BY e.apellido, e.nombre";
+
+    /** Búsqueda sin índice, usada cuando el índice de texto completo no está disponible */
+    private static final String FILTRO_NOMBRE = "(e.nombre LIKE :nombre OR e.apellido LIKE :nombre)";
+
+    @Override
+    public List<EmpleadoResumen> listarTodos() {
+        try {
+            return listar(null, Map.of());
+        } catch (Exception e) {
+            log.error("Error al listar empleados: {}", e.getMessage());
+            throw new RuntimeException("Error al obtener empleados", e);
+        }
+    }
+
+    @Override
+    public List<EmpleadoResumen> listarActivos() {
+        try {
+            return listar("e.activo = true", Map.of());
+        } catch (Exception e) {
+            log.error("Error al listar empleados activos: {}", e.getMessage());
+            throw new RuntimeException("Error al obtener empleados activos", e);
+        }
+    }
+
+    @Override
+    public List<EmpleadoResumen> listarInactivos() {
+        try {
+            return listar("e.activo = false", Map.of());
+        } catch (Exception e) {
+            log.error("Error al listar empleados inactivos: {}", e.getMessage());
+            throw new RuntimeException("Error al obtener empleados inactivos", e);
+        }
+    }
+
+    @Override
+    public List<EmpleadoResumen> listarPorCargo(Long cargoId) {
+        try {
+            return listar("c.id = :cargoId", Map.of("cargoId", cargoId));
+        } catch (Exception e) {
+            log.error("Error al listar empleados por cargo ID {}: {}", cargoId, e.getMessage());
+            throw new RuntimeException("Error al buscar empleados por cargo", e);
+        }
+    }
+
+    /**
+     * Se atiende en el primario: las réplicas no tienen el índice de texto completo
+     */
+    @Override
+    public List<EmpleadoResumen> buscarPorNombre(String nombre) {
+        try {
+            return UnidadDeTrabajo.consultarEnPrimario(em -> IndiceTextoCompleto.buscarIds(em, nombre)
+                    .map(ids -> ids.isEmpty() ? List.<EmpleadoResumen>of() : IndiceTextoCompleto.ordenarComo(
+                            consulta(em, SELECT_RESUMEN + " WHERE e.id IN :ids", Map.of("ids", ids)),
+                            ids, EmpleadoResumen::id))
+                    .orElseGet(() -> consulta(em, SELECT_RESUMEN + " WHERE " + FILTRO_NOMBRE + ORDEN,
+                            Map.of("nombre", "%" + nombre + "%"))));
+        } catch (Exception e) {
+            log.error("Error al buscar empleados por nombre '{}': {}", nombre, e.getMessage());
+            throw new RuntimeException("Error al buscar empleados", e);
+        }
+    }
+
+    @Override
+    public Pagina<EmpleadoResumen> listarTodos(CursorEmpleado desde, int tamano) {
+        try {
+            return paginar(null, Map.of(), desde, tamano);
+        } catch (Exception e) {
+            log.error("Error al paginar empleados: {}", e.getMessage());
+            throw new RuntimeException("Error al obtener empleados", e);
+        }
+    }
+
+    @Override
+    public Pagina<EmpleadoResumen> listarActivos(CursorEmpleado desde, int tamano) {
+        try {
+            return paginar("e.activo = true", Map.of(), desde, tamano);
+        } catch (Exception e) {
+            log.error("Error al paginar empleados activos: {}", e.getMessage());
+            throw new RuntimeException("Error al obtener empleados activos", e);
+        }
+    }
+
+    @Override
+    public Pagina<EmpleadoResumen> listarInactivos(CursorEmpleado desde, int tamano) {
+        try {
+            return paginar("e.activo = false", Map.of(), desde, tamano);
+        } catch (Exception e) {
+            log.error("Error al paginar empleados inactivos: {}", e.getMessage());
+            throw new RuntimeException("Error al obtener empleados inactivos", e);
+        }
+    }
+
+    @Override
+    public Pagina<EmpleadoResumen> listarPorCargo(Long cargoId, CursorEmpleado desde, int tamano) {
+        try {
+            return paginar("c.id = :cargoId", Map.of("cargoId", cargoId), desde, tamano);
+        } catch (Exception e) {
+            log.error("Error al paginar empleados por cargo ID {}: {}", cargoId, e.getMessage());
+            throw new RuntimeException("Error al buscar empleados por cargo", e);
+        }
+    }
+
+    /**
+     * La coincidencia con el índice se pagina en la base por (relevancia, id); el cursor
+     * de un listado alfabético solo sirve para la búsqueda con LIKE
+     */
+    @Override
+    public Pagina<EmpleadoResumen> buscarPorNombre(String nombre, CursorEmpleado desde, int tamano) {
+        if (tamano <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo: " + tamano);
+        }
+        try {
+            IndiceTextoCompleto.Coincidencia inicio = desde == null || desde.relevancia() == null ? null
+                    : new IndiceTextoCompleto.Coincidencia(desde.id(), desde.relevancia());
+            return UnidadDeTrabajo.consultarEnPrimario(em -> IndiceTextoCompleto.buscarPagina(em, nombre, inicio, tamano + 1)
+                    .map(coincidencias -> paginaPorRelevancia(em, coincidencias, tamano))
+                    .orElseGet(() -> paginar(em, FILTRO_NOMBRE, Map.of("nombre", "%" + nombre + "%"), desde, tamano)));
+        } catch (Exception e) {
+            log.error("Error al paginar empleados por nombre '{}': {}", nombre, e.getMessage());
+            throw new RuntimeException("Error al buscar empleados", e);
+        }
+    }
+
+    /**
+     * Carga los resúmenes de las coincidencias en su orden; la coincidencia extra solo
+     * indica que hay página siguiente
+     */
+    private static Pagina<EmpleadoResumen> paginaPorRelevancia(EntityManager em,
+                                                              List<IndiceTextoCompleto.Coincidencia> coincidencias,
+                                                              int tamano) {
+        List<IndiceTextoCompleto.Coincidencia> pagina = coincidencias.subList(0, Math.min(tamano, coincidencias.size()));
+        if (pagina.isEmpty()) {
+            return new Pagina<>(List.of(), null);
+        }
+        List<Long> ids = pagina.stream().map(IndiceTextoCompleto.Coincidencia::id).toList();
+        List<EmpleadoResumen> elementos = new ArrayList<>(IndiceTextoCompleto.ordenarComo(
+                consulta(em, SELECT_RESUMEN + " WHERE e.id IN :ids", Map.of("ids", ids)), ids, EmpleadoResumen::id));
+        if (coincidencias.size() <= tamano) {
+            return new Pagina<>(elementos, null);
+        }
+        // El cursor sale de la coincidencia, por si el empleado se eliminó entre ambas consultas
+        IndiceTextoCompleto.Coincidencia ultima = pagina.getLast();
+        EmpleadoResumen ultimo = elementos.isEmpty() ? null : elementos.getLast();
+        return new Pagina<>(elementos, new CursorEmpleado(ultimo != null ? ultimo.apellido() : "",
+                ultimo != null ? ultimo.nombre() : "", ultima.id(), ultima.relevancia()));
+    }
+
+    private List<EmpleadoResumen> listar(String filtro, Map<String, Object> parametros) {
+        String jpql = SELECT_RESUMEN + (filtro == null ? "" : " WHERE " + filtro) + ORDEN;
+        return UnidadDeTrabajo.consultar(em -> consulta(em, jpql, parametros));
+    }
+
+    private static List<EmpleadoResumen> consulta(EntityManager em, String jpql, Map<String, Object> parametros) {
+        TypedQuery<EmpleadoResumen> query = em.createQuery(jpql, EmpleadoResumen.class);
+        parametros.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private Pagina<EmpleadoResumen> paginar(String filtro, Map<String, Object> parametros,
+                                            CursorEmpleado desde, int tamano) {
+        return UnidadDeTrabajo.consultar(em -> paginar(em, filtro, parametros, desde, tamano));
+    }
+
+    private static Pagina<EmpleadoResumen> paginar(EntityManager em, String filtro, Map<String, Object> parametros,
+                                                   CursorEmpleado desde, int tamano) {
+        return PaginacionKeyset.paginar(em, SELECT_RESUMEN, filtro,
+                parametros, desde, tamano, EmpleadoResumen.class, CursorEmpleado::de);
+    }
+}
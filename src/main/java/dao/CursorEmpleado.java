@@ -0,0 +1,25 @@
+package dao;
+
+import models.Empleado;
+import models.EmpleadoResumen;
+
+/**
+ * Posición dentro de un listado de empleados ordenado por (apellido, nombre, id), o por
+ * (relevancia, id) en la búsqueda de texto completo, donde {@code relevancia} es el
+ * puntaje del motor para el último empleado entregado (null en los demás listados).
+ * La página siguiente comienza en el primer empleado estrictamente posterior.
+ */
+public record CursorEmpleado(String apellido, String nombre, Long id, Double relevancia) {
+
+    public CursorEmpleado(String apellido, String nombre, Long id) {
+        this(apellido, nombre, id, null);
+    }
+
+    public static CursorEmpleado de(Empleado empleado) {
+        return new CursorEmpleado(empleado.getApellido(), empleado.getNombre(), empleado.getId());
+    }
+
+    public static CursorEmpleado de(EmpleadoResumen empleado) {
+        return new CursorEmpleado(empleado.apellido(), empleado.nombre(), empleado.id());
+    }
+}
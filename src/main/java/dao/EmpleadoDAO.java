@@ -1,54 +1,160 @@
 package dao;
 
+import models.AuditoriaSalarios;
 import models.Empleado;
+import models.EstadisticasSistema;
+import models.HistorialSalario;
+import models.ReglaAjusteSalarial;
+import models.ResultadoAjusteSalarial;
+import util.UnidadDeTrabajo;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Los EntityManager se obtienen por operación a través de {@link UnidadDeTrabajo}, por
+ * lo que una misma instancia puede usarse desde varios hilos. Las entidades retornadas
+ * quedan desconectadas; las consultas por ID e identificación ya traen el cargo.
+ */
 @Slf4j
 public class EmpleadoDAO implements IEmpleado {
 
-    private final EntityManager entityManager;
+    /** Filas por transacción en guardarTodos; el contexto se vacía tras cada lote */
+    private static final int TAMANO_LOTE = 1000;
+
+    /**
+     * Ids por sentencia en las operaciones masivas, por debajo del límite de parámetros
+     * de SQLite y PostgreSQL
+     */
+    private static final int TAMANO_BLOQUE_IDS = 500;
+
+    private static final String SALARIO_BASE_CARGO = "(SELECT c.salarioBase FROM Cargo c WHERE c.id = e.cargo.id)";
 
-    public EmpleadoDAO(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    private final List<ObservadorEmpleados> observadores = new CopyOnWriteArrayList<>();
+
+    public void agregarObservador(ObservadorEmpleados observador) {
+        observadores.add(observador);
     }
 
     @Override
     public Empleado guardar(Empleado empleado) {
-        EntityTransaction transaction = null;
         try {
-            transaction = entityManager.getTransaction();
-            transaction.begin();
+            boolean nuevo = empleado.getId() == null;
+            Boolean[] activoAnterior = {null};
+            Empleado guardado = UnidadDeTrabajo.ejecutar(em -> {
+                if (nuevo) {
+                    em.persist(empleado);
+                    return empleado;
+                }
+                activoAnterior[0] = activoAnterior(em, empleado);
+                return em.merge(empleado);
+            });
+
+            log.info("Empleado {}: {} {}", nuevo ? "guardado" : "actualizado",
+                    guardado.getNombre(), guardado.getApellido());
+            UnidadDeTrabajo.alConfirmar(() -> notificarGuardado(guardado, nuevo, activoAnterior[0]));
+            return guardado;
 
-            if (empleado.getId() == null) {
-                entityManager.persist(empleado);
-                log.info("Empleado guardado: {} {}", empleado.getNombre(), empleado.getApellido());
-            } else {
-                empleado = entityManager.merge(empleado);
-                log.info("Empleado actualizado: {} {}", empleado.getNombre(), empleado.getApellido());
+        } catch (Exception e) {
+            log.error("Error al guardar empleado: {}", e.getMessage());
+            throw new RuntimeException("Error al guardar empleado", e);
+        }
+    }
+
+    @Override
+    public int guardarTodos(Collection<Empleado> empleados) {
+        int guardados = 0;
+        try {
+            List<Empleado> lote = new ArrayList<>(Math.min(empleados.size(), TAMANO_LOTE));
+            for (Empleado empleado : empleados) {
+                lote.add(empleado);
+                if (lote.size() == TAMANO_LOTE) {
+                    guardados += guardarLote(lote);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                guardados += guardarLote(lote);
             }
 
-            transaction.commit();
-            return empleado;
+            log.info("Empleados guardados en lote: {}", guardados);
+            return guardados;
 
         } catch (Exception e) {
-            if (transaction != null && transaction.isActive()) {
-                transaction.rollback();
-            }
-            log.error("Error al guardar empleado: {}", e.getMessage());
-            throw new RuntimeException("Error al guardar empleado", e);
+            log.error("Error al guardar empleados en lote (guardados: {}): {}", guardados, e.getMessage());
+            throw new RuntimeException("Error al guardar empleados en lote", e);
         }
     }
 
+    /**
+     * Guarda un lote en su propia transacción (o en la transacción en curso del hilo)
+     */
+    private int guardarLote(List<Empleado> lote) {
+        List<Empleado> guardados = new ArrayList<>(lote.size());
+        List<Boolean> nuevos = new ArrayList<>(lote.size());
+        List<Boolean> activosAnteriores = new ArrayList<>(lote.size());
+
+        UnidadDeTrabajo.ejecutar(em -> {
+            for (Empleado empleado : lote) {
+                boolean nuevo = empleado.getId() == null;
+                if (nuevo) {
+                    em.persist(empleado);
+                    guardados.add(empleado);
+                    activosAnteriores.add(null);
+                } else {
+                    activosAnteriores.add(activoAnterior(em, empleado));
+                    guardados.add(em.merge(empleado));
+                }
+                nuevos.add(nuevo);
+            }
+            em.flush();
+            em.clear();
+            return null;
+        });
+
+        UnidadDeTrabajo.alConfirmar(() -> {
+            for (int i = 0; i < guardados.size(); i++) {
+                notificarGuardado(guardados.get(i), nuevos.get(i), activosAnteriores.get(i));
+            }
+        });
+        return guardados.size();
+    }
+
+    /**
+     * Estado activo que tenía en la base un empleado existente antes de guardarlo. La
+     * instancia queda administrada, así que el merge posterior no vuelve a leerla.
+     */
+    private static Boolean activoAnterior(EntityManager em, Empleado empleado) {
+        Empleado actual = em.find(Empleado.class, empleado.getId());
+        return actual == null ? null : actual.getActivo();
+    }
+
     @Override
     public Optional<Empleado> buscarPorId(Long id) {
         try {
-            Empleado empleado = entityManager.find(Empleado.class, id);
-            return Optional.ofNullable(empleado);
+            List<Empleado> resultados = UnidadDeTrabajo.consultar(em -> em.createQuery(
+                            "SELECT e FROM Empleado e JOIN FETCH e.cargo WHERE e.id = :id", Empleado.class)
+                    .setParameter("id", id)
+                    .getResultList());
+            return resultados.isEmpty() ? Optional.empty() : Optional.of(resultados.get(0));
         } catch (Exception e) {
             log.error("Error al buscar empleado por ID {}: {}", id, e.getMessage());
             return Optional.empty();
@@ -58,12 +164,14 @@ public class EmpleadoDAO implements IEmpleado {
     @Override
     public Optional<Empleado> buscarPorIdentificacion(String numeroIdentificacion) {
         try {
-            TypedQuery<Empleado> query = entityManager.createQuery(
-                    "SELECT e FROM Empleado e WHERE e.num_empleado = :identificacion", Empleado.class);
-            query.setParameter("identificacion", numeroIdentificacion);
+            return UnidadDeTrabajo.consultar(em -> {
+                TypedQuery<Empleado> query = em.createQuery(
+                        "SELECT e FROM Empleado e JOIN FETCH e.cargo WHERE e.num_empleado = :identificacion", Empleado.class);
+                query.setParameter("identificacion", numeroIdentificacion);
 
-            List<Empleado> resultados = query.getResultList();
-            return resultados.isEmpty() ? Optional.empty() : Optional.of(resultados.get(0));
+                List<Empleado> resultados = query.getResultList();
+                return resultados.isEmpty() ? Optional.empty() : Optional.of(resultados.get(0));
+            });
 
         } catch (Exception e) {
             log.error("Error al buscar empleado por identificación '{}': {}", numeroIdentificacion, e.getMessage());
@@ -72,156 +180,480 @@ public class EmpleadoDAO implements IEmpleado {
     }
 
     @Override
-    public List<Empleado> buscarTodos() {
+    public long recorrerTodos(int tamanoFetch, Consumer<Empleado> consumidor) {
+        long[] recorridos = {0};
+        try {
+            // PostgreSQL solo usa un cursor de servidor dentro de una transacción
+            UnidadDeTrabajo.ejecutar(em -> {
+                Session session = em.unwrap(Session.class);
+                try (ScrollableResults<Empleado> resultados = session.createSelectionQuery(
+                                "SELECT e FROM Empleado e JOIN FETCH e.cargo ORDER BY e.id", Empleado.class)
+                        .setFetchSize(tamanoFetch)
+                        .setReadOnly(true)
+                        .setCacheMode(CacheMode.IGNORE)
+                        .scroll(ScrollMode.FORWARD_ONLY)) {
+
+                    while (resultados.next()) {
+                        consumidor.accept(resultados.get());
+                        recorridos[0]++;
+
+                        if (recorridos[0] % tamanoFetch == 0) {
+                            session.clear();
+                        }
+                    }
+                }
+                session.clear();
+                return null;
+            });
+
+            log.info("Empleados recorridos con cursor: {}", recorridos[0]);
+            return recorridos[0];
+
+        } catch (UncheckedIOException e) {
+            // Falla de escritura del consumidor (archivo de exportación, respuesta HTTP): se
+            // propaga sin envolver para que quien escribe la reconozca
+            log.error("Error de E/S al recorrer empleados (recorridos: {}): {}", recorridos[0], e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error al recorrer empleados (recorridos: {}): {}", recorridos[0], e.getMessage());
+            throw new RuntimeException("Error al recorrer empleados", e);
+        }
+    }
+
+    @Override
+    public boolean eliminar(Long id) {
         try {
-            TypedQuery<Empleado> query = entityManager.createQuery(
-                    "SELECT e FROM Empleado e ORDER BY e.apellido, e.nombre", Empleado.class);
-            return query.getResultList();
+            Empleado eliminado = UnidadDeTrabajo.ejecutar(em -> {
+                Empleado empleado = em.find(Empleado.class, id);
+                if (empleado != null) {
+                    em.remove(empleado);
+                }
+                return empleado;
+            });
+
+            if (eliminado == null) {
+                return false;
+            }
+            log.info("Empleado eliminado: {} {}", eliminado.getNombre(), eliminado.getApellido());
+            UnidadDeTrabajo.alConfirmar(() -> observadores.forEach(o -> o.empleadoEliminado(eliminado)));
+            return true;
+
         } catch (Exception e) {
-            log.error("Error al buscar todos los empleados: {}", e.getMessage());
-            throw new RuntimeException("Error al obtener empleados", e);
+            log.error("Error al eliminar empleado ID {}: {}", id, e.getMessage());
+            throw new RuntimeException("Error al eliminar empleado", e);
         }
     }
 
     @Override
-    public List<Empleado> buscarPorCargo(Long cargoId) {
+    public boolean desactivar(Long id) {
         try {
-            TypedQuery<Empleado> query = entityManager.createQuery(
-                    "SELECT e FROM Empleado e WHERE e.cargo.id = :cargoId ORDER BY e.apellido, e.nombre", Empleado.class);
-            query.setParameter("cargoId", cargoId);
-            return query.getResultList();
+            return cambiarEstado(id, false);
         } catch (Exception e) {
-            log.error("Error al buscar empleados por cargo ID {}: {}", cargoId, e.getMessage());
-            throw new RuntimeException("Error al buscar empleados por cargo", e);
+            log.error("Error al desactivar empleado ID {}: {}", id, e.getMessage());
+            throw new RuntimeException("Error al desactivar empleado", e);
         }
     }
 
     @Override
-    public List<Empleado> buscarPorNombre(String nombre) {
+    public boolean activar(Long id) {
         try {
-            TypedQuery<Empleado> query = entityManager.createQuery(
-                    "SELECT e FROM Empleado e WHERE e.nombre LIKE :nombre OR e.apellido LIKE :nombre ORDER BY e.apellido, e.nombre", Empleado.class);
-            query.setParameter("nombre", "%" + nombre + "%");
-            return query.getResultList();
+            return cambiarEstado(id, true);
         } catch (Exception e) {
-            log.error("Error al buscar empleados por nombre '{}': {}", nombre, e.getMessage());
-            throw new RuntimeException("Error al buscar empleados", e);
+            log.error("Error al activar empleado ID {}: {}", id, e.getMessage());
+            throw new RuntimeException("Error al activar empleado", e);
         }
     }
 
+    private boolean cambiarEstado(Long id, boolean activo) {
+        boolean[] cambio = {false};
+        Empleado empleado = UnidadDeTrabajo.ejecutar(em -> {
+            Empleado encontrado = em.find(Empleado.class, id);
+            if (encontrado != null) {
+                cambio[0] = !Boolean.valueOf(activo).equals(encontrado.getActivo());
+                encontrado.setActivo(activo);
+            }
+            return encontrado;
+        });
+
+        if (empleado == null) {
+            return false;
+        }
+        log.info("Empleado {}: {} {}", activo ? "activado" : "desactivado",
+                empleado.getNombre(), empleado.getApellido());
+        if (cambio[0]) {
+            UnidadDeTrabajo.alConfirmar(() -> observadores.forEach(o -> o.estadoCambiado(empleado, activo)));
+        }
+        return true;
+    }
+
+    // ===== OPERACIONES MASIVAS =====
+
     @Override
-    public List<Empleado> buscarActivos() {
+    public int desactivarTodos(Collection<Long> ids) {
         try {
-            TypedQuery<Empleado> query = entityManager.createQuery(
-                    "SELECT e FROM Empleado e WHERE e.activo = true ORDER BY e.apellido, e.nombre", Empleado.class);
-            return query.getResultList();
+            return cambiarEstadoMasivo(ids, false);
         } catch (Exception e) {
-            log.error("Error al buscar empleados activos: {}", e.getMessage());
-            throw new RuntimeException("Error al obtener empleados activos", e);
+            log.error("Error al desactivar {} empleados: {}", ids.size(), e.getMessage());
+            throw new RuntimeException("Error al desactivar empleados", e);
         }
     }
 
     @Override
-    public List<Empleado> buscarInactivos() {
+    public int activarTodos(Collection<Long> ids) {
         try {
-            TypedQuery<Empleado> query = entityManager.createQuery(
-                    "SELECT e FROM Empleado e WHERE e.activo = false ORDER BY e.apellido, e.nombre", Empleado.class);
-            return query.getResultList();
+            return cambiarEstadoMasivo(ids, true);
         } catch (Exception e) {
-            log.error("Error al buscar empleados inactivos: {}", e.getMessage());
-            throw new RuntimeException("Error al obtener empleados inactivos", e);
+            log.error("Error al activar {} empleados: {}", ids.size(), e.getMessage());
+            throw new RuntimeException("Error al activar empleados", e);
         }
     }
 
     @Override
-    public boolean eliminar(Long id) {
-        EntityTransaction transaction = null;
+    public int eliminarTodos(Collection<Long> ids) {
         try {
-            transaction = entityManager.getTransaction();
-            transaction.begin();
-
-            Empleado empleado = entityManager.find(Empleado.class, id);
-            if (empleado != null) {
-                entityManager.remove(empleado);
-                log.info("Empleado eliminado: {} {}", empleado.getNombre(), empleado.getApellido());
-                transaction.commit();
-                return true;
-            }
+            int eliminados = porBloques(ids, (em, bloque) -> em.createQuery(
+                            "DELETE FROM Empleado e WHERE e.id IN :ids")
+                    .setParameter("ids", bloque)
+                    .executeUpdate());
 
-            transaction.commit();
-            return false;
+            log.info("Empleados eliminados en bloque: {}", eliminados);
+            notificarMasiva(OperacionMasiva.porIds(OperacionMasiva.Tipo.ELIMINAR, ids), eliminados);
+            return eliminados;
 
         } catch (Exception e) {
-            if (transaction != null && transaction.isActive()) {
-                transaction.rollback();
-            }
-            log.error("Error al eliminar empleado ID {}: {}", id, e.getMessage());
-            throw new RuntimeException("Error al eliminar empleado", e);
+            log.error("Error al eliminar {} empleados: {}", ids.size(), e.getMessage());
+            throw new RuntimeException("Error al eliminar empleados", e);
         }
     }
 
     @Override
-    public boolean desactivar(Long id) {
-        EntityTransaction transaction = null;
+    public int desactivarPorCargo(Long cargoId) {
         try {
-            transaction = entityManager.getTransaction();
-            transaction.begin();
-
-            Empleado empleado = entityManager.find(Empleado.class, id);
-            if (empleado != null) {
-                empleado.setActivo(false);
-                entityManager.merge(empleado);
-                log.info("Empleado desactivado: {} {}", empleado.getNombre(), empleado.getApellido());
-                transaction.commit();
-                return true;
-            }
+            return cambiarEstadoPorCargo(cargoId, false);
+        } catch (Exception e) {
+            log.error("Error al desactivar empleados del cargo ID {}: {}", cargoId, e.getMessage());
+            throw new RuntimeException("Error al desactivar empleados del cargo", e);
+        }
+    }
 
-            transaction.commit();
-            return false;
+    @Override
+    public int activarPorCargo(Long cargoId) {
+        try {
+            return cambiarEstadoPorCargo(cargoId, true);
+        } catch (Exception e) {
+            log.error("Error al activar empleados del cargo ID {}: {}", cargoId, e.getMessage());
+            throw new RuntimeException("Error al activar empleados del cargo", e);
+        }
+    }
+
+    @Override
+    public int eliminarPorCargo(Long cargoId) {
+        try {
+            int eliminados = UnidadDeTrabajo.ejecutar(em -> {
+                em.flush();
+                int filas = em.createQuery("DELETE FROM Empleado e WHERE e.cargo.id = :cargoId")
+                        .setParameter("cargoId", cargoId)
+                        .executeUpdate();
+                descartarEstado(em);
+                return filas;
+            });
+
+            log.info("Empleados del cargo ID {} eliminados: {}", cargoId, eliminados);
+            notificarMasiva(OperacionMasiva.porCargo(OperacionMasiva.Tipo.ELIMINAR, cargoId), eliminados);
+            return eliminados;
 
         } catch (Exception e) {
-            if (transaction != null && transaction.isActive()) {
-                transaction.rollback();
-            }
-            log.error("Error al desactivar empleado ID {}: {}", id, e.getMessage());
-            throw new RuntimeException("Error al desactivar empleado", e);
+            log.error("Error al eliminar empleados del cargo ID {}: {}", cargoId, e.getMessage());
+            throw new RuntimeException("Error al eliminar empleados del cargo", e);
         }
     }
 
     @Override
-    public boolean activar(Long id) {
-        EntityTransaction transaction = null;
+    public ResultadoAjusteSalarial ajustarSalarios(List<ReglaAjusteSalarial> reglas, boolean simulacion) {
         try {
-            transaction = entityManager.getTransaction();
-            transaction.begin();
-
-            Empleado empleado = entityManager.find(Empleado.class, id);
-            if (empleado != null) {
-                empleado.setActivo(true);
-                entityManager.merge(empleado);
-                log.info("Empleado activado: {} {}", empleado.getNombre(), empleado.getApellido());
-                transaction.commit();
-                return true;
+            ResultadoAjusteSalarial resultado;
+            if (simulacion) {
+                resultado = UnidadDeTrabajo.consultar(em -> simularReglas(em, reglas));
+            } else {
+                Map<Long, Double> salarios = new HashMap<>();
+                resultado = UnidadDeTrabajo.ejecutar(em -> aplicarReglas(em, reglas, salarios));
+                notificarMasiva(OperacionMasiva.ajusteSalarial(salarios), salarios.size());
             }
 
-            transaction.commit();
-            return false;
+            log.info("Ajuste salarial {}: {} reglas, diferencia {}", simulacion ? "simulado" : "aplicado",
+                    reglas.size(), String.format("%.2f", resultado.diferencia()));
+            return resultado;
 
         } catch (Exception e) {
-            if (transaction != null && transaction.isActive()) {
-                transaction.rollback();
+            log.error("Error al ajustar salarios: {}", e.getMessage());
+            throw new RuntimeException("Error al ajustar salarios", e);
+        }
+    }
+
+    /**
+     * Aplica las reglas y deja en {@code salarios} el salario resultante de cada empleado
+     * ajustado, para que los observadores actualicen solo esas entradas
+     */
+    private static ResultadoAjusteSalarial aplicarReglas(EntityManager em, List<ReglaAjusteSalarial> reglas,
+                                                         Map<Long, Double> salarios) {
+        em.flush();
+        salarios.clear();
+        double anterior = masaSalarialActiva(em);
+        List<Integer> ajustesPorRegla = new ArrayList<>(reglas.size());
+        for (int i = 0; i < reglas.size(); i++) {
+            ajustesPorRegla.add(alcanzaEmpleados(reglas, i) ? aplicarRegla(em, reglas, i, salarios) : 0);
+        }
+        double nueva = masaSalarialActiva(em);
+        descartarEstado(em);
+        return new ResultadoAjusteSalarial(false, List.copyOf(ajustesPorRegla), anterior, nueva);
+    }
+
+    /**
+     * Calcula el ajuste con un SELECT agregado por regla, sin escribir ni bloquear filas.
+     * Como cada empleado recibe una sola regla, la suma de las diferencias por regla es
+     * exactamente la del ajuste aplicado sobre los mismos datos
+     */
+    private static ResultadoAjusteSalarial simularReglas(EntityManager em, List<ReglaAjusteSalarial> reglas) {
+        double anterior = masaSalarialActiva(em);
+        double diferencia = 0;
+        List<Integer> ajustesPorRegla = new ArrayList<>(reglas.size());
+        for (int i = 0; i < reglas.size(); i++) {
+            if (!alcanzaEmpleados(reglas, i)) {
+                ajustesPorRegla.add(0);
+                continue;
+            }
+            Object[] fila = enlazar(em.createQuery("SELECT COUNT(e), COALESCE(SUM(" + salarioNuevo(reglas.get(i))
+                    + " - COALESCE(e.salarioActual, 0.0)), 0.0) FROM Empleado e" + filtro(reglas, i),
+                    Object[].class), reglas, i).getSingleResult();
+            ajustesPorRegla.add(((Number) fila[0]).intValue());
+            diferencia += ((Number) fila[1]).doubleValue();
+        }
+        return new ResultadoAjusteSalarial(true, List.copyOf(ajustesPorRegla), anterior, anterior + diferencia);
+    }
+
+    /**
+     * Un UPDATE por regla. Si el historial de salarios está activo, antes del UPDATE se
+     * leen en la misma transacción los salarios que va a cambiar, porque las
+     * actualizaciones masivas no pasan por los listeners de la entidad. Después se leen
+     * los salarios resultantes con el mismo filtro, que no depende del salario
+     */
+    private static int aplicarRegla(EntityManager em, List<ReglaAjusteSalarial> reglas, int indice,
+                                    Map<Long, Double> salarios) {
+        String nuevo = salarioNuevo(reglas.get(indice));
+        String filtro = filtro(reglas, indice);
+
+        if (AuditoriaSalarios.activa()) {
+            registrarAjuste(enlazar(em.createQuery(
+                    "SELECT e.id, e.salarioActual, " + nuevo + ", e.cargo.id FROM Empleado e" + filtro,
+                    Object[].class), reglas, indice));
+        }
+        // Los UPDATE masivos no pasan por el control de versiones de Hibernate: se incrementa
+        // a mano para que las escrituras concurrentes sobre estos empleados detecten el cambio
+        int ajustados = enlazar(em.createQuery("UPDATE Empleado e SET e.salarioActual = " + nuevo
+                + ", e.version = e.version + 1" + filtro), reglas, indice).executeUpdate();
+        if (ajustados > 0) {
+            enlazarFiltro(em.createQuery("SELECT e.id, e.salarioActual FROM Empleado e" + filtro, Object[].class),
+                    reglas, indice).getResultList()
+                    .forEach(fila -> salarios.put((Long) fila[0], ((Number) fila[1]).doubleValue()));
+        }
+        return ajustados;
+    }
+
+    /**
+     * Salario resultante de la regla, redondeado a centavos y nunca por debajo del
+     * salario base del cargo
+     */
+    private static String salarioNuevo(ReglaAjusteSalarial regla) {
+        String calculado = regla.tipo() == ReglaAjusteSalarial.TipoAjuste.PORCENTAJE
+                ? "ROUND(COALESCE(e.salarioActual, 0) * :valor, 2)"
+                : "ROUND(COALESCE(e.salarioActual, 0) + :valor, 2)";
+        return "CASE WHEN " + calculado + " < " + SALARIO_BASE_CARGO
+                + " THEN " + SALARIO_BASE_CARGO + " ELSE " + calculado + " END";
+    }
+
+    /**
+     * Empleados activos que cumplen la regla y ninguna de las anteriores: la primera
+     * regla que alcanza a un empleado es la única que se le aplica, así los aumentos de
+     * reglas superpuestas no se componen. Con CASE, un filtro anterior que da NULL (por
+     * ejemplo, sin fecha de contratación) cuenta como no cumplido
+     */
+    private static String filtro(List<ReglaAjusteSalarial> reglas, int indice) {
+        StringBuilder filtro = new StringBuilder(" WHERE e.activo = true");
+        String propia = condicion(reglas.get(indice), indice);
+        if (propia != null) {
+            filtro.append(" AND ").append(propia);
+        }
+        for (int anterior = 0; anterior < indice; anterior++) {
+            filtro.append(" AND CASE WHEN ").append(condicion(reglas.get(anterior), anterior))
+                    .append(" THEN 1 ELSE 0 END = 0");
+        }
+        return filtro.toString();
+    }
+
+    /**
+     * Filtros de la regla con los parámetros sufijados por su posición, o null si no
+     * restringe
+     */
+    private static String condicion(ReglaAjusteSalarial regla, int indice) {
+        List<String> partes = new ArrayList<>(4);
+        if (regla.cargoId() != null) {
+            partes.add("e.cargo.id = :cargoId" + indice);
+        }
+        if (regla.nivel() != null) {
+            partes.add("e.cargo.id IN (SELECT n.id FROM Cargo n WHERE n.nivel = :nivel" + indice + ")");
+        }
+        if (regla.contratadoDesde() != null) {
+            partes.add("e.fechaContratacion >= :desde" + indice);
+        }
+        if (regla.contratadoHasta() != null) {
+            partes.add("e.fechaContratacion <= :hasta" + indice);
+        }
+        return partes.isEmpty() ? null : "(" + String.join(" AND ", partes) + ")";
+    }
+
+    /**
+     * Una regla después de otra sin filtros no alcanza a nadie
+     */
+    private static boolean alcanzaEmpleados(List<ReglaAjusteSalarial> reglas, int indice) {
+        for (int anterior = 0; anterior < indice; anterior++) {
+            if (condicion(reglas.get(anterior), anterior) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <Q extends Query> Q enlazar(Q query, List<ReglaAjusteSalarial> reglas, int indice) {
+        ReglaAjusteSalarial regla = reglas.get(indice);
+        query.setParameter("valor", regla.tipo() == ReglaAjusteSalarial.TipoAjuste.PORCENTAJE
+                ? 1 + regla.valor() / 100 : regla.valor());
+        return enlazarFiltro(query, reglas, indice);
+    }
+
+    /**
+     * Enlaza solo los parámetros de {@link #filtro}, para consultas sin el salario nuevo
+     */
+    private static <Q extends Query> Q enlazarFiltro(Q query, List<ReglaAjusteSalarial> reglas, int indice) {
+        for (int i = 0; i <= indice; i++) {
+            ReglaAjusteSalarial filtrada = reglas.get(i);
+            if (filtrada.cargoId() != null) {
+                query.setParameter("cargoId" + i, filtrada.cargoId());
+            }
+            if (filtrada.nivel() != null) {
+                query.setParameter("nivel" + i, filtrada.nivel());
+            }
+            if (filtrada.contratadoDesde() != null) {
+                query.setParameter("desde" + i, filtrada.contratadoDesde());
+            }
+            if (filtrada.contratadoHasta() != null) {
+                query.setParameter("hasta" + i, filtrada.contratadoHasta());
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Publica un registro de historial por cada empleado cuyo salario cambia; se escriben
+     * solo si la transacción del ajuste se confirma
+     */
+    private static void registrarAjuste(TypedQuery<Object[]> query) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<HistorialSalario> cambios = new ArrayList<>();
+        for (Object[] fila : query.getResultList()) {
+            Double anterior = fila[1] != null ? ((Number) fila[1]).doubleValue() : null;
+            Double nuevo = fila[2] != null ? ((Number) fila[2]).doubleValue() : null;
+            if (!Objects.equals(anterior, nuevo)) {
+                Long cargoId = (Long) fila[3];
+                cambios.add(new HistorialSalario((Long) fila[0], anterior, nuevo, cargoId, cargoId,
+                        ahora, HistorialSalario.AJUSTE_MASIVO));
             }
-            log.error("Error al activar empleado ID {}: {}", id, e.getMessage());
-            throw new RuntimeException("Error al activar empleado", e);
+        }
+        AuditoriaSalarios.publicar(cambios);
+    }
+
+    private static double masaSalarialActiva(EntityManager em) {
+        return em.createQuery("SELECT COALESCE(SUM(e.salarioActual), 0.0) FROM Empleado e WHERE e.activo = true",
+                        Double.class)
+                .getSingleResult();
+    }
+
+    private int cambiarEstadoMasivo(Collection<Long> ids, boolean activo) {
+        // Solo se cuentan (y notifican) las filas que realmente cambian de estado
+        int cambiados = porBloques(ids, (em, bloque) -> em.createQuery(
+                        "UPDATE Empleado e SET e.activo = :activo, e.version = e.version + 1 " +
+                                "WHERE e.id IN :ids AND (e.activo IS NULL OR e.activo <> :activo)")
+                .setParameter("activo", activo)
+                .setParameter("ids", bloque)
+                .executeUpdate());
+
+        log.info("Empleados {} en bloque: {}", activo ? "activados" : "desactivados", cambiados);
+        notificarMasiva(OperacionMasiva.porIds(tipoEstado(activo), ids), cambiados);
+        return cambiados;
+    }
+
+    private int cambiarEstadoPorCargo(Long cargoId, boolean activo) {
+        int cambiados = UnidadDeTrabajo.ejecutar(em -> {
+            em.flush();
+            int filas = em.createQuery(
+                            "UPDATE Empleado e SET e.activo = :activo, e.version = e.version + 1 " +
+                                    "WHERE e.cargo.id = :cargoId AND (e.activo IS NULL OR e.activo <> :activo)")
+                    .setParameter("activo", activo)
+                    .setParameter("cargoId", cargoId)
+                    .executeUpdate();
+            descartarEstado(em);
+            return filas;
+        });
+
+        log.info("Empleados del cargo ID {} {}: {}", cargoId, activo ? "activados" : "desactivados", cambiados);
+        notificarMasiva(OperacionMasiva.porCargo(tipoEstado(activo), cargoId), cambiados);
+        return cambiados;
+    }
+
+    /**
+     * Ejecuta la sentencia por bloques de ids dentro de una misma transacción y suma las filas afectadas
+     */
+    private static int porBloques(Collection<Long> ids, BiFunction<EntityManager, List<Long>, Integer> sentencia) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> distintos = List.copyOf(new LinkedHashSet<>(ids));
+        return UnidadDeTrabajo.ejecutar(em -> {
+            em.flush();
+            int afectados = 0;
+            for (int desde = 0; desde < distintos.size(); desde += TAMANO_BLOQUE_IDS) {
+                afectados += sentencia.apply(em,
+                        distintos.subList(desde, Math.min(desde + TAMANO_BLOQUE_IDS, distintos.size())));
+            }
+            descartarEstado(em);
+            return afectados;
+        });
+    }
+
+    /**
+     * Las sentencias masivas no pasan por el contexto de persistencia: se descartan las
+     * entidades ya cargadas y la caché de segundo nivel de empleados para no leer datos viejos
+     */
+    private static void descartarEstado(EntityManager em) {
+        em.clear();
+        em.getEntityManagerFactory().getCache().evict(Empleado.class);
+    }
+
+    private static OperacionMasiva.Tipo tipoEstado(boolean activo) {
+        return activo ? OperacionMasiva.Tipo.ACTIVAR : OperacionMasiva.Tipo.DESACTIVAR;
+    }
+
+    private void notificarMasiva(OperacionMasiva operacion, int afectados) {
+        if (afectados > 0) {
+            UnidadDeTrabajo.alConfirmar(() -> observadores.forEach(o -> o.operacionMasiva(operacion, afectados)));
         }
     }
 
     @Override
     public long contar() {
         try {
-            TypedQuery<Long> query = entityManager.createQuery(
-                    "SELECT COUNT(e) FROM Empleado e", Long.class);
-            return query.getSingleResult();
+            return UnidadDeTrabajo.consultar(em -> em.createQuery(
+                    "SELECT COUNT(e) FROM Empleado e", Long.class)
+                    .getSingleResult());
         } catch (Exception e) {
             log.error("Error al contar empleados: {}", e.getMessage());
             return 0;
@@ -231,9 +663,9 @@ public class EmpleadoDAO implements IEmpleado {
     @Override
     public long contarActivos() {
         try {
-            TypedQuery<Long> query = entityManager.createQuery(
-                    "SELECT COUNT(e) FROM Empleado e WHERE e.activo = true", Long.class);
-            return query.getSingleResult();
+            return UnidadDeTrabajo.consultar(em -> em.createQuery(
+                    "SELECT COUNT(e) FROM Empleado e WHERE e.activo = true", Long.class)
+                    .getSingleResult());
         } catch (Exception e) {
             log.error("Error al contar empleados activos: {}", e.getMessage());
             return 0;
@@ -243,14 +675,56 @@ public class EmpleadoDAO implements IEmpleado {
     @Override
     public long contarInactivos() {
         try {
-            TypedQuery<Long> query = entityManager.createQuery(
-                    "SELECT COUNT(e) FROM Empleado e WHERE e.activo = false", Long.class);
-            return query.getSingleResult();
+            return UnidadDeTrabajo.consultar(em -> em.createQuery(
+                    "SELECT COUNT(e) FROM Empleado e WHERE e.activo = false", Long.class)
+                    .getSingleResult());
         } catch (Exception e) {
             log.error("Error al contar empleados inactivos: {}", e.getMessage());
             return 0;
         }
     }
 
+    @Override
+    public long contarPorCargo(Long cargoId) {
+        try {
+            return UnidadDeTrabajo.consultar(em -> em.createQuery(
+                    "SELECT COUNT(e) FROM Empleado e WHERE e.cargo.id = :cargoId", Long.class)
+                    .setParameter("cargoId", cargoId)
+                    .getSingleResult());
+        } catch (Exception e) {
+            log.error("Error al contar empleados del cargo ID {}: {}", cargoId, e.getMessage());
+            throw new RuntimeException("Error al contar empleados por cargo", e);
+        }
+    }
+
+    @Override
+    public EstadisticasSistema calcularEstadisticas() {
+        try {
+            Object[] fila = UnidadDeTrabajo.consultar(em -> em.createQuery(
+                    "SELECT COUNT(e), " +
+                            "COALESCE(SUM(CASE WHEN e.activo = true THEN 1 ELSE 0 END), 0), " +
+                            "COALESCE(SUM(CASE WHEN e.activo = false THEN 1 ELSE 0 END), 0), " +
+                            "(SELECT COUNT(c) FROM Cargo c) " +
+                            "FROM Empleado e", Object[].class)
+                    .getSingleResult());
+            return new EstadisticasSistema(
+                    ((Number) fila[0]).longValue(), ((Number) fila[1]).longValue(),
+                    ((Number) fila[2]).longValue(), ((Number) fila[3]).longValue());
+        } catch (Exception e) {
+            log.error("Error al calcular estadísticas: {}", e.getMessage());
+            throw new RuntimeException("Error al calcular estadísticas", e);
+        }
+    }
 
-}
\ No newline at end of file
+    /**
+     * Un guardar que cambia {@code activo} también se notifica como cambio de estado,
+     * igual que activar y desactivar
+     */
+    private void notificarGuardado(Empleado empleado, boolean nuevo, Boolean activoAnterior) {
+        observadores.forEach(o -> o.empleadoGuardado(empleado, nuevo));
+        if (activoAnterior != null && !activoAnterior.equals(empleado.getActivo())) {
+            boolean activo = Boolean.TRUE.equals(empleado.getActivo());
+            observadores.forEach(o -> o.estadoCambiado(empleado, activo));
+        }
+    }
+}
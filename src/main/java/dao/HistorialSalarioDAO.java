@@ -0,0 +1,94 @@
+package dao;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import models.HistorialSalario;
+import util.UnidadDeTrabajo;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Acceso al historial de salarios. Las consultas por empleado y fecha se resuelven con
+ * el índice (empleado_id, vigente_desde, id) de {@link HistorialSalario}.
+ */
+@Slf4j
+public class HistorialSalarioDAO implements IHistorialSalario {
+
+    /** Igual a hibernate.jdbc.batch_size: se vacía el contexto tras cada lote JDBC */
+    private static final int TAMANO_LOTE_JDBC = 50;
+
+    @Override
+    public int guardarTodos(Collection<HistorialSalario> registros) {
+        try {
+            return UnidadDeTrabajo.ejecutar(em -> {
+                int guardados = 0;
+                for (HistorialSalario registro : registros) {
+                    em.persist(registro);
+                    if (++guardados % TAMANO_LOTE_JDBC == 0) {
+                        em.flush();
+                        em.clear();
+                    }
+                }
+                return guardados;
+            });
+        } catch (Exception e) {
+            log.error("Error al guardar {} registros de historial de salarios: {}", registros.size(), e.getMessage());
+            throw new RuntimeException("Error al guardar el historial de salarios", e);
+        }
+    }
+
+    @Override
+    public List<HistorialSalario> buscarPorEmpleado(Long empleadoId) {
+        try {
+            return UnidadDeTrabajo.consultar(em -> em.createQuery(
+                            "SELECT h FROM HistorialSalario h WHERE h.empleadoId = :empleadoId " +
+                                    "ORDER BY h.vigenteDesde, h.id", HistorialSalario.class)
+                    .setParameter("empleadoId", empleadoId)
+                    .getResultList());
+        } catch (Exception e) {
+            log.error("Error al buscar historial del empleado ID {}: {}", empleadoId, e.getMessage());
+            throw new RuntimeException("Error al buscar historial de salarios", e);
+        }
+    }
+
+    @Override
+    public Optional<HistorialSalario> buscarVigenteEn(Long empleadoId, LocalDate fecha) {
+        try {
+            return UnidadDeTrabajo.consultar(em -> primero(em,
+                    "SELECT h FROM HistorialSalario h WHERE h.empleadoId = :empleadoId AND h.vigenteDesde < :limite " +
+                            "ORDER BY h.vigenteDesde DESC, h.id DESC", empleadoId, fecha));
+        } catch (Exception e) {
+            log.error("Error al buscar salario vigente del empleado ID {} al {}: {}", empleadoId, fecha, e.getMessage());
+            throw new RuntimeException("Error al buscar salario vigente", e);
+        }
+    }
+
+    @Override
+    public Optional<HistorialSalario> buscarPrimeroDespuesDe(Long empleadoId, LocalDate fecha) {
+        try {
+            return UnidadDeTrabajo.consultar(em -> primero(em,
+                    "SELECT h FROM HistorialSalario h WHERE h.empleadoId = :empleadoId AND h.vigenteDesde >= :limite " +
+                            "ORDER BY h.vigenteDesde, h.id", empleadoId, fecha));
+        } catch (Exception e) {
+            log.error("Error al buscar historial del empleado ID {} posterior al {}: {}", empleadoId, fecha, e.getMessage());
+            throw new RuntimeException("Error al buscar historial de salarios", e);
+        }
+    }
+
+    /**
+     * El límite es el inicio del día siguiente, para incluir todo el día indicado
+     */
+    private static Optional<HistorialSalario> primero(EntityManager em, String jpql, Long empleadoId, LocalDate fecha) {
+        LocalDateTime limite = fecha.plusDays(1).atStartOfDay();
+        return em.createQuery(jpql, HistorialSalario.class)
+                .setParameter("empleadoId", empleadoId)
+                .setParameter("limite", limite)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -1,6 +1,8 @@
 package dao;
 
 import models.Cargo;
+import models.ResumenCargo;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +12,12 @@ public interface ICargo {
      */
     Cargo guardar(Cargo cargo);
 
+    /**
+     * Guarda o actualiza una colección de cargos en transacciones por lotes.
+     * Retorna la cantidad de cargos guardados.
+     */
+    int guardarTodos(Collection<Cargo> cargos);
+
     /**
      * Busca un cargo por su ID
      */
@@ -26,7 +34,13 @@ public interface ICargo {
     List<Cargo> buscarTodos();
 
     /**
-     * Busca cargos cuyo nombre contenga el texto proporcionado
+     * Retorna todos los cargos ordenados por nombre junto con su cantidad de
+     * empleados (total, activos, inactivos) y suma de salarios, en una sola consulta
+     */
+    List<ResumenCargo> buscarResumenes();
+
+    /**
+     * Busca cargos cuyo nombre contenga el texto proporcionado, sin distinguir mayúsculas ni acentos
      */
     List<Cargo> buscarPorNombre(String nombre);
 
@@ -0,0 +1,64 @@
+package dao;
+
+import models.EmpleadoResumen;
+import java.util.List;
+
+/**
+ * Consultas de solo lectura sobre empleados que retornan proyecciones
+ * {@link EmpleadoResumen} en lugar de entidades.
+ */
+public interface IConsultaEmpleados {
+
+    /**
+     * Retorna todos los empleados ordenados por apellidos y nombres
+     */
+    List<EmpleadoResumen> listarTodos();
+
+    /**
+     * Retorna solo empleados activos
+     */
+    List<EmpleadoResumen> listarActivos();
+
+    /**
+     * Retorna empleados inactivos
+     */
+    List<EmpleadoResumen> listarInactivos();
+
+    /**
+     * Retorna los empleados de un cargo
+     */
+    List<EmpleadoResumen> listarPorCargo(Long cargoId);
+
+    /**
+     * Busca empleados cuyo nombre o apellido empiece por cada palabra del texto, sin
+     * distinguir mayúsculas ni acentos, ordenados por relevancia (máximo 500)
+     */
+    List<EmpleadoResumen> buscarPorNombre(String nombre);
+
+    /**
+     * Página de todos los empleados a partir del cursor (null para la primera página)
+     */
+    Pagina<EmpleadoResumen> listarTodos(CursorEmpleado desde, int tamano);
+
+    /**
+     * Página de empleados activos
+     */
+    Pagina<EmpleadoResumen> listarActivos(CursorEmpleado desde, int tamano);
+
+    /**
+     * Página de empleados inactivos
+     */
+    Pagina<EmpleadoResumen> listarInactivos(CursorEmpleado desde, int tamano);
+
+    /**
+     * Página de empleados de un cargo
+     */
+    Pagina<EmpleadoResumen> listarPorCargo(Long cargoId, CursorEmpleado desde, int tamano);
+
+    /**
+     * Página de los empleados que coinciden con la búsqueda por nombre, por relevancia y
+     * sin límite de resultados; en orden alfabético si el índice de texto completo no
+     * está disponible
+     */
+    Pagina<EmpleadoResumen> buscarPorNombre(String nombre, CursorEmpleado desde, int tamano);
+}
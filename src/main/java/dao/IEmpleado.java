@@ -2,8 +2,13 @@
 package dao;
 
 import models.Empleado;
+import models.EstadisticasSistema;
+import models.ReglaAjusteSalarial;
+import models.ResultadoAjusteSalarial;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IEmpleado {
 
@@ -12,6 +17,13 @@ public interface IEmpleado {
      */
     Empleado guardar(Empleado empleado);
 
+    /**
+     * Guarda o actualiza una colección de empleados en transacciones por lotes
+     * con inserciones JDBC agrupadas. Los lotes ya confirmados no se revierten
+     * si falla uno posterior. Retorna la cantidad de empleados guardados.
+     */
+    int guardarTodos(Collection<Empleado> empleados);
+
     /**
      * Busca un empleado por su ID
      */
@@ -23,44 +35,69 @@ public interface IEmpleado {
     Optional<Empleado> buscarPorIdentificacion(String numeroIdentificacion);
 
     /**
-     * Retorna todos los empleados ordenados por apellidos y nombres
+     * Recorre todos los empleados, con su cargo ya cargado, mediante un cursor JDBC
+     * de solo avance. El contexto de persistencia se vacía cada {@code tamanoFetch}
+     * filas, por lo que el consumidor no debe retener las entidades recibidas. Una
+     * UncheckedIOException del consumidor se propaga sin envolver.
+     * Retorna la cantidad de empleados recorridos.
      */
-    List<Empleado> buscarTodos();
+    long recorrerTodos(int tamanoFetch, Consumer<Empleado> consumidor);
 
     /**
-     * Busca empleados por cargo
+     * Elimina un empleado por su ID
      */
-    List<Empleado> buscarPorCargo(Long cargoId);
+    boolean eliminar(Long id);
 
     /**
-     * Busca empleados cuyo nombre o apellido contenga el texto
+     * Desactiva un empleado (borrado lógico)
      */
-    List<Empleado> buscarPorNombre(String nombre);
+    boolean desactivar(Long id);
 
     /**
-     * Retorna solo empleados activos
+     * Reactiva un empleado
      */
-    List<Empleado> buscarActivos();
+    boolean activar(Long id);
 
     /**
-     * Retorna empleados inactivos
+     * Desactiva los empleados indicados con un UPDATE por cada bloque de ids.
+     * Retorna cuántos cambiaron de estado
      */
-    List<Empleado> buscarInactivos();
+    int desactivarTodos(Collection<Long> ids);
 
     /**
-     * Elimina un empleado por su ID
+     * Activa los empleados indicados con un UPDATE por cada bloque de ids.
+     * Retorna cuántos cambiaron de estado
      */
-    boolean eliminar(Long id);
+    int activarTodos(Collection<Long> ids);
 
     /**
-     * Desactiva un empleado (borrado lógico)
+     * Elimina los empleados indicados con un DELETE por cada bloque de ids.
+     * Retorna cuántos se eliminaron
      */
-    boolean desactivar(Long id);
+    int eliminarTodos(Collection<Long> ids);
 
     /**
-     * Reactiva un empleado
+     * Desactiva todos los empleados de un cargo con un único UPDATE
      */
-    boolean activar(Long id);
+    int desactivarPorCargo(Long cargoId);
+
+    /**
+     * Activa todos los empleados de un cargo con un único UPDATE
+     */
+    int activarPorCargo(Long cargoId);
+
+    /**
+     * Elimina todos los empleados de un cargo con un único DELETE
+     */
+    int eliminarPorCargo(Long cargoId);
+
+    /**
+     * Aplica las reglas con un único UPDATE por regla, en una sola transacción. Cada
+     * empleado recibe solo la primera regla que lo alcanza, así que los aumentos de
+     * reglas superpuestas no se componen. En modo simulación solo se calcula el costo
+     * con un SELECT agregado por regla, sin escribir ni bloquear filas.
+     */
+    ResultadoAjusteSalarial ajustarSalarios(List<ReglaAjusteSalarial> reglas, boolean simulacion);
 
     /**
      * Cuenta el total de empleados
@@ -76,4 +113,14 @@ public interface IEmpleado {
      * Cuenta empleados inactivos
      */
     long contarInactivos();
-}
\ No newline at end of file
+
+    /**
+     * Cuenta los empleados de un cargo
+     */
+    long contarPorCargo(Long cargoId);
+
+    /**
+     * Calcula todos los contadores del sistema en una sola consulta agregada
+     */
+    EstadisticasSistema calcularEstadisticas();
+}
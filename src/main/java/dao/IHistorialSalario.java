@@ -0,0 +1,32 @@
+package dao;
+
+import models.HistorialSalario;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IHistorialSalario {
+
+    /**
+     * Inserta los registros en una sola transacción con inserciones JDBC agrupadas.
+     * Retorna la cantidad de registros insertados
+     */
+    int guardarTodos(Collection<HistorialSalario> registros);
+
+    /**
+     * Historial completo de un empleado, del cambio más antiguo al más reciente
+     */
+    List<HistorialSalario> buscarPorEmpleado(Long empleadoId);
+
+    /**
+     * Último cambio del empleado registrado hasta el final del día indicado
+     */
+    Optional<HistorialSalario> buscarVigenteEn(Long empleadoId, LocalDate fecha);
+
+    /**
+     * Primer cambio del empleado registrado después del día indicado
+     */
+    Optional<HistorialSalario> buscarPrimeroDespuesDe(Long empleadoId, LocalDate fecha);
+}
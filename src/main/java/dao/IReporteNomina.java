@@ -0,0 +1,19 @@
+package dao;
+
+import models.ResumenNomina;
+
+import java.util.List;
+
+/**
+ * Reportes de nómina agregados en la base de datos: se transfiere una fila por grupo,
+ * no una por empleado.
+ */
+public interface IReporteNomina {
+
+    /**
+     * Total, promedio, mínimo y máximo de salarios, cantidad de empleados y diferencia con
+     * el salario base del cargo, por grupo y en el orden del grupo. Con {@code soloActivos}
+     * se excluyen los empleados inactivos
+     */
+    List<ResumenNomina> resumir(ResumenNomina.Agrupacion agrupacion, boolean soloActivos);
+}
@@ -0,0 +1,273 @@
+package dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Índice de texto completo sobre nombre y apellido de los empleados.
+ * <ul>
+ *   <li>SQLite: tabla virtual FTS5 {@code empleados_fts} con contenido externo,
+ *   sincronizada con {@code empleados} mediante triggers y sin diacríticos.</li>
+ *   <li>PostgreSQL: columna generada {@code busqueda} de tipo tsvector con índice GIN,
+ *   sin acentos gracias a la extensión unaccent.</li>
+ * </ul>
+ * Los términos se buscan por prefijo y todos deben aparecer; los resultados se ordenan
+ * por relevancia (bm25 / ts_rank). El esquema se prepara una vez por EntityManagerFactory
+ * en el primer uso; si la base no lo soporta, los DAOs vuelven a LIKE.
+ * <p>
+ * Solo debe recibir EntityManagers del primario ({@code UnidadDeTrabajo.consultarEnPrimario}):
+ * el DDL se ejecuta en la base del EntityManager, y las réplicas SQLite son copias
+ * tomadas al arrancar, antes de que exista el índice.
+ */
+@Slf4j
+final class IndiceTextoCompleto {
+
+    /** Máximo de ids devueltos por búsqueda */
+    static final int LIMITE_RESULTADOS = 500;
+
+    private static final String BUSQUEDA_SQLITE =
+            "SELECT rowid FROM empleados_fts WHERE empleados_fts MATCH ?1 " +
+                    "ORDER BY bm25(empleados_fts) LIMIT ?2";
+
+    private static final String BUSQUEDA_POSTGRES =
+            "SELECT id FROM empleados WHERE busqueda @@ to_tsquery('simple', ?1) " +
+                    "ORDER BY ts_rank(busqueda, to_tsquery('simple', ?1)) DESC, apellido, nombre LIMIT ?2";
+
+    /** bm25 es negativo y menor cuanto más relevante: se pagina en orden ascendente */
+    private static final String PAGINA_SQLITE =
+            "SELECT rowid, rank FROM empleados_fts WHERE empleados_fts MATCH ?1 %s ORDER BY rank, rowid LIMIT ?2";
+
+    private static final String CURSOR_SQLITE = "AND (rank > ?3 OR (rank = ?3 AND rowid > ?4))";
+
+    private static final String PAGINA_POSTGRES =
+            "SELECT id, rango FROM (SELECT id, ts_rank(busqueda, to_tsquery('simple', ?1))::float8 AS rango " +
+                    "FROM empleados WHERE busqueda @@ to_tsquery('simple', ?1)) r %s ORDER BY rango DESC, id LIMIT ?2";
+
+    private static final String CURSOR_POSTGRES = "WHERE rango < ?3 OR (rango = ?3 AND id > ?4)";
+
+    private enum Motor {
+        SQLITE, POSTGRES, NO_DISPONIBLE
+    }
+
+    /** Motor de cada EntityManagerFactory ya preparada; leerlo no toma ningún bloqueo */
+    private static final Map<EntityManagerFactory, Motor> preparados = new ConcurrentHashMap<>();
+
+    /**
+     * Empleado que coincide con la búsqueda y su puntaje en el motor (bm25 en SQLite,
+     * ts_rank en PostgreSQL); el puntaje solo sirve para el cursor de la página siguiente
+     */
+    record Coincidencia(Long id, double relevancia) {
+    }
+
+    private IndiceTextoCompleto() {
+    }
+
+    /**
+     * Ids de los empleados que coinciden con el texto, ordenados por relevancia.
+     * Retorna vacío si el índice no está disponible o el texto no tiene términos;
+     * en ese caso el llamador debe usar la búsqueda con LIKE.
+     */
+    static Optional<List<Long>> buscarIds(EntityManager entityManager, String texto) {
+        List<String> terminos = terminos(texto);
+        Motor motor = terminos.isEmpty() ? Motor.NO_DISPONIBLE : preparar(entityManager);
+        if (motor == Motor.NO_DISPONIBLE) {
+            return Optional.empty();
+        }
+
+        List<?> filas = entityManager.createNativeQuery(motor == Motor.SQLITE ? BUSQUEDA_SQLITE : BUSQUEDA_POSTGRES)
+                .setParameter(1, consulta(motor, terminos))
+                .setParameter(2, LIMITE_RESULTADOS)
+                .getResultList();
+        List<Long> ids = new ArrayList<>(filas.size());
+        for (Object fila : filas) {
+            ids.add(((Number) fila).longValue());
+        }
+        return Optional.of(ids);
+    }
+
+    /**
+     * Hasta {@code limite} coincidencias ordenadas por relevancia y luego por id, a partir
+     * de la última entregada ({@code desde}, null para la primera página). Vacío si el
+     * índice no está disponible o el texto no tiene términos.
+     * <p>
+     * El puntaje depende de las estadísticas del índice: si la tabla cambia entre una
+     * página y otra, una coincidencia puede repetirse o saltarse.
+     */
+    static Optional<List<Coincidencia>> buscarPagina(EntityManager entityManager, String texto,
+                                                     Coincidencia desde, int limite) {
+        List<String> terminos = terminos(texto);
+        Motor motor = terminos.isEmpty() ? Motor.NO_DISPONIBLE : preparar(entityManager);
+        if (motor == Motor.NO_DISPONIBLE) {
+            return Optional.empty();
+        }
+
+        boolean sqlite = motor == Motor.SQLITE;
+        String cursor = desde == null ? "" : sqlite ? CURSOR_SQLITE : CURSOR_POSTGRES;
+        var query = entityManager.createNativeQuery(String.format(sqlite ? PAGINA_SQLITE : PAGINA_POSTGRES, cursor))
+                .setParameter(1, consulta(motor, terminos))
+                .setParameter(2, limite);
+        if (desde != null) {
+            query.setParameter(3, desde.relevancia()).setParameter(4, desde.id());
+        }
+
+        List<?> filas = query.getResultList();
+        List<Coincidencia> coincidencias = new ArrayList<>(filas.size());
+        for (Object fila : filas) {
+            Object[] columnas = (Object[]) fila;
+            coincidencias.add(new Coincidencia(((Number) columnas[0]).longValue(),
+                    ((Number) columnas[1]).doubleValue()));
+        }
+        return Optional.of(coincidencias);
+    }
+
+    private static String consulta(Motor motor, List<String> terminos) {
+        return motor == Motor.SQLITE
+                ? terminos.stream().map(t -> "\"" + t + "\"*").collect(Collectors.joining(" "))
+                : terminos.stream().map(t -> t + ":*").collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Ordena los elementos según la posición de su id en la lista de ids
+     */
+    static <T> List<T> ordenarComo(Collection<T> elementos, List<Long> ids, Function<T, Long> id) {
+        Map<Long, Integer> posiciones = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            posiciones.put(ids.get(i), i);
+        }
+        List<T> ordenados = new ArrayList<>(elementos);
+        ordenados.sort(Comparator.comparingInt(e -> posiciones.getOrDefault(id.apply(e), Integer.MAX_VALUE)));
+        return ordenados;
+    }
+
+    /**
+     * Minúsculas, sin acentos y separado en palabras (solo letras y dígitos)
+     */
+    static List<String> terminos(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        String normalizado = normalizar(texto);
+        return Arrays.stream(normalizado.split("[^\\p{L}\\p{N}]+"))
+                .filter(t -> !t.isEmpty())
+                .toList();
+    }
+
+    static String normalizar(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * El DDL corre una sola vez por factory; las búsquedas siguientes solo leen el mapa
+     */
+    private static Motor preparar(EntityManager entityManager) {
+        EntityManagerFactory factory = entityManager.getEntityManagerFactory();
+        Motor motor = preparados.get(factory);
+        if (motor != null) {
+            return motor;
+        }
+        // Las factories cerradas por una reconfiguración no vuelven a usarse
+        preparados.keySet().removeIf(anterior -> !anterior.isOpen());
+        return preparados.computeIfAbsent(factory, IndiceTextoCompleto::crearEsquema);
+    }
+
+    private static Motor crearEsquema(EntityManagerFactory factory) {
+        // EntityManager propio y sin transacción: cada sentencia DDL se confirma sola y
+        // un fallo no afecta la transacción del llamador
+        EntityManager entityManager = factory.createEntityManager();
+        try {
+            Motor motor = entityManager.unwrap(Session.class).doReturningWork(conexion -> {
+                if (conexion.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("sqlite")) {
+                    prepararSqlite(conexion);
+                    return Motor.SQLITE;
+                }
+                prepararPostgres(conexion);
+                return Motor.POSTGRES;
+            });
+            log.info("Índice de texto completo de empleados disponible ({})",
+                    motor == Motor.SQLITE ? "FTS5" : "tsvector");
+            return motor;
+        } catch (Exception e) {
+            log.warn("Índice de texto completo no disponible, se usará LIKE: {}", e.getMessage());
+            return Motor.NO_DISPONIBLE;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static void prepararSqlite(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            boolean existia;
+            try (ResultSet resultado = statement.executeQuery(
+                    "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'empleados_fts'")) {
+                existia = resultado.next();
+            }
+
+            statement.execute("CREATE VIRTUAL TABLE IF NOT EXISTS empleados_fts USING fts5(" +
+                    "nombre, apellido, content = 'empleados', content_rowid = 'id', " +
+                    "tokenize = 'unicode61 remove_diacritics 2')");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS empleados_fts_insertar AFTER INSERT ON empleados BEGIN " +
+                    "INSERT INTO empleados_fts(rowid, nombre, apellido) VALUES (new.id, new.nombre, new.apellido); END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS empleados_fts_eliminar AFTER DELETE ON empleados BEGIN " +
+                    "INSERT INTO empleados_fts(empleados_fts, rowid, nombre, apellido) " +
+                    "VALUES ('delete', old.id, old.nombre, old.apellido); END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS empleados_fts_actualizar " +
+                    "AFTER UPDATE OF nombre, apellido ON empleados BEGIN " +
+                    "INSERT INTO empleados_fts(empleados_fts, rowid, nombre, apellido) " +
+                    "VALUES ('delete', old.id, old.nombre, old.apellido); " +
+                    "INSERT INTO empleados_fts(rowid, nombre, apellido) VALUES (new.id, new.nombre, new.apellido); END");
+
+            if (!existia) {
+                // Indexa las filas que ya existían antes de crear los triggers
+                statement.execute("INSERT INTO empleados_fts(empleados_fts) VALUES ('rebuild')");
+            }
+        }
+    }
+
+    private static void prepararPostgres(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            try {
+                statement.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            } catch (SQLException e) {
+                log.warn("No se pudo crear la extensión unaccent: {}", e.getMessage());
+            }
+
+            boolean unaccent;
+            try (ResultSet resultado = statement.executeQuery(
+                    "SELECT 1 FROM pg_extension WHERE extname = 'unaccent'")) {
+                unaccent = resultado.next();
+            }
+
+            // Las columnas generadas exigen funciones IMMUTABLE, y unaccent() no lo es
+            statement.execute("CREATE OR REPLACE FUNCTION empleados_normalizar(texto text) RETURNS text " +
+                    "LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$ SELECT lower(" +
+                    (unaccent ? "public.unaccent('public.unaccent'::regdictionary, texto)" : "texto") +
+                    ") $$");
+            statement.execute("ALTER TABLE empleados ADD COLUMN IF NOT EXISTS busqueda tsvector " +
+                    "GENERATED ALWAYS AS (to_tsvector('simple', empleados_normalizar(" +
+                    "coalesce(nombre, '') || ' ' || coalesce(apellido, '')))) STORED");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_empleados_busqueda ON empleados USING GIN (busqueda)");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package dao;
+
+import models.Cargo;
+
+/**
+ * Recibe las escrituras confirmadas por {@link CargoDAO}. Se invoca después del
+ * commit y en el hilo que realizó la escritura, por lo que debe ser rápido.
+ */
+public interface ObservadorCargos {
+
+    default void cargoGuardado(Cargo cargo, boolean nuevo) {
+    }
+
+    default void cargoEliminado(Cargo cargo) {
+    }
+}
@@ -0,0 +1,27 @@
+package dao;
+
+import models.Empleado;
+
+/**
+ * Recibe las escrituras confirmadas por {@link EmpleadoDAO}. Se invoca después del
+ * commit y en el hilo que realizó la escritura, por lo que debe ser rápido. Un guardar
+ * que cambia {@code activo} llega también como {@link #estadoCambiado}.
+ */
+public interface ObservadorEmpleados {
+
+    default void empleadoGuardado(Empleado empleado, boolean nuevo) {
+    }
+
+    default void empleadoEliminado(Empleado empleado) {
+    }
+
+    default void estadoCambiado(Empleado empleado, boolean activo) {
+    }
+
+    /**
+     * Activación, desactivación o eliminación masiva; {@code afectados} es la cantidad
+     * de filas modificadas (en activar/desactivar, solo las que cambiaron de estado)
+     */
+    default void operacionMasiva(OperacionMasiva operacion, int afectados) {
+    }
+}
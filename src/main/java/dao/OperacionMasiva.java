@@ -0,0 +1,44 @@
+package dao;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cambio aplicado con UPDATE o DELETE masivos, sobre una lista de ids o sobre todos
+ * los empleados de un cargo. Las entidades afectadas no se cargan, así que los
+ * observadores reciben la operación en lugar de cada empleado; los ajustes salariales
+ * traen además el salario nuevo de cada empleado ajustado.
+ */
+public record OperacionMasiva(Tipo tipo, Set<Long> ids, Long cargoId, Map<Long, Double> salarios) {
+
+    public enum Tipo {
+        ACTIVAR, DESACTIVAR, ELIMINAR, AJUSTAR_SALARIOS
+    }
+
+    public static OperacionMasiva porIds(Tipo tipo, Collection<Long> ids) {
+        return new OperacionMasiva(tipo, Set.copyOf(ids), null, Map.of());
+    }
+
+    public static OperacionMasiva porCargo(Tipo tipo, Long cargoId) {
+        return new OperacionMasiva(tipo, Set.of(), cargoId, Map.of());
+    }
+
+    /**
+     * Ajuste salarial con el salario resultante de cada empleado que alcanzó
+     */
+    public static OperacionMasiva ajusteSalarial(Map<Long, Double> salarios) {
+        return new OperacionMasiva(Tipo.AJUSTAR_SALARIOS, Set.copyOf(salarios.keySet()), null,
+                Map.copyOf(salarios));
+    }
+
+    /**
+     * Indica si la operación alcanza al empleado con ese id y cargo
+     */
+    public boolean incluye(Long empleadoId, Long cargoEmpleado) {
+        if (cargoId != null) {
+            return cargoId.equals(cargoEmpleado);
+        }
+        return ids.contains(empleadoId);
+    }
+}
@@ -0,0 +1,14 @@
+package dao;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una consulta paginada por clave (keyset).
+ * {@code siguiente} es el cursor para pedir la página siguiente, o null si es la última.
+ */
+public record Pagina<T>(List<T> elementos, CursorEmpleado siguiente) {
+
+    public boolean tieneSiguiente() {
+        return siguiente != null;
+    }
+}
@@ -0,0 +1,76 @@
+package dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Construye consultas paginadas por clave sobre el alias {@code e} de Empleado.
+ * En lugar de OFFSET se busca a partir de (apellido, nombre, id) del último
+ * elemento entregado, de modo que el costo de cada página no depende de su posición.
+ */
+final class PaginacionKeyset {
+
+    /**
+     * La cota inicial sobre apellido es redundante, pero da a PostgreSQL un límite de rango
+     * para buscar en el índice; con solo el OR expandido recorre el índice y filtra
+     */
+    private static final String CONDICION_CURSOR =
+            "(e.apellido >= :cApellido AND (e.apellido > :cApellido OR (e.apellido = :cApellido AND " +
+                    "(e.nombre > :cNombre OR (e.nombre = :cNombre AND e.id > :cId)))))";
+
+    private static final String ORDEN = " ORDER BY e.apellido, e.nombre, e.id";
+
+    private PaginacionKeyset() {
+    }
+
+    /**
+     * @param select     cláusula SELECT ... FROM ... que define el alias {@code e}
+     * @param filtro     condición adicional (sin WHERE) o null
+     * @param parametros parámetros usados por el filtro
+     * @param cursor     posición de inicio, o null para la primera página
+     * @param tamano     cantidad máxima de elementos de la página
+     * @param aCursor    obtiene el cursor de un elemento de la página
+     */
+    static <T> Pagina<T> paginar(EntityManager entityManager, String select, String filtro,
+                                 Map<String, Object> parametros, CursorEmpleado cursor, int tamano,
+                                 Class<T> tipo, Function<T, CursorEmpleado> aCursor) {
+        if (tamano <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo: " + tamano);
+        }
+
+        StringBuilder jpql = new StringBuilder(select);
+        List<String> condiciones = new ArrayList<>(2);
+        if (filtro != null) {
+            condiciones.add(filtro);
+        }
+        if (cursor != null) {
+            condiciones.add(CONDICION_CURSOR);
+        }
+        if (!condiciones.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", condiciones));
+        }
+        jpql.append(ORDEN);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), tipo);
+        parametros.forEach(query::setParameter);
+        if (cursor != null) {
+            query.setParameter("cApellido", cursor.apellido());
+            query.setParameter("cNombre", cursor.nombre());
+            query.setParameter("cId", cursor.id());
+        }
+        // Un elemento extra indica si existe una página siguiente sin hacer COUNT
+        query.setMaxResults(tamano + 1);
+
+        List<T> resultados = query.getResultList();
+        if (resultados.size() <= tamano) {
+            return new Pagina<>(resultados, null);
+        }
+        List<T> elementos = new ArrayList<>(resultados.subList(0, tamano));
+        return new Pagina<>(elementos, aCursor.apply(elementos.getLast()));
+    }
+}
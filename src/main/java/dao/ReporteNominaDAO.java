@@ -0,0 +1,154 @@
+package dao;
+
+import models.ResumenNomina;
+import util.UnidadDeTrabajo;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cada reporte es una sola consulta agregada con GROUP BY. Los promedios se calculan
+ * aquí a partir de sumas y conteos para poder combinar filas del mismo grupo. En SQLite
+ * las fechas se guardan como milisegundos, que YEAR() no interpreta, así que el año de
+ * contratación se calcula con strftime sobre los segundos.
+ */
+@Slf4j
+public class ReporteNominaDAO implements IReporteNomina {
+
+    private static final String AGREGADOS =
+            "COUNT(e), COUNT(e.salarioActual), SUM(e.salarioActual), MIN(e.salarioActual), MAX(e.salarioActual), " +
+                    "SUM(e.salarioActual - c.salarioBase), MIN(e.salarioActual - c.salarioBase), " +
+                    "MAX(e.salarioActual - c.salarioBase), COUNT(e.salarioActual - c.salarioBase)";
+
+    /**
+     * Las fechas son la medianoche local: se llevan al mediodía local antes de tomar el
+     * año, así que un cambio de horario no las corre al día anterior
+     */
+    private static final long MEDIODIA_SEGUNDOS = 12 * 60 * 60;
+
+    /**
+     * Agregados parciales de un grupo; se combinan cuando varias filas caen en el mismo grupo
+     */
+    private static final class Acumulado {
+        private long empleados;
+        private long conSalario;
+        private long conDiferencia;
+        private double total;
+        private double totalDiferencia;
+        private Double minimo;
+        private Double maximo;
+        private Double diferenciaMinima;
+        private Double diferenciaMaxima;
+
+        private void sumar(Object[] fila, int desde) {
+            empleados += ((Number) fila[desde]).longValue();
+            conSalario += ((Number) fila[desde + 1]).longValue();
+            total += valor(fila[desde + 2], 0.0);
+            minimo = menor(minimo, (Number) fila[desde + 3]);
+            maximo = mayor(maximo, (Number) fila[desde + 4]);
+            totalDiferencia += valor(fila[desde + 5], 0.0);
+            diferenciaMinima = menor(diferenciaMinima, (Number) fila[desde + 6]);
+            diferenciaMaxima = mayor(diferenciaMaxima, (Number) fila[desde + 7]);
+            conDiferencia += ((Number) fila[desde + 8]).longValue();
+        }
+
+        private ResumenNomina resumen(String grupo) {
+            return new ResumenNomina(grupo, empleados, total,
+                    conSalario == 0 ? null : total / conSalario,
+                    minimo, maximo,
+                    conDiferencia == 0 ? null : totalDiferencia / conDiferencia,
+                    diferenciaMinima, diferenciaMaxima);
+        }
+
+        private static double valor(Object numero, double defecto) {
+            return numero == null ? defecto : ((Number) numero).doubleValue();
+        }
+
+        private static Double menor(Double actual, Number nuevo) {
+            if (nuevo == null) {
+                return actual;
+            }
+            double valor = nuevo.doubleValue();
+            return actual == null ? valor : Math.min(actual, valor);
+        }
+
+        private static Double mayor(Double actual, Number nuevo) {
+            if (nuevo == null) {
+                return actual;
+            }
+            double valor = nuevo.doubleValue();
+            return actual == null ? valor : Math.max(actual, valor);
+        }
+    }
+
+    @Override
+    public List<ResumenNomina> resumir(ResumenNomina.Agrupacion agrupacion, boolean soloActivos) {
+        try {
+            return UnidadDeTrabajo.consultar(em -> {
+                String clave = clave(agrupacion, esSQLite(em));
+                StringBuilder jpql = new StringBuilder("SELECT ")
+                        .append(clave != null ? clave + ", " : "").append(AGREGADOS)
+                        .append(" FROM Empleado e JOIN e.cargo c");
+                if (soloActivos) {
+                    jpql.append(" WHERE e.activo = true");
+                }
+                if (clave != null) {
+                    jpql.append(" GROUP BY ").append(clave).append(" ORDER BY ").append(clave);
+                }
+
+                Map<String, Acumulado> grupos = new LinkedHashMap<>();
+                for (Object[] fila : em.createQuery(jpql.toString(), Object[].class).getResultList()) {
+                    String grupo = clave != null ? etiqueta(agrupacion, fila[0]) : "Total";
+                    grupos.computeIfAbsent(grupo, g -> new Acumulado()).sumar(fila, clave != null ? 1 : 0);
+                }
+
+                List<ResumenNomina> resumenes = new ArrayList<>(grupos.size());
+                grupos.forEach((grupo, acumulado) -> resumenes.add(acumulado.resumen(grupo)));
+                return resumenes;
+            });
+        } catch (Exception e) {
+            log.error("Error al resumir la nómina por {}: {}", agrupacion, e.getMessage());
+            throw new RuntimeException("Error al obtener el resumen de nómina", e);
+        }
+    }
+
+    /**
+     * Expresión de agrupación; null para una sola fila total
+     */
+    private static String clave(ResumenNomina.Agrupacion agrupacion, boolean sqlite) {
+        return switch (agrupacion) {
+            case TOTAL -> null;
+            case CARGO -> "c.nombre";
+            case NIVEL -> "c.nivel";
+            case ANIO_CONTRATACION -> sqlite ? anioSQLite() : "YEAR(e.fechaContratacion)";
+            case ESTADO -> "e.activo";
+        };
+    }
+
+    private static String anioSQLite() {
+        long desfase = ZoneId.systemDefault().getRules().getOffset(Instant.now()).getTotalSeconds()
+                + MEDIODIA_SEGUNDOS;
+        return "FUNCTION('strftime', '%Y', CAST(e.fechaContratacion AS Long) / 1000 + " + desfase + ", 'unixepoch')";
+    }
+
+    private static String etiqueta(ResumenNomina.Agrupacion agrupacion, Object valor) {
+        return switch (agrupacion) {
+            case NIVEL -> valor != null ? valor.toString() : "Sin nivel";
+            case ANIO_CONTRATACION -> valor == null ? "Sin fecha" : valor.toString();
+            case ESTADO -> Boolean.TRUE.equals(valor) ? "Activos" : "Inactivos";
+            default -> String.valueOf(valor);
+        };
+    }
+
+    private static boolean esSQLite(EntityManager em) {
+        return em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof SQLiteDialect;
+    }
+}
@@ -0,0 +1,77 @@
+package models;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Listener de {@link Empleado} que genera un {@link HistorialSalario} en cada alta y en
+ * cada cambio de salario o de cargo. No escribe nada: entrega las filas al destino
+ * registrado (el escritor en segundo plano del servicio) y, si no hay ninguno, el
+ * historial está desactivado.
+ * <p>
+ * Las actualizaciones masivas con JPQL no pasan por los listeners; quien las ejecuta
+ * publica sus cambios con {@link #publicar(List)}.
+ */
+public class AuditoriaSalarios {
+
+    private static volatile Consumer<List<HistorialSalario>> destino;
+
+    public static void registrarDestino(Consumer<List<HistorialSalario>> nuevoDestino) {
+        destino = nuevoDestino;
+    }
+
+    public static void quitarDestino(Consumer<List<HistorialSalario>> anterior) {
+        if (destino == anterior) {
+            destino = null;
+        }
+    }
+
+    public static boolean activa() {
+        return destino != null;
+    }
+
+    public static void publicar(List<HistorialSalario> cambios) {
+        Consumer<List<HistorialSalario>> actual = destino;
+        if (actual != null && !cambios.isEmpty()) {
+            actual.accept(cambios);
+        }
+    }
+
+    @PostLoad
+    void alCargar(Empleado empleado) {
+        empleado.recordarEstadoAuditado();
+    }
+
+    @PostPersist
+    void alCrear(Empleado empleado) {
+        publicar(List.of(new HistorialSalario(empleado.getId(), null, empleado.getSalarioActual(),
+                null, cargoId(empleado), LocalDateTime.now(), HistorialSalario.ALTA)));
+        empleado.recordarEstadoAuditado();
+    }
+
+    @PostUpdate
+    void alActualizar(Empleado empleado) {
+        Double salarioAnterior = empleado.getSalarioAuditado();
+        Long cargoAnterior = empleado.getCargoIdAuditado();
+        if (Objects.equals(salarioAnterior, empleado.getSalarioActual())
+                && Objects.equals(cargoAnterior, cargoId(empleado))) {
+            return;
+        }
+        publicar(List.of(new HistorialSalario(empleado.getId(), salarioAnterior, empleado.getSalarioActual(),
+                cargoAnterior, cargoId(empleado), LocalDateTime.now(), HistorialSalario.ACTUALIZACION)));
+        empleado.recordarEstadoAuditado();
+    }
+
+    /**
+     * El id de un proxy de cargo se lee sin inicializarlo
+     */
+    private static Long cargoId(Empleado empleado) {
+        return empleado.getCargo() != null ? empleado.getCargo().getId() : null;
+    }
+}
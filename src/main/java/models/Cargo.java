@@ -2,19 +2,31 @@ package models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OptimisticLock;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "cargos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Cargo.REGION_CACHE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Cargo {
 
+    public static final String REGION_CACHE = "cargos";
+    public static final String REGION_CACHE_CONSULTAS = "catalogo-cargos";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cargos_gen")
+    @TableGenerator(name = "cargos_gen", table = "secuencias_id",
+            pkColumnName = "entidad", valueColumnName = "siguiente_valor",
+            pkColumnValue = "cargos", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -30,7 +42,14 @@ public class Cargo {
     @Column(name = "nivel", length = 50)
     private String nivel;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Contratar o mover empleados no cambia la versión del cargo
     @OneToMany(mappedBy = "cargo", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OptimisticLock(excluded = true)
     @ToString.Exclude
     private List<Empleado> empleados = new ArrayList<>();
 
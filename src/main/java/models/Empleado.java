@@ -2,10 +2,18 @@ package models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "empleados")
+@EntityListeners(AuditoriaSalarios.class)
+// Índices alineados con los accesos de EmpleadoDAO: filtro por estado o cargo y orden
+// por (apellido, nombre, id), que es también la clave de la paginación por keyset
+@Table(name = "empleados", indexes = {
+        @Index(name = "idx_empleados_activo_apellido", columnList = "activo, apellido, nombre, id"),
+        @Index(name = "idx_empleados_cargo_apellido", columnList = "cargo_id, apellido, nombre, id"),
+        @Index(name = "idx_empleados_apellido_nombre", columnList = "apellido, nombre, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,7 +21,11 @@ import java.time.LocalDate;
 public class Empleado {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids por tabla de secuencias (PostgreSQL y SQLite): IDENTITY impide el batching de INSERTs
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "empleados_gen")
+    @TableGenerator(name = "empleados_gen", table = "secuencias_id",
+            pkColumnName = "entidad", valueColumnName = "siguiente_valor",
+            pkColumnValue = "empleados", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -42,11 +54,32 @@ public class Empleado {
     @Column(name = "activo")
     private Boolean activo = true;
 
+    // Concurrencia optimista: cada UPDATE verifica e incrementa la versión, también los
+    // masivos de EmpleadoDAO. El valor por defecto cubre las filas existentes al agregar la columna
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cargo_id", nullable = false)
     @ToString.Exclude
     private Cargo cargo;
 
+    // Salario y cargo tal como se leyeron o se guardaron por última vez, para que
+    // AuditoriaSalarios detecte los cambios; no se persisten
+    @Transient
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private Double salarioAuditado;
+
+    @Transient
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private Long cargoIdAuditado;
+
     // Constructor personalizado sin ID
     public Empleado(String num_empleado,
                     String nombre,
@@ -80,4 +113,9 @@ public class Empleado {
     public void activar() {
         this.activo = true;
     }
+
+    void recordarEstadoAuditado() {
+        this.salarioAuditado = salarioActual;
+        this.cargoIdAuditado = cargo != null ? cargo.getId() : null;
+    }
 }
\ No newline at end of file
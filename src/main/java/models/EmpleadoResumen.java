@@ -0,0 +1,37 @@
+package models;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección inmutable de un empleado con el nombre y nivel de su cargo, para
+ * listados y búsquedas de solo lectura. Se construye con una única consulta con
+ * JOIN, sin entidades administradas ni asociaciones perezosas.
+ */
+public record EmpleadoResumen(Long id,
+                              String numEmpleado,
+                              String nombre,
+                              String apellido,
+                              String email,
+                              String telefono,
+                              LocalDate fechaContratacion,
+                              Double salarioActual,
+                              Boolean activo,
+                              Long cargoId,
+                              String cargoNombre,
+                              String cargoNivel) {
+
+    /**
+     * Resumen de una entidad ya cargada; el cargo se pasa aparte porque en la
+     * entidad puede ser un proxy sin inicializar
+     */
+    public static EmpleadoResumen de(Empleado empleado, Cargo cargo) {
+        return new EmpleadoResumen(empleado.getId(), empleado.getNum_empleado(), empleado.getNombre(),
+                empleado.getApellido(), empleado.getEmail(), empleado.getTelefono(),
+                empleado.getFechaContratacion(), empleado.getSalarioActual(), empleado.getActivo(),
+                cargo.getId(), cargo.getNombre(), cargo.getNivel());
+    }
+
+    public String nombreCompleto() {
+        return nombre + " " + apellido;
+    }
+}
@@ -0,0 +1,10 @@
+package models;
+
+/**
+ * Instantánea de los contadores globales del sistema.
+ */
+public record EstadisticasSistema(long totalEmpleados,
+                                  long empleadosActivos,
+                                  long empleadosInactivos,
+                                  long totalCargos) {
+}
@@ -0,0 +1,71 @@
+package models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de salario o de cargo de un empleado. La tabla solo recibe inserciones: las
+ * filas las genera {@link AuditoriaSalarios} y las escribe por lotes un escritor en
+ * segundo plano.
+ */
+@Entity
+@Immutable
+// empleado_id no es clave foránea: el historial se conserva aunque el empleado se
+// elimine, también con los DELETE masivos de EmpleadoDAO. El índice sirve tanto el
+// historial de un empleado como el salario vigente a una fecha
+@Table(name = "historial_salarios", indexes = {
+        @Index(name = "idx_historial_empleado_fecha", columnList = "empleado_id, vigente_desde, id")
+})
+@Getter
+@ToString
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class HistorialSalario {
+
+    public static final String ALTA = "ALTA";
+    public static final String ACTUALIZACION = "ACTUALIZACION";
+    public static final String AJUSTE_MASIVO = "AJUSTE_MASIVO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "historial_gen")
+    @TableGenerator(name = "historial_gen", table = "secuencias_id",
+            pkColumnName = "entidad", valueColumnName = "siguiente_valor",
+            pkColumnValue = "historial_salarios", allocationSize = 50)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "empleado_id", nullable = false)
+    private Long empleadoId;
+
+    @Column(name = "salario_anterior")
+    private Double salarioAnterior;
+
+    @Column(name = "salario_nuevo")
+    private Double salarioNuevo;
+
+    @Column(name = "cargo_anterior_id")
+    private Long cargoAnteriorId;
+
+    @Column(name = "cargo_nuevo_id")
+    private Long cargoNuevoId;
+
+    @Column(name = "vigente_desde", nullable = false)
+    private LocalDateTime vigenteDesde;
+
+    @Column(name = "motivo", nullable = false, length = 20)
+    private String motivo;
+
+    public HistorialSalario(Long empleadoId, Double salarioAnterior, Double salarioNuevo,
+                            Long cargoAnteriorId, Long cargoNuevoId, LocalDateTime vigenteDesde, String motivo) {
+        this.empleadoId = empleadoId;
+        this.salarioAnterior = salarioAnterior;
+        this.salarioNuevo = salarioNuevo;
+        this.cargoAnteriorId = cargoAnteriorId;
+        this.cargoNuevoId = cargoNuevoId;
+        this.vigenteDesde = vigenteDesde;
+        this.motivo = motivo;
+    }
+}
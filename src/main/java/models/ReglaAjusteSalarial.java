@@ -0,0 +1,54 @@
+package models;
+
+import java.time.LocalDate;
+
+/**
+ * Regla de un ajuste salarial masivo sobre los empleados activos. Los filtros nulos no
+ * restringen, así que una regla sin filtros alcanza a toda la plantilla activa. El
+ * salario resultante nunca queda por debajo del salario base del cargo. Si varias reglas
+ * alcanzan al mismo empleado, solo se le aplica la primera.
+ *
+ * @param valor           porcentaje (5 = +5 %) o monto que se suma al salario, según el tipo
+ * @param contratadoDesde fecha de contratación mínima (inclusive)
+ * @param contratadoHasta fecha de contratación máxima (inclusive)
+ */
+public record ReglaAjusteSalarial(TipoAjuste tipo,
+                                  double valor,
+                                  Long cargoId,
+                                  String nivel,
+                                  LocalDate contratadoDesde,
+                                  LocalDate contratadoHasta) {
+
+    public enum TipoAjuste {
+        PORCENTAJE, MONTO_FIJO
+    }
+
+    public ReglaAjusteSalarial {
+        if (tipo == null) {
+            throw new IllegalArgumentException("El tipo de ajuste es obligatorio");
+        }
+        if (tipo == TipoAjuste.PORCENTAJE && valor <= -100) {
+            throw new IllegalArgumentException("Un ajuste porcentual no puede ser de -100 % o menos: " + valor);
+        }
+    }
+
+    public static ReglaAjusteSalarial porcentaje(double porcentaje) {
+        return new ReglaAjusteSalarial(TipoAjuste.PORCENTAJE, porcentaje, null, null, null, null);
+    }
+
+    public static ReglaAjusteSalarial montoFijo(double monto) {
+        return new ReglaAjusteSalarial(TipoAjuste.MONTO_FIJO, monto, null, null, null, null);
+    }
+
+    public ReglaAjusteSalarial paraCargo(Long cargoId) {
+        return new ReglaAjusteSalarial(tipo, valor, cargoId, nivel, contratadoDesde, contratadoHasta);
+    }
+
+    public ReglaAjusteSalarial paraNivel(String nivel) {
+        return new ReglaAjusteSalarial(tipo, valor, cargoId, nivel, contratadoDesde, contratadoHasta);
+    }
+
+    public ReglaAjusteSalarial contratadosEntre(LocalDate desde, LocalDate hasta) {
+        return new ReglaAjusteSalarial(tipo, valor, cargoId, nivel, desde, hasta);
+    }
+}
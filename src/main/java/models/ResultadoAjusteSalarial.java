@@ -0,0 +1,27 @@
+package models;
+
+import java.util.List;
+
+/**
+ * Resultado de un ajuste salarial masivo (aplicado o simulado) sobre la plantilla activa.
+ *
+ * @param ajustesPorRegla     empleados alcanzados por cada regla, en el orden de las reglas
+ * @param masaSalarialAnterior suma de los salarios de los empleados activos antes del ajuste
+ * @param masaSalarialNueva   suma de los salarios de los empleados activos después del ajuste
+ */
+public record ResultadoAjusteSalarial(boolean simulacion,
+                                      List<Integer> ajustesPorRegla,
+                                      double masaSalarialAnterior,
+                                      double masaSalarialNueva) {
+
+    /**
+     * Costo adicional del ajuste por período de pago
+     */
+    public double diferencia() {
+        return masaSalarialNueva - masaSalarialAnterior;
+    }
+
+    public double porcentajeIncremento() {
+        return masaSalarialAnterior == 0 ? 0 : diferencia() / masaSalarialAnterior * 100;
+    }
+}
@@ -0,0 +1,16 @@
+package models;
+
+/**
+ * Proyección de un cargo con su plantilla agregada: total, activos e inactivos
+ * y la suma de los salarios actuales de sus empleados.
+ */
+public record ResumenCargo(Long id,
+                           String nombre,
+                           String descripcion,
+                           String nivel,
+                           Double salarioBase,
+                           Long totalEmpleados,
+                           Long empleadosActivos,
+                           Long empleadosInactivos,
+                           Double sumaSalarios) {
+}
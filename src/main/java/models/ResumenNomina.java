@@ -0,0 +1,36 @@
+package models;
+
+/**
+ * Agregados de salario de un grupo de empleados, calculados en la base de datos. Los
+ * promedios, mínimos y máximos consideran solo a los empleados con salario; la
+ * diferencia es la del salario actual respecto al salario base del cargo.
+ *
+ * @param grupo              valor del grupo: nombre del cargo, nivel, año de contratación o estado
+ * @param empleados          empleados del grupo
+ * @param totalSalarios      suma de los salarios actuales
+ * @param salarioPromedio    salario actual promedio
+ * @param salarioMinimo      salario actual más bajo
+ * @param salarioMaximo      salario actual más alto
+ * @param diferenciaPromedio diferencia promedio con el salario base del cargo
+ * @param diferenciaMinima   diferencia más baja (negativa si alguien gana menos que la base)
+ * @param diferenciaMaxima   diferencia más alta
+ */
+public record ResumenNomina(String grupo,
+                            long empleados,
+                            double totalSalarios,
+                            Double salarioPromedio,
+                            Double salarioMinimo,
+                            Double salarioMaximo,
+                            Double diferenciaPromedio,
+                            Double diferenciaMinima,
+                            Double diferenciaMaxima) {
+
+    public enum Agrupacion {
+        /** Una sola fila con toda la nómina */
+        TOTAL,
+        CARGO,
+        NIVEL,
+        ANIO_CONTRATACION,
+        ESTADO
+    }
+}
@@ -0,0 +1,140 @@
+package service;
+
+import dao.IEmpleado;
+import dao.ObservadorCargos;
+import dao.ObservadorEmpleados;
+import dao.OperacionMasiva;
+import models.Cargo;
+import models.Empleado;
+import models.EstadisticasSistema;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantiene en memoria los contadores globales del sistema. Se cargan con una única
+ * consulta agregada, se actualizan de forma incremental con las escrituras de los
+ * DAOs y se recalculan periódicamente para corregir cualquier desvío (por ejemplo,
+ * cambios hechos fuera de esta aplicación).
+ */
+@Slf4j
+public class ContadorEstadisticas implements ObservadorEmpleados, ObservadorCargos {
+
+    private static final long MINUTOS_RECALCULO = 5;
+
+    private final AtomicLong totalEmpleados = new AtomicLong();
+    private final AtomicLong empleadosActivos = new AtomicLong();
+    private final AtomicLong empleadosInactivos = new AtomicLong();
+    private final AtomicLong totalCargos = new AtomicLong();
+
+    private final IEmpleado empleadoDAO;
+    private final ScheduledExecutorService programador;
+
+    public ContadorEstadisticas(IEmpleado empleadoDAO) {
+        this.empleadoDAO = empleadoDAO;
+        this.programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "recalculo-estadisticas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Carga los contadores y programa el recálculo periódico
+     */
+    public void iniciar() {
+        recalcular();
+        programador.scheduleWithFixedDelay(this::recalcularSinFallar,
+                MINUTOS_RECALCULO, MINUTOS_RECALCULO, TimeUnit.MINUTES);
+    }
+
+    public EstadisticasSistema instantanea() {
+        return new EstadisticasSistema(totalEmpleados.get(), empleadosActivos.get(),
+                empleadosInactivos.get(), totalCargos.get());
+    }
+
+    /**
+     * Recalcula todos los contadores con una consulta agregada
+     */
+    public void recalcular() {
+        EstadisticasSistema estadisticas = empleadoDAO.calcularEstadisticas();
+        totalEmpleados.set(estadisticas.totalEmpleados());
+        empleadosActivos.set(estadisticas.empleadosActivos());
+        empleadosInactivos.set(estadisticas.empleadosInactivos());
+        totalCargos.set(estadisticas.totalCargos());
+        log.debug("Estadísticas recalculadas: {}", estadisticas);
+    }
+
+    public void cerrar() {
+        programador.shutdownNow();
+    }
+
+    private void recalcularSinFallar() {
+        try {
+            recalcular();
+        } catch (Exception e) {
+            log.warn("No se pudieron recalcular las estadísticas: {}", e.getMessage());
+        }
+    }
+
+    // ===== ACTUALIZACIÓN INCREMENTAL =====
+
+    @Override
+    public void empleadoGuardado(Empleado empleado, boolean nuevo) {
+        if (nuevo) {
+            totalEmpleados.incrementAndGet();
+            (Boolean.FALSE.equals(empleado.getActivo()) ? empleadosInactivos : empleadosActivos).incrementAndGet();
+        }
+    }
+
+    @Override
+    public void empleadoEliminado(Empleado empleado) {
+        totalEmpleados.decrementAndGet();
+        (Boolean.FALSE.equals(empleado.getActivo()) ? empleadosInactivos : empleadosActivos).decrementAndGet();
+    }
+
+    @Override
+    public void estadoCambiado(Empleado empleado, boolean activo) {
+        if (activo) {
+            empleadosInactivos.decrementAndGet();
+            empleadosActivos.incrementAndGet();
+        } else {
+            empleadosActivos.decrementAndGet();
+            empleadosInactivos.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void operacionMasiva(OperacionMasiva operacion, int afectados) {
+        switch (operacion.tipo()) {
+            case ACTIVAR -> {
+                empleadosInactivos.addAndGet(-afectados);
+                empleadosActivos.addAndGet(afectados);
+            }
+            case DESACTIVAR -> {
+                empleadosActivos.addAndGet(-afectados);
+                empleadosInactivos.addAndGet(afectados);
+            }
+            // No se sabe cuántos de los eliminados estaban activos
+            case ELIMINAR -> recalcularSinFallar();
+            // Los salarios no forman parte de los contadores
+            case AJUSTAR_SALARIOS -> {
+            }
+        }
+    }
+
+    @Override
+    public void cargoGuardado(Cargo cargo, boolean nuevo) {
+        if (nuevo) {
+            totalCargos.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void cargoEliminado(Cargo cargo) {
+        totalCargos.decrementAndGet();
+    }
+}
@@ -0,0 +1,237 @@
+package service;
+
+import dao.IHistorialSalario;
+import lombok.extern.slf4j.Slf4j;
+import models.AuditoriaSalarios;
+import models.HistorialSalario;
+import util.UnidadDeTrabajo;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Escribe el historial de salarios fuera del camino de las escrituras: los cambios que
+ * publica {@link AuditoriaSalarios} se encolan en memoria al confirmarse su transacción
+ * y un hilo en segundo plano los inserta por lotes. Quien actualiza un empleado solo
+ * paga el encolado; solo espera si la cola está llena.
+ * <p>
+ * Un lote que sigue fallando tras {@link #INTENTOS} intentos no se descarta: queda
+ * retenido y el hilo lo reintenta cada {@link #ESPERA_REINTENTO_MS} ms. {@link #cerrar()}
+ * escribe todo lo pendiente y lanza una excepción si algo queda sin escribir.
+ */
+@Slf4j
+public class EscritorHistorial {
+
+    private static final int TAMANO_LOTE = 500;
+    private static final int CAPACIDAD_COLA = 100_000;
+    private static final long ESPERA_LOTE_MS = 200;
+    private static final int INTENTOS = 3;
+    private static final long ESPERA_REINTENTO_MS = 5_000;
+    private static final long ESPERA_CIERRE_SEGUNDOS = 30;
+
+    private final IHistorialSalario historialDAO;
+    private final BlockingQueue<HistorialSalario> cola = new LinkedBlockingQueue<>(CAPACIDAD_COLA);
+    private final Deque<List<HistorialSalario>> fallidos = new ConcurrentLinkedDeque<>();
+    private final Consumer<List<HistorialSalario>> destino = this::encolar;
+    private final Thread hilo;
+
+    private final AtomicLong encolados = new AtomicLong();
+    private final AtomicLong procesados = new AtomicLong();
+    private final LongAdder escritos = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+    private final Object avance = new Object();
+    private volatile boolean cerrado;
+    private volatile long proximoReintento;
+
+    public EscritorHistorial(IHistorialSalario historialDAO) {
+        this.historialDAO = historialDAO;
+        this.hilo = Thread.ofPlatform().name("escritor-historial").daemon(true).start(this::ejecutar);
+        AuditoriaSalarios.registrarDestino(destino);
+    }
+
+    /**
+     * Encola los cambios cuando se confirme la transacción en curso del hilo (de
+     * inmediato si no hay ninguna); si la transacción se revierte, se descartan
+     */
+    public void encolar(List<HistorialSalario> cambios) {
+        UnidadDeTrabajo.alConfirmar(() -> {
+            for (HistorialSalario cambio : cambios) {
+                encolados.incrementAndGet();
+                if (!cola.offer(cambio) && !esperarEspacio(cambio)) {
+                    procesados.incrementAndGet();
+                    descartados.increment();
+                    log.warn("Cambio de salario del empleado ID {} descartado: interrumpido esperando espacio en la cola",
+                            cambio.getEmpleadoId());
+                }
+            }
+        });
+    }
+
+    private boolean esperarEspacio(HistorialSalario cambio) {
+        try {
+            cola.put(cambio);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Espera a que esté procesado todo lo encolado hasta ahora; lo que siga en la cola se
+     * escribe en el hilo que llama. Los lotes que fallaron siguen retenidos para reintento
+     */
+    public void vaciar() {
+        long objetivo = encolados.get();
+        escribirPendientes();
+        synchronized (avance) {
+            while (procesados.get() < objetivo) {
+                try {
+                    avance.wait(ESPERA_LOTE_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        if (!fallidos.isEmpty()) {
+            log.warn("Historial de salarios incompleto: {} registros retenidos a la espera de reintento",
+                    retenidos());
+        }
+    }
+
+    /**
+     * Registros encolados o retenidos tras un fallo que aún no se escribieron
+     */
+    public int pendientes() {
+        return cola.size() + retenidos();
+    }
+
+    /**
+     * Deja de recibir cambios y escribe los pendientes. Lanza IllegalStateException si el
+     * hilo no termina a tiempo o si quedan registros sin escribir
+     */
+    public void cerrar() {
+        AuditoriaSalarios.quitarDestino(destino);
+        cerrado = true;
+        try {
+            hilo.join(TimeUnit.SECONDS.toMillis(ESPERA_CIERRE_SEGUNDOS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (hilo.isAlive()) {
+            log.error("El escritor de historial no terminó en {} s; quedan {} registros sin escribir",
+                    ESPERA_CIERRE_SEGUNDOS, pendientes());
+            throw new IllegalStateException("El escritor de historial no terminó en "
+                    + ESPERA_CIERRE_SEGUNDOS + " s; quedan " + pendientes() + " registros sin escribir");
+        }
+
+        // Lo que llegó después de que el hilo saliera, y un último intento con lo retenido
+        escribirPendientes();
+        reintentarFallidos();
+        int sinEscribir = pendientes();
+        log.info("Historial de salarios cerrado: {} registros escritos, {} descartados, {} sin escribir",
+                escritos.sum(), descartados.sum(), sinEscribir);
+        if (sinEscribir > 0) {
+            throw new IllegalStateException("No se pudieron escribir " + sinEscribir
+                    + " registros de historial de salarios");
+        }
+    }
+
+    private void ejecutar() {
+        List<HistorialSalario> lote = new ArrayList<>(TAMANO_LOTE);
+        while (!cerrado || !cola.isEmpty()) {
+            try {
+                if (!fallidos.isEmpty() && System.currentTimeMillis() >= proximoReintento) {
+                    reintentarFallidos();
+                }
+                HistorialSalario primero = cola.poll(ESPERA_LOTE_MS, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, TAMANO_LOTE - 1);
+                escribir(lote);
+            } catch (InterruptedException e) {
+                log.debug("Escritor de historial interrumpido; se sigue hasta vaciar la cola");
+            } finally {
+                lote.clear();
+            }
+        }
+        reintentarFallidos();
+    }
+
+    private void escribirPendientes() {
+        List<HistorialSalario> lote = new ArrayList<>(TAMANO_LOTE);
+        while (cola.drainTo(lote, TAMANO_LOTE) > 0) {
+            escribir(lote);
+            lote.clear();
+        }
+    }
+
+    private void escribir(List<HistorialSalario> lote) {
+        try {
+            for (int intento = 1; ; intento++) {
+                try {
+                    escritos.add(historialDAO.guardarTodos(lote));
+                    return;
+                } catch (RuntimeException e) {
+                    if (intento == INTENTOS) {
+                        fallidos.add(List.copyOf(lote));
+                        log.error("No se pudieron escribir {} registros de historial de salarios tras {} intentos; "
+                                + "se reintentarán más tarde: {}", lote.size(), INTENTOS, e.getMessage());
+                        return;
+                    }
+                    log.warn("Error al escribir historial de salarios (intento {} de {}): {}",
+                            intento, INTENTOS, e.getMessage());
+                    dormir(ESPERA_LOTE_MS * intento);
+                }
+            }
+        } finally {
+            procesados.addAndGet(lote.size());
+            synchronized (avance) {
+                avance.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Un intento por lote retenido, en orden; al primer fallo se espera
+     * {@link #ESPERA_REINTENTO_MS} antes de volver a probar
+     */
+    private synchronized void reintentarFallidos() {
+        List<HistorialSalario> lote;
+        while ((lote = fallidos.peek()) != null) {
+            try {
+                escritos.add(historialDAO.guardarTodos(lote));
+                fallidos.poll();
+                log.info("Escritos {} registros de historial de salarios retenidos tras un fallo", lote.size());
+            } catch (RuntimeException e) {
+                proximoReintento = System.currentTimeMillis() + ESPERA_REINTENTO_MS;
+                log.warn("Error al reintentar {} registros de historial de salarios retenidos: {}",
+                        lote.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private int retenidos() {
+        return fallidos.stream().mapToInt(List::size).sum();
+    }
+
+    private static void dormir(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package service;
+
+import dao.IEmpleado;
+import models.Empleado;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exporta todos los empleados a un archivo CSV o JSON Lines en memoria constante:
+ * las filas se leen con el cursor de {@link IEmpleado#recorrerTodos} y se escriben
+ * una a una a través de un canal de archivo con búfer.
+ */
+@Slf4j
+public class ExportadorEmpleados {
+
+    public enum Formato { CSV, JSON_LINES }
+
+    private static final int TAMANO_FETCH = 500;
+    private static final int TAMANO_BUFER = 64 * 1024;
+
+    private static final String ENCABEZADO_CSV =
+            "id,num_empleado,nombre,apellido,email,telefono,fecha_contratacion,salario_actual,activo,cargo_id,cargo";
+
+    private final IEmpleado empleadoDAO;
+
+    public ExportadorEmpleados(IEmpleado empleadoDAO) {
+        this.empleadoDAO = empleadoDAO;
+    }
+
+    /**
+     * Escribe todos los empleados en {@code destino}, reemplazando su contenido.
+     * Retorna la cantidad de empleados exportados.
+     */
+    public long exportar(Path destino, Formato formato) {
+        long inicio = System.nanoTime();
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer salida = new BufferedWriter(
+                     Channels.newWriter(canal, StandardCharsets.UTF_8), TAMANO_BUFER)) {
+
+            if (formato == Formato.CSV) {
+                salida.write(ENCABEZADO_CSV);
+                salida.write('\n');
+            }
+
+            long exportados = empleadoDAO.recorrerTodos(TAMANO_FETCH, empleado -> {
+                try {
+                    if (formato == Formato.CSV) {
+                        escribirCsv(salida, empleado);
+                    } else {
+                        escribirJson(salida, empleado);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            log.info("Exportados {} empleados a {} ({}) en {} ms", exportados, destino, formato,
+                    (System.nanoTime() - inicio) / 1_000_000);
+            return exportados;
+
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Error al exportar empleados a {}: {}", destino, e.getMessage());
+            throw new RuntimeException("Error al exportar empleados", e);
+        }
+    }
+
+    private static void escribirCsv(Writer salida, Empleado e) throws IOException {
+        salida.write(String.valueOf(e.getId()));
+        salida.write(',');
+        campoCsv(salida, e.getNum_empleado());
+        salida.write(',');
+        campoCsv(salida, e.getNombre());
+        salida.write(',');
+        campoCsv(salida, e.getApellido());
+        salida.write(',');
+        campoCsv(salida, e.getEmail());
+        salida.write(',');
+        campoCsv(salida, e.getTelefono());
+        salida.write(',');
+        campoCsv(salida, e.getFechaContratacion() == null ? null : e.getFechaContratacion().toString());
+        salida.write(',');
+        campoCsv(salida, e.getSalarioActual() == null ? null : e.getSalarioActual().toString());
+        salida.write(',');
+        salida.write(String.valueOf(e.getActivo()));
+        salida.write(',');
+        salida.write(String.valueOf(e.getCargo().getId()));
+        salida.write(',');
+        campoCsv(salida, e.getCargo().getNombre());
+        salida.write('\n');
+    }
+
+    private static void campoCsv(Writer salida, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        boolean entrecomillar = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!entrecomillar) {
+            salida.write(valor);
+            return;
+        }
+        salida.write('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                salida.write('"');
+            }
+            salida.write(c);
+        }
+        salida.write('"');
+    }
+
+    private static void escribirJson(Writer salida, Empleado e) throws IOException {
+        salida.write("{\"id\":");
+        salida.write(String.valueOf(e.getId()));
+        salida.write(",\"num_empleado\":");
+        cadenaJson(salida, e.getNum_empleado());
+        salida.write(",\"nombre\":");
+        cadenaJson(salida, e.getNombre());
+        salida.write(",\"apellido\":");
+        cadenaJson(salida, e.getApellido());
+        salida.write(",\"email\":");
+        cadenaJson(salida, e.getEmail());
+        salida.write(",\"telefono\":");
+        cadenaJson(salida, e.getTelefono());
+        salida.write(",\"fecha_contratacion\":");
+        cadenaJson(salida, e.getFechaContratacion() == null ? null : e.getFechaContratacion().toString());
+        salida.write(",\"salario_actual\":");
+        salida.write(String.valueOf(e.getSalarioActual()));
+        salida.write(",\"activo\":");
+        salida.write(String.valueOf(e.getActivo()));
+        salida.write(",\"cargo_id\":");
+        salida.write(String.valueOf(e.getCargo().getId()));
+        salida.write(",\"cargo\":");
+        cadenaJson(salida, e.getCargo().getNombre());
+        salida.write("}\n");
+    }
+
+    private static void cadenaJson(Writer salida, String valor) throws IOException {
+        if (valor == null) {
+            salida.write("null");
+            return;
+        }
+        salida.write('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> salida.write("\\\"");
+                case '\\' -> salida.write("\\\\");
+                case '\n' -> salida.write("\\n");
+                case '\r' -> salida.write("\\r");
+                case '\t' -> salida.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        salida.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        salida.write(c);
+                    }
+                }
+            }
+        }
+        salida.write('"');
+    }
+}
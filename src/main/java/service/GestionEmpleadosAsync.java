@@ -0,0 +1,428 @@
+package service;
+
+import dao.CursorEmpleado;
+import dao.Pagina;
+import lombok.extern.slf4j.Slf4j;
+import models.Cargo;
+import models.Empleado;
+import models.EmpleadoResumen;
+import models.EstadisticasSistema;
+import models.ReglaAjusteSalarial;
+import models.ResultadoAjusteSalarial;
+import models.ResumenCargo;
+import models.ResumenNomina;
+import util.JPAUtil;
+import util.SesionLectura;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fachada asíncrona de {@link GestionEmpleadosService}. Cada operación se ejecuta en un
+ * hilo virtual propio y retorna un {@link CompletableFuture}, de modo que consultas
+ * independientes pueden lanzarse a la vez y combinarse.
+ * <p>
+ * Las operaciones en vuelo se limitan con un semáforo al tamaño del pool de conexiones
+ * menos una (el generador de ids de SQLite usa una conexión aparte); las demás esperan
+ * un permiso sin ocupar conexión. Con {@link #conPlazo(Duration)} se obtiene una vista
+ * cuyas operaciones fallan con {@link TimeoutException} al vencer el plazo.
+ * <p>
+ * Cancelar un futuro (o que venza su plazo) interrumpe su hilo: si aún esperaba permiso o
+ * conexión, la operación no llega a ejecutarse y su transacción se revierte; una sentencia
+ * JDBC ya enviada termina en la base, pero su resultado se descarta.
+ * <p>
+ * Las transacciones explícitas (beginTransaction/commitTransaction) están ligadas al hilo
+ * que las abre y no tienen equivalente aquí; para agrupar operaciones en una sola
+ * transacción usar {@link #enTransaccion(Function)}.
+ */
+@Slf4j
+public class GestionEmpleadosAsync {
+
+    private final GestionEmpleadosService servicio;
+    private final ExecutorService hilos;
+    private final Semaphore permisos;
+    private final int maximoEnVuelo;
+    private final Duration plazo;
+    private final SesionLectura sesion;
+
+    /**
+     * Limita las operaciones en vuelo según el pool de la base activa
+     */
+    public GestionEmpleadosAsync(GestionEmpleadosService servicio) {
+        this(servicio, Math.max(1, JPAUtil.getConfiguracionPool().maximo() - 1));
+    }
+
+    public GestionEmpleadosAsync(GestionEmpleadosService servicio, int maximoEnVuelo) {
+        this(servicio, Executors.newVirtualThreadPerTaskExecutor(), new Semaphore(maximoEnVuelo, true),
+                maximoEnVuelo, null, null);
+        log.info("Fachada asíncrona creada: máximo {} operaciones en vuelo", maximoEnVuelo);
+    }
+
+    private GestionEmpleadosAsync(GestionEmpleadosService servicio, ExecutorService hilos, Semaphore permisos,
+                                  int maximoEnVuelo, Duration plazo, SesionLectura sesion) {
+        if (maximoEnVuelo < 1) {
+            throw new IllegalArgumentException("Debe permitirse al menos una operación en vuelo");
+        }
+        this.servicio = servicio;
+        this.hilos = hilos;
+        this.permisos = permisos;
+        this.maximoEnVuelo = maximoEnVuelo;
+        this.plazo = plazo;
+        this.sesion = sesion;
+    }
+
+    /**
+     * Vista de esta fachada, con los mismos hilos y permisos, cuyas operaciones deben
+     * completarse dentro del plazo indicado (contado desde que se solicitan)
+     */
+    public GestionEmpleadosAsync conPlazo(Duration plazo) {
+        if (plazo == null || plazo.isNegative() || plazo.isZero()) {
+            throw new IllegalArgumentException("El plazo debe ser positivo");
+        }
+        return new GestionEmpleadosAsync(servicio, hilos, permisos, maximoEnVuelo, plazo, sesion);
+    }
+
+    /**
+     * Vista de esta fachada cuyas operaciones se ejecutan a nombre de la sesión (ver
+     * {@link GestionEmpleadosService#conLecturasPropias}), aunque corran en otros hilos
+     */
+    public GestionEmpleadosAsync conLecturasPropias(SesionLectura sesion) {
+        if (sesion == null) {
+            throw new IllegalArgumentException("La sesión de lectura es obligatoria");
+        }
+        return new GestionEmpleadosAsync(servicio, hilos, permisos, maximoEnVuelo, plazo, sesion);
+    }
+
+    /**
+     * Ejecuta cualquier operación del servicio de forma asíncrona
+     */
+    public <T> CompletableFuture<T> ejecutar(Function<GestionEmpleadosService, T> operacion) {
+        return enviar(() -> operacion.apply(servicio));
+    }
+
+    /**
+     * Ejecuta varias operaciones del servicio en una sola transacción, en un mismo hilo
+     */
+    public <T> CompletableFuture<T> enTransaccion(Function<GestionEmpleadosService, T> operaciones) {
+        return enviar(() -> servicio.enTransaccion(() -> operaciones.apply(servicio)));
+    }
+
+    public int operacionesEnVuelo() {
+        return maximoEnVuelo - permisos.availablePermits();
+    }
+
+    public int hilosEsperando() {
+        return permisos.getQueueLength();
+    }
+
+    // ===== CARGOS =====
+
+    public CompletableFuture<Cargo> crearCargo(String nombre, String descripcion, Double salarioBase, String nivel) {
+        return enviar(() -> servicio.crearCargo(nombre, descripcion, salarioBase, nivel));
+    }
+
+    public CompletableFuture<Integer> crearCargosEnLote(Collection<Cargo> cargos) {
+        return enviar(() -> servicio.crearCargosEnLote(cargos));
+    }
+
+    public CompletableFuture<Optional<Cargo>> obtenerCargoPorId(Long id) {
+        return enviar(() -> servicio.obtenerCargoPorId(id));
+    }
+
+    public CompletableFuture<Optional<Cargo>> obtenerCargoPorNombre(String nombre) {
+        return enviar(() -> servicio.obtenerCargoPorNombre(nombre));
+    }
+
+    public CompletableFuture<List<Cargo>> obtenerTodosLosCargos() {
+        return enviar(servicio::obtenerTodosLosCargos);
+    }
+
+    public CompletableFuture<List<ResumenCargo>> obtenerResumenCargos() {
+        return enviar(servicio::obtenerResumenCargos);
+    }
+
+    public CompletableFuture<List<Cargo>> buscarCargosPorNombre(String nombre) {
+        return enviar(() -> servicio.buscarCargosPorNombre(nombre));
+    }
+
+    public CompletableFuture<Void> eliminarCargo(Long id) {
+        return enviar(() -> servicio.eliminarCargo(id));
+    }
+
+    public CompletableFuture<Cargo> actualizarCargo(Long id, long version, String nombre, String descripcion,
+                                                    Double salarioBase, String nivel) {
+        return enviar(() -> servicio.actualizarCargo(id, version, nombre, descripcion, salarioBase, nivel));
+    }
+
+    public CompletableFuture<Cargo> actualizarCargo(Long id, Consumer<Cargo> cambios) {
+        return enviar(() -> servicio.actualizarCargo(id, cambios));
+    }
+
+    // ===== EMPLEADOS =====
+
+    public CompletableFuture<Empleado> crearEmpleado(String numeroIdentificacion, String nombres, String apellidos,
+                                                     String email, String telefono, LocalDate fechaContratacion,
+                                                     Double salarioActual, Cargo cargo) {
+        return enviar(() -> servicio.crearEmpleado(numeroIdentificacion, nombres, apellidos, email, telefono,
+                fechaContratacion, salarioActual, cargo));
+    }
+
+    public CompletableFuture<Integer> crearEmpleadosEnLote(Collection<Empleado> empleados) {
+        return enviar(() -> servicio.crearEmpleadosEnLote(empleados));
+    }
+
+    public CompletableFuture<Optional<Empleado>> obtenerEmpleadoPorId(Long id) {
+        return enviar(() -> servicio.obtenerEmpleadoPorId(id));
+    }
+
+    public CompletableFuture<Optional<Empleado>> obtenerEmpleadoPorIdentificacion(String identificacion) {
+        return enviar(() -> servicio.obtenerEmpleadoPorIdentificacion(identificacion));
+    }
+
+    public CompletableFuture<Empleado> actualizarEmpleado(Long id, long version, String nombres, String apellidos,
+                                                          String email, String telefono, Double salarioActual,
+                                                          Cargo cargo) {
+        return enviar(() -> servicio.actualizarEmpleado(id, version, nombres, apellidos, email, telefono,
+                salarioActual, cargo));
+    }
+
+    public CompletableFuture<Empleado> actualizarEmpleado(Long id, Consumer<Empleado> cambios) {
+        return enviar(() -> servicio.actualizarEmpleado(id, cambios));
+    }
+
+    public CompletableFuture<List<EmpleadoResumen>> obtenerTodosLosEmpleados() {
+        return enviar(servicio::obtenerTodosLosEmpleados);
+    }
+
+    public CompletableFuture<List<EmpleadoResumen>> obtenerEmpleadosActivos() {
+        return enviar(servicio::obtenerEmpleadosActivos);
+    }
+
+    public CompletableFuture<List<EmpleadoResumen>> obtenerEmpleadosInactivos() {
+        return enviar(servicio::obtenerEmpleadosInactivos);
+    }
+
+    public CompletableFuture<List<EmpleadoResumen>> buscarEmpleadosPorNombre(String nombre) {
+        return enviar(() -> servicio.buscarEmpleadosPorNombre(nombre));
+    }
+
+    public CompletableFuture<List<EmpleadoResumen>> obtenerEmpleadosPorCargo(Long cargoId) {
+        return enviar(() -> servicio.obtenerEmpleadosPorCargo(cargoId));
+    }
+
+    /**
+     * Lanza un listado por cada cargo a la vez y los reúne, en el orden recibido, cuando
+     * terminan todos. Si alguno falla, el futuro falla con ese error
+     */
+    public CompletableFuture<Map<Long, List<EmpleadoResumen>>> obtenerEmpleadosPorCargos(Collection<Long> cargoIds) {
+        Map<Long, CompletableFuture<List<EmpleadoResumen>>> listados = new LinkedHashMap<>();
+        for (Long cargoId : cargoIds) {
+            listados.put(cargoId, obtenerEmpleadosPorCargo(cargoId));
+        }
+        return CompletableFuture.allOf(listados.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignorado -> {
+                    Map<Long, List<EmpleadoResumen>> resultado = new LinkedHashMap<>();
+                    listados.forEach((cargoId, listado) -> resultado.put(cargoId, listado.join()));
+                    return resultado;
+                });
+    }
+
+    public CompletableFuture<Pagina<EmpleadoResumen>> obtenerPaginaEmpleados(CursorEmpleado desde, int tamano) {
+        return enviar(() -> servicio.obtenerPaginaEmpleados(desde, tamano));
+    }
+
+    public CompletableFuture<Pagina<EmpleadoResumen>> obtenerPaginaEmpleadosActivos(CursorEmpleado desde, int tamano) {
+        return enviar(() -> servicio.obtenerPaginaEmpleadosActivos(desde, tamano));
+    }
+
+    public CompletableFuture<Pagina<EmpleadoResumen>> obtenerPaginaEmpleadosInactivos(CursorEmpleado desde, int tamano) {
+        return enviar(() -> servicio.obtenerPaginaEmpleadosInactivos(desde, tamano));
+    }
+
+    public CompletableFuture<Pagina<EmpleadoResumen>> buscarPaginaEmpleadosPorNombre(String nombre,
+                                                                                  CursorEmpleado desde, int tamano) {
+        return enviar(() -> servicio.buscarPaginaEmpleadosPorNombre(nombre, desde, tamano));
+    }
+
+    public CompletableFuture<Pagina<EmpleadoResumen>> obtenerPaginaEmpleadosPorCargo(Long cargoId,
+                                                                                  CursorEmpleado desde, int tamano) {
+        return enviar(() -> servicio.obtenerPaginaEmpleadosPorCargo(cargoId, desde, tamano));
+    }
+
+    public CompletableFuture<Long> exportarEmpleados(Path destino, ExportadorEmpleados.Formato formato) {
+        return enviar(() -> servicio.exportarEmpleados(destino, formato));
+    }
+
+    public CompletableFuture<Void> desactivarEmpleado(Long id) {
+        return enviar(() -> servicio.desactivarEmpleado(id));
+    }
+
+    public CompletableFuture<Void> activarEmpleado(Long id) {
+        return enviar(() -> servicio.activarEmpleado(id));
+    }
+
+    public CompletableFuture<Void> eliminarEmpleado(Long id) {
+        return enviar(() -> servicio.eliminarEmpleado(id));
+    }
+
+    public CompletableFuture<Integer> desactivarEmpleados(Collection<Long> ids) {
+        return enviar(() -> servicio.desactivarEmpleados(ids));
+    }
+
+    public CompletableFuture<Integer> activarEmpleados(Collection<Long> ids) {
+        return enviar(() -> servicio.activarEmpleados(ids));
+    }
+
+    public CompletableFuture<Integer> eliminarEmpleados(Collection<Long> ids) {
+        return enviar(() -> servicio.eliminarEmpleados(ids));
+    }
+
+    public CompletableFuture<Integer> desactivarEmpleadosPorCargo(Long cargoId) {
+        return enviar(() -> servicio.desactivarEmpleadosPorCargo(cargoId));
+    }
+
+    public CompletableFuture<Integer> activarEmpleadosPorCargo(Long cargoId) {
+        return enviar(() -> servicio.activarEmpleadosPorCargo(cargoId));
+    }
+
+    public CompletableFuture<Integer> eliminarEmpleadosPorCargo(Long cargoId) {
+        return enviar(() -> servicio.eliminarEmpleadosPorCargo(cargoId));
+    }
+
+    public CompletableFuture<ResultadoAjusteSalarial> aplicarAjusteSalarial(List<ReglaAjusteSalarial> reglas) {
+        return enviar(() -> servicio.aplicarAjusteSalarial(reglas));
+    }
+
+    public CompletableFuture<ResultadoAjusteSalarial> simularAjusteSalarial(List<ReglaAjusteSalarial> reglas) {
+        return enviar(() -> servicio.simularAjusteSalarial(reglas));
+    }
+
+    // ===== ESTADÍSTICAS =====
+
+    public CompletableFuture<Long> contarTotalEmpleados() {
+        return enviar(servicio::contarTotalEmpleados);
+    }
+
+    public CompletableFuture<Long> contarEmpleadosActivos() {
+        return enviar(servicio::contarEmpleadosActivos);
+    }
+
+    public CompletableFuture<Long> contarEmpleadosInactivos() {
+        return enviar(servicio::contarEmpleadosInactivos);
+    }
+
+    public CompletableFuture<Long> contarTotalCargos() {
+        return enviar(servicio::contarTotalCargos);
+    }
+
+    public CompletableFuture<EstadisticasSistema> obtenerEstadisticasSistema() {
+        return enviar(servicio::obtenerEstadisticasSistema);
+    }
+
+    public CompletableFuture<List<ResumenNomina>> obtenerResumenNomina(ResumenNomina.Agrupacion agrupacion,
+                                                                       boolean soloActivos) {
+        return enviar(() -> servicio.obtenerResumenNomina(agrupacion, soloActivos));
+    }
+
+    /**
+     * Recalcula los contadores con la consulta agregada y retorna el resultado
+     */
+    public CompletableFuture<EstadisticasSistema> recalcularEstadisticas() {
+        return enviar(() -> {
+            servicio.recalcularEstadisticas();
+            return servicio.obtenerEstadisticasSistema();
+        });
+    }
+
+    public CompletableFuture<String> obtenerEstadisticas() {
+        return enviar(servicio::obtenerEstadisticas);
+    }
+
+    /**
+     * Espera a que terminen las operaciones en curso; no acepta operaciones nuevas.
+     * No cierra el servicio subyacente
+     */
+    public void cerrar() {
+        hilos.close();
+        log.info("Fachada asíncrona cerrada");
+    }
+
+    // ===== EJECUCIÓN =====
+
+    private CompletableFuture<Void> enviar(Runnable operacion) {
+        return enviar(() -> {
+            operacion.run();
+            return null;
+        });
+    }
+
+    /**
+     * Lanza la operación en un hilo virtual que espera un permiso antes de tocar la base.
+     * La cancelación o el vencimiento del plazo del futuro interrumpen ese hilo
+     */
+    private <T> CompletableFuture<T> enviar(Supplier<T> operacion) {
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        long limite = plazo == null ? Long.MAX_VALUE : System.nanoTime() + plazo.toNanos();
+
+        Future<?> tarea = hilos.submit(() -> {
+            if (futuro.isDone()) {
+                return;
+            }
+            try {
+                if (!adquirirPermiso(limite)) {
+                    futuro.completeExceptionally(new TimeoutException(
+                            "Plazo de " + plazo.toMillis() + " ms vencido esperando turno para la base de datos"));
+                    return;
+                }
+            } catch (InterruptedException e) {
+                futuro.completeExceptionally(new CancellationException("Operación cancelada antes de ejecutarse"));
+                return;
+            }
+
+            try {
+                if (!futuro.isDone()) {
+                    futuro.complete(sesion == null ? operacion.get() : servicio.conLecturasPropias(sesion, operacion));
+                }
+            } catch (Throwable e) {
+                futuro.completeExceptionally(e);
+            } finally {
+                permisos.release();
+            }
+        });
+
+        if (plazo != null) {
+            futuro.orTimeout(plazo.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        futuro.whenComplete((resultado, error) -> {
+            if (error instanceof CancellationException || error instanceof TimeoutException) {
+                tarea.cancel(true);
+            }
+        });
+        return futuro;
+    }
+
+    private boolean adquirirPermiso(long limite) throws InterruptedException {
+        if (limite == Long.MAX_VALUE) {
+            permisos.acquire();
+            return true;
+        }
+        return permisos.tryAcquire(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+}
@@ -2,30 +2,93 @@
 package service;
 
 import dao.CargoDAO;
+import dao.ConsultaEmpleadosDAO;
+import dao.CursorEmpleado;
 import dao.EmpleadoDAO;
+import dao.HistorialSalarioDAO;
 import dao.ICargo;
+import dao.IConsultaEmpleados;
 import dao.IEmpleado;
+import dao.IHistorialSalario;
+import dao.IReporteNomina;
+import dao.Pagina;
+import dao.ReporteNominaDAO;
 import models.Cargo;
 import models.Empleado;
+import models.EmpleadoResumen;
+import models.EstadisticasSistema;
+import models.HistorialSalario;
+import models.ReglaAjusteSalarial;
+import models.ResultadoAjusteSalarial;
+import models.ResumenCargo;
+import models.ResumenNomina;
+import util.EstadisticasCache;
+import util.EstadisticasHibernate;
+import util.EstadoReplica;
+import util.MetricasOperacion;
+import util.MetricasPool;
 import util.JPAUtil;
-import jakarta.persistence.EntityManager;
+import util.RegistroMetricas;
+import util.SesionLectura;
+import util.UnidadDeTrabajo;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Slf4j
 public class GestionEmpleadosService {
 
+    private static final int LIMITE_BUSQUEDA = 500;
+    private static final int TAMANO_FETCH_RECORRIDO = 500;
+    private static final String PREFIJO_METRICAS = "GestionEmpleadosService.";
+    private static final String CARGO = "Cargo";
+    private static final String EMPLEADO = "Empleado";
+    private static final String HISTORIAL = "HistorialSalario";
+
     private final ICargo cargoDAO;
     private final IEmpleado empleadoDAO;
-    private final EntityManager entityManager;
-
+    private final IConsultaEmpleados consultaEmpleados;
+    private final IReporteNomina reporteNomina;
+    private final ExportadorEmpleados exportador;
+    private final ContadorEstadisticas estadisticas;
+    private final IndiceTrigramas indiceNombres;
+    private final IHistorialSalario historialDAO;
+    private final EscritorHistorial escritorHistorial;
+    private final ReintentosConflicto reintentos = new ReintentosConflicto();
+
+    /**
+     * El servicio no guarda ningún EntityManager: cada operación usa el suyo a través
+     * de {@link UnidadDeTrabajo}, así que una misma instancia puede atender llamadas
+     * concurrentes de muchos hilos.
+     */
     public GestionEmpleadosService() {
-        this.entityManager = JPAUtil.getEntityManager();
-        this.cargoDAO = new CargoDAO(entityManager);
-        this.empleadoDAO = new EmpleadoDAO(entityManager);
+        CargoDAO cargos = new CargoDAO();
+        EmpleadoDAO empleados = new EmpleadoDAO();
+        this.estadisticas = new ContadorEstadisticas(empleados);
+        estadisticas.iniciar();
+        cargos.agregarObservador(estadisticas);
+        empleados.agregarObservador(estadisticas);
+        this.indiceNombres = new IndiceTrigramas(empleados, cargos::buscarPorId);
+        indiceNombres.reconstruir();
+        empleados.agregarObservador(indiceNombres);
+
+        // Los observadores se registran sobre los DAOs reales; el servicio los usa
+        // a través de proxies que miden cada llamada
+        this.cargoDAO = RegistroMetricas.instrumentar(ICargo.class, cargos, CARGO);
+        this.empleadoDAO = RegistroMetricas.instrumentar(IEmpleado.class, empleados, EMPLEADO);
+        this.consultaEmpleados = RegistroMetricas.instrumentar(IConsultaEmpleados.class,
+                new ConsultaEmpleadosDAO(), EMPLEADO);
+        this.reporteNomina = RegistroMetricas.instrumentar(IReporteNomina.class, new ReporteNominaDAO(), EMPLEADO);
+        this.exportador = new ExportadorEmpleados(empleadoDAO);
+        this.historialDAO = RegistroMetricas.instrumentar(IHistorialSalario.class,
+                new HistorialSalarioDAO(), HISTORIAL);
+        this.escritorHistorial = new EscritorHistorial(historialDAO);
         logDatabaseInfo();
     }
 
@@ -37,176 +100,479 @@ public class GestionEmpleadosService {
         System.out.println();
     }
 
+    private static <T> T medir(String entidad, String operacion, Supplier<T> accion) {
+        return RegistroMetricas.medir(PREFIJO_METRICAS + operacion, entidad, accion);
+    }
+
+    private static void medir(String entidad, String operacion, Runnable accion) {
+        RegistroMetricas.medir(PREFIJO_METRICAS + operacion, entidad, accion);
+    }
+
+    /**
+     * Como {@link #medir}, para escrituras sobre registros existentes: si otro escritor
+     * modificó antes el mismo registro, la operación completa se repite con los datos actuales
+     */
+    private <T> T escribir(String entidad, String operacion, Supplier<T> accion) {
+        return medir(entidad, operacion, () -> reintentos.ejecutar(operacion, accion));
+    }
+
+    private void escribir(String entidad, String operacion, Runnable accion) {
+        medir(entidad, operacion, () -> reintentos.ejecutar(operacion, accion));
+    }
+
+    /**
+     * Como {@link #medir}, para listados y búsquedas que pueden atenderse desde una réplica
+     */
+    private static <T> T leer(String entidad, String operacion, Supplier<T> accion) {
+        return medir(entidad, operacion, () -> UnidadDeTrabajo.soloLectura(accion));
+    }
+
     // ===== MÉTODOS PARA CARGOS =====
 
     public Cargo crearCargo(String nombre, String descripcion, Double salarioBase, String nivel) {
-        if (cargoDAO.existePorNombre(nombre)) {
-            throw new IllegalArgumentException("❌ Ya existe un cargo con el nombre: " + nombre);
-        }
+        return medir(CARGO, "crearCargo", () -> {
+            if (cargoDAO.existePorNombre(nombre)) {
+                throw new IllegalArgumentException("❌ Ya existe un cargo con el nombre: " + nombre);
+            }
 
-        Cargo cargo = new Cargo(nombre, descripcion, salarioBase, nivel);
-        return cargoDAO.guardar(cargo);
+            Cargo cargo = new Cargo(nombre, descripcion, salarioBase, nivel);
+            return cargoDAO.guardar(cargo);
+        });
+    }
+
+    /**
+     * Alta masiva de cargos. La unicidad del nombre la garantiza la restricción
+     * de la base de datos en lugar de una consulta por cargo.
+     */
+    public int crearCargosEnLote(Collection<Cargo> cargos) {
+        return medir(CARGO, "crearCargosEnLote", () -> cargoDAO.guardarTodos(cargos));
     }
 
     public Optional<Cargo> obtenerCargoPorId(Long id) {
-        return cargoDAO.buscarPorId(id);
+        return medir(CARGO, "obtenerCargoPorId", () -> cargoDAO.buscarPorId(id));
     }
 
     public Optional<Cargo> obtenerCargoPorNombre(String nombre) {
-        return cargoDAO.buscarPorNombreExacto(nombre);
+        return medir(CARGO, "obtenerCargoPorNombre", () -> cargoDAO.buscarPorNombreExacto(nombre));
     }
 
     public List<Cargo> obtenerTodosLosCargos() {
-        return cargoDAO.buscarTodos();
+        return leer(CARGO, "obtenerTodosLosCargos", () -> cargoDAO.buscarTodos());
+    }
+
+    public List<ResumenCargo> obtenerResumenCargos() {
+        return leer(CARGO, "obtenerResumenCargos", () -> cargoDAO.buscarResumenes());
     }
 
     public List<Cargo> buscarCargosPorNombre(String nombre) {
-        return cargoDAO.buscarPorNombre(nombre);
+        return leer(CARGO, "buscarCargosPorNombre", () -> cargoDAO.buscarPorNombre(nombre));
     }
 
     public void eliminarCargo(Long id) {
-        Cargo cargo = cargoDAO.buscarPorId(id)
-                .orElseThrow(() -> new IllegalArgumentException("Cargo no encontrado con ID: " + id));
+        escribir(CARGO, "eliminarCargo", () -> {
+            Cargo cargo = cargoDAO.buscarPorId(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Cargo no encontrado con ID: " + id));
+
+            long empleadosAsociados = empleadoDAO.contarPorCargo(id);
+            if (empleadosAsociados > 0) {
+                throw new IllegalStateException(
+                        "❌ No se puede eliminar el cargo '" + cargo.getNombre() + "'. Tiene " +
+                                empleadosAsociados + " empleados asociados.");
+            }
+
+            boolean eliminado = cargoDAO.eliminar(id);
+            if (!eliminado) {
+                throw new RuntimeException("Error al eliminar el cargo");
+            }
+        });
+    }
+
+    /**
+     * Reemplaza todos los campos del cargo. {@code version} es la que tenía el cargo cuando
+     * el llamador lo leyó: si cambió desde entonces se lanza IllegalStateException en lugar
+     * de pisar el cambio del otro usuario
+     */
+    public Cargo actualizarCargo(Long id, long version, String nombre, String descripcion,
+                                 Double salarioBase, String nivel) {
+        return actualizarCargo(id, cargo -> {
+            ReintentosConflicto.verificarVersion(version, cargo.getVersion());
+            cargo.setNombre(nombre);
+            cargo.setDescripcion(descripcion);
+            cargo.setSalarioBase(salarioBase);
+            cargo.setNivel(nivel);
+        });
+    }
+
+    /**
+     * Aplica los cambios sobre el cargo recién leído y lo guarda. Ante un conflicto de
+     * concurrencia se vuelven a aplicar sobre la versión actual, así que los campos que
+     * los cambios no tocan conservan lo que haya escrito el otro usuario
+     */
+    public Cargo actualizarCargo(Long id, Consumer<Cargo> cambios) {
+        return escribir(CARGO, "actualizarCargo", () -> {
+            Cargo cargo = cargoDAO.buscarPorId(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Cargo no encontrado con ID: " + id));
+            String nombreAnterior = cargo.getNombre();
+            cambios.accept(cargo);
+
+            // Verificar si el nuevo nombre ya existe (excluyendo el actual)
+            if (!nombreAnterior.equals(cargo.getNombre()) && cargoDAO.existePorNombre(cargo.getNombre())) {
+                throw new IllegalArgumentException("❌ Ya existe otro cargo con el nombre: " + cargo.getNombre());
+            }
+
+            return cargoDAO.guardar(cargo);
+        });
+    }
 
-        if (!cargo.getEmpleados().isEmpty()) {
-            throw new IllegalStateException(
-                    "❌ No se puede eliminar el cargo '" + cargo.getNombre() + "'. Tiene " +
-                            cargo.getEmpleados().size() + " empleados asociados.");
-        }
+    // ===== MÉTODOS PARA EMPLEADOS =====
 
-        boolean eliminado = cargoDAO.eliminar(id);
-        if (!eliminado) {
-            throw new RuntimeException("Error al eliminar el cargo");
-        }
+    public Empleado crearEmpleado(String numeroIdentificacion, String nombres, String apellidos,
+                                  String email, String telefono, LocalDate fechaContratacion,
+                                  Double salarioActual, Cargo cargo) {
+        return medir(EMPLEADO, "crearEmpleado", () -> {
+
+            if (empleadoDAO.buscarPorIdentificacion(numeroIdentificacion).isPresent()) {
+                throw new IllegalArgumentException("❌ Ya existe un empleado con la identificación: " + numeroIdentificacion);
+            }
+
+            Empleado empleado = new Empleado(numeroIdentificacion, nombres, apellidos,
+                    email, telefono, fechaContratacion, salarioActual, cargo);
+            return empleadoDAO.guardar(empleado);
+        });
     }
 
-    public Cargo actualizarCargo(Long id, String nombre, String descripcion, Double salarioBase, String nivel) {
-        Cargo cargo = cargoDAO.buscarPorId(id)
-                .orElseThrow(() -> new IllegalArgumentException("Cargo no encontrado con ID: " + id));
+    /**
+     * Alta masiva de empleados. La unicidad de la identificación la garantiza la
+     * restricción de la base de datos en lugar de una consulta por empleado.
+     */
+    public int crearEmpleadosEnLote(Collection<Empleado> empleados) {
+        return medir(EMPLEADO, "crearEmpleadosEnLote", () -> empleadoDAO.guardarTodos(empleados));
+    }
 
-        // Verificar si el nuevo nombre ya existe (excluyendo el actual)
-        if (!cargo.getNombre().equals(nombre) && cargoDAO.existePorNombre(nombre)) {
-            throw new IllegalArgumentException("❌ Ya existe otro cargo con el nombre: " + nombre);
-        }
+    public Optional<Empleado> obtenerEmpleadoPorId(Long id) {
+        return medir(EMPLEADO, "obtenerEmpleadoPorId", () -> empleadoDAO.buscarPorId(id));
+    }
+
+    public Optional<Empleado> obtenerEmpleadoPorIdentificacion(String identificacion) {
+        return medir(EMPLEADO, "obtenerEmpleadoPorIdentificacion", () -> empleadoDAO.buscarPorIdentificacion(identificacion));
+    }
 
-        cargo.setNombre(nombre);
-        cargo.setDescripcion(descripcion);
-        cargo.setSalarioBase(salarioBase);
-        cargo.setNivel(nivel);
+    // Listados y búsquedas: proyecciones de solo lectura con el cargo ya resuelto
 
-        return cargoDAO.guardar(cargo);
+    public List<EmpleadoResumen> obtenerTodosLosEmpleados() {
+        return leer(EMPLEADO, "obtenerTodosLosEmpleados", () -> consultaEmpleados.listarTodos());
     }
 
-    // ===== MÉTODOS PARA EMPLEADOS =====
+    public List<EmpleadoResumen> obtenerEmpleadosActivos() {
+        return leer(EMPLEADO, "obtenerEmpleadosActivos", () -> consultaEmpleados.listarActivos());
+    }
 
-    public Empleado crearEmpleado(String numeroIdentificacion, String nombres, String apellidos,
-                                  String email, String telefono, LocalDate fechaContratacion,
-                                  Double salarioActual, Cargo cargo) {
+    public List<EmpleadoResumen> obtenerEmpleadosInactivos() {
+        return leer(EMPLEADO, "obtenerEmpleadosInactivos", () -> consultaEmpleados.listarInactivos());
+    }
 
-        if (empleadoDAO.buscarPorIdentificacion(numeroIdentificacion).isPresent()) {
-            throw new IllegalArgumentException("❌ Ya existe un empleado con la identificación: " + numeroIdentificacion);
-        }
+    /**
+     * Se responde desde el índice de trigramas en memoria, sin consultar la base de datos
+     */
+    public List<EmpleadoResumen> buscarEmpleadosPorNombre(String nombre) {
+        return medir(EMPLEADO, "buscarEmpleadosPorNombre", () -> indiceNombres.buscar(nombre, LIMITE_BUSQUEDA));
+    }
 
-        Empleado empleado = new Empleado(numeroIdentificacion, nombres, apellidos,
-                email, telefono, fechaContratacion, salarioActual, cargo);
-        return empleadoDAO.guardar(empleado);
+    public List<EmpleadoResumen> obtenerEmpleadosPorCargo(Long cargoId) {
+        return leer(EMPLEADO, "obtenerEmpleadosPorCargo", () -> consultaEmpleados.listarPorCargo(cargoId));
     }
 
-    public Optional<Empleado> obtenerEmpleadoPorId(Long id) {
-        return empleadoDAO.buscarPorId(id);
+    public List<EmpleadoResumen> obtenerEmpleadosPorCargo(Cargo cargo) {
+        return leer(EMPLEADO, "obtenerEmpleadosPorCargo", () -> consultaEmpleados.listarPorCargo(cargo.getId()));
     }
 
-    public Optional<Empleado> obtenerEmpleadoPorIdentificacion(String identificacion) {
-        return empleadoDAO.buscarPorIdentificacion(identificacion);
+    // Listados paginados por clave: pasar null como cursor para la primera página
+
+    public Pagina<EmpleadoResumen> obtenerPaginaEmpleados(CursorEmpleado desde, int tamano) {
+        return leer(EMPLEADO, "obtenerPaginaEmpleados", () -> consultaEmpleados.listarTodos(desde, tamano));
     }
 
-    public List<Empleado> obtenerTodosLosEmpleados() {
-        return empleadoDAO.buscarTodos();
+    public Pagina<EmpleadoResumen> obtenerPaginaEmpleadosActivos(CursorEmpleado desde, int tamano) {
+        return leer(EMPLEADO, "obtenerPaginaEmpleadosActivos", () -> consultaEmpleados.listarActivos(desde, tamano));
     }
 
-    public List<Empleado> obtenerEmpleadosActivos() {
-        return empleadoDAO.buscarActivos();
+    public Pagina<EmpleadoResumen> obtenerPaginaEmpleadosInactivos(CursorEmpleado desde, int tamano) {
+        return leer(EMPLEADO, "obtenerPaginaEmpleadosInactivos", () -> consultaEmpleados.listarInactivos(desde, tamano));
     }
 
-    public List<Empleado> obtenerEmpleadosInactivos() {
-        return empleadoDAO.buscarInactivos();
+    public Pagina<EmpleadoResumen> buscarPaginaEmpleadosPorNombre(String nombre, CursorEmpleado desde, int tamano) {
+        return leer(EMPLEADO, "buscarPaginaEmpleadosPorNombre", () -> consultaEmpleados.buscarPorNombre(nombre, desde, tamano));
     }
 
-    public List<Empleado> buscarEmpleadosPorNombre(String nombre) {
-        return empleadoDAO.buscarPorNombre(nombre);
+    public Pagina<EmpleadoResumen> obtenerPaginaEmpleadosPorCargo(Long cargoId, CursorEmpleado desde, int tamano) {
+        return leer(EMPLEADO, "obtenerPaginaEmpleadosPorCargo", () -> consultaEmpleados.listarPorCargo(cargoId, desde, tamano));
     }
 
-    public List<Empleado> obtenerEmpleadosPorCargo(Long cargoId) {
-        return empleadoDAO.buscarPorCargo(cargoId);
+    /**
+     * Exporta todos los empleados en memoria constante. Preferir sobre
+     * obtenerTodosLosEmpleados() para volcados completos de la tabla.
+     */
+    public long exportarEmpleados(Path destino, ExportadorEmpleados.Formato formato) {
+        return leer(EMPLEADO, "exportarEmpleados", () -> exportador.exportar(destino, formato));
     }
 
-    public List<Empleado> obtenerEmpleadosPorCargo(Cargo cargo) {
-        return empleadoDAO.buscarPorCargo(cargo.getId());
+    /**
+     * Entrega cada empleado al consumidor a medida que se lee, en memoria constante.
+     * Retorna la cantidad de empleados recorridos
+     */
+    public long recorrerEmpleados(Consumer<EmpleadoResumen> consumidor) {
+        return leer(EMPLEADO, "recorrerEmpleados", () -> empleadoDAO.recorrerTodos(TAMANO_FETCH_RECORRIDO,
+                empleado -> consumidor.accept(EmpleadoResumen.de(empleado, empleado.getCargo()))));
     }
 
     public void desactivarEmpleado(Long id) {
-        boolean desactivado = empleadoDAO.desactivar(id);
-        if (!desactivado) {
-            throw new IllegalArgumentException("Empleado no encontrado con ID: " + id);
-        }
+        escribir(EMPLEADO, "desactivarEmpleado", () -> {
+            boolean desactivado = empleadoDAO.desactivar(id);
+            if (!desactivado) {
+                throw new IllegalArgumentException("Empleado no encontrado con ID: " + id);
+            }
+        });
     }
 
     public void activarEmpleado(Long id) {
-        boolean activado = empleadoDAO.activar(id);
-        if (!activado) {
-            throw new IllegalArgumentException("Empleado no encontrado con ID: " + id);
-        }
+        escribir(EMPLEADO, "activarEmpleado", () -> {
+            boolean activado = empleadoDAO.activar(id);
+            if (!activado) {
+                throw new IllegalArgumentException("Empleado no encontrado con ID: " + id);
+            }
+        });
     }
 
     public void eliminarEmpleado(Long id) {
-        boolean eliminado = empleadoDAO.eliminar(id);
-        if (!eliminado) {
-            throw new IllegalArgumentException("Empleado no encontrado con ID: " + id);
-        }
+        escribir(EMPLEADO, "eliminarEmpleado", () -> {
+            boolean eliminado = empleadoDAO.eliminar(id);
+            if (!eliminado) {
+                throw new IllegalArgumentException("Empleado no encontrado con ID: " + id);
+            }
+        });
     }
 
-    public Empleado actualizarEmpleado(Long id, String nombres, String apellidos, String email,
-                                       String telefono, Double salarioActual, Cargo cargo) {
-        Empleado empleado = empleadoDAO.buscarPorId(id)
-                .orElseThrow(() -> new IllegalArgumentException("Empleado no encontrado con ID: " + id));
+    // Operaciones masivas: un UPDATE/DELETE por bloque de ids o uno solo por cargo.
+    // Retornan la cantidad de empleados afectados
 
-        empleado.setNombre(nombres);
-        empleado.setApellido(apellidos);
-        empleado.setEmail(email);
-        empleado.setTelefono(telefono);
-        empleado.setSalarioActual(salarioActual);
-        empleado.setCargo(cargo);
+    public int desactivarEmpleados(Collection<Long> ids) {
+        return medir(EMPLEADO, "desactivarEmpleados", () -> empleadoDAO.desactivarTodos(ids));
+    }
 
-        return empleadoDAO.guardar(empleado);
+    public int activarEmpleados(Collection<Long> ids) {
+        return medir(EMPLEADO, "activarEmpleados", () -> empleadoDAO.activarTodos(ids));
+    }
+
+    public int eliminarEmpleados(Collection<Long> ids) {
+        return medir(EMPLEADO, "eliminarEmpleados", () -> empleadoDAO.eliminarTodos(ids));
+    }
+
+    public int desactivarEmpleadosPorCargo(Long cargoId) {
+        return medir(EMPLEADO, "desactivarEmpleadosPorCargo", () -> {
+            validarCargoExiste(cargoId);
+            return empleadoDAO.desactivarPorCargo(cargoId);
+        });
+    }
+
+    public int activarEmpleadosPorCargo(Long cargoId) {
+        return medir(EMPLEADO, "activarEmpleadosPorCargo", () -> {
+            validarCargoExiste(cargoId);
+            return empleadoDAO.activarPorCargo(cargoId);
+        });
+    }
+
+    public int eliminarEmpleadosPorCargo(Long cargoId) {
+        return medir(EMPLEADO, "eliminarEmpleadosPorCargo", () -> {
+            validarCargoExiste(cargoId);
+            return empleadoDAO.eliminarPorCargo(cargoId);
+        });
+    }
+
+    // Ajustes salariales masivos: un UPDATE por regla en una sola transacción; la simulación solo consulta
+
+    public ResultadoAjusteSalarial aplicarAjusteSalarial(List<ReglaAjusteSalarial> reglas) {
+        return medir(EMPLEADO, "aplicarAjusteSalarial", () -> {
+            validarReglas(reglas);
+            return empleadoDAO.ajustarSalarios(reglas, false);
+        });
+    }
+
+    /**
+     * Calcula el costo del ajuste sin modificar ningún salario
+     */
+    public ResultadoAjusteSalarial simularAjusteSalarial(List<ReglaAjusteSalarial> reglas) {
+        return medir(EMPLEADO, "simularAjusteSalarial", () -> {
+            validarReglas(reglas);
+            return empleadoDAO.ajustarSalarios(reglas, true);
+        });
+    }
+
+    private void validarReglas(List<ReglaAjusteSalarial> reglas) {
+        if (reglas == null || reglas.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una regla de ajuste");
+        }
+        for (ReglaAjusteSalarial regla : reglas) {
+            if (regla.cargoId() != null) {
+                validarCargoExiste(regla.cargoId());
+            }
+        }
+    }
+
+    private void validarCargoExiste(Long cargoId) {
+        if (cargoDAO.buscarPorId(cargoId).isEmpty()) {
+            throw new IllegalArgumentException("Cargo no encontrado con ID: " + cargoId);
+        }
+    }
+
+    /**
+     * Reemplaza los datos del empleado. {@code version} es la que tenía el empleado cuando
+     * el llamador lo leyó: si cambió desde entonces se lanza IllegalStateException en lugar
+     * de pisar el cambio del otro usuario
+     */
+    public Empleado actualizarEmpleado(Long id, long version, String nombres, String apellidos, String email,
+                                       String telefono, Double salarioActual, Cargo cargo) {
+        return actualizarEmpleado(id, empleado -> {
+            ReintentosConflicto.verificarVersion(version, empleado.getVersion());
+            empleado.setNombre(nombres);
+            empleado.setApellido(apellidos);
+            empleado.setEmail(email);
+            empleado.setTelefono(telefono);
+            empleado.setSalarioActual(salarioActual);
+            empleado.setCargo(cargo);
+        });
+    }
+
+    /**
+     * Aplica los cambios sobre el empleado recién leído y lo guarda. Ante un conflicto de
+     * concurrencia se vuelven a aplicar sobre la versión actual, así que los campos que
+     * los cambios no tocan conservan lo que haya escrito el otro usuario
+     */
+    public Empleado actualizarEmpleado(Long id, Consumer<Empleado> cambios) {
+        return escribir(EMPLEADO, "actualizarEmpleado", () -> {
+            Empleado empleado = empleadoDAO.buscarPorId(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Empleado no encontrado con ID: " + id));
+            cambios.accept(empleado);
+            return empleadoDAO.guardar(empleado);
+        });
+    }
+
+    // Historial de salarios: se escribe en segundo plano, así que las consultas
+    // esperan primero a que esté escrito lo ya confirmado
+
+    public List<HistorialSalario> obtenerHistorialSalarios(Long empleadoId) {
+        return medir(HISTORIAL, "obtenerHistorialSalarios", () -> {
+            escritorHistorial.vaciar();
+            return historialDAO.buscarPorEmpleado(empleadoId);
+        });
+    }
+
+    /**
+     * Salario que tenía el empleado al final del día indicado; vacío si el empleado no
+     * existe o aún no había sido contratado. Para fechas anteriores al primer cambio
+     * registrado se usa el salario previo a ese cambio
+     */
+    public Optional<Double> obtenerSalarioEnFecha(Long empleadoId, LocalDate fecha) {
+        return medir(HISTORIAL, "obtenerSalarioEnFecha", () -> {
+            escritorHistorial.vaciar();
+            Optional<HistorialSalario> vigente = historialDAO.buscarVigenteEn(empleadoId, fecha);
+            if (vigente.isPresent()) {
+                return Optional.ofNullable(vigente.get().getSalarioNuevo());
+            }
+
+            Optional<Empleado> empleado = empleadoDAO.buscarPorId(empleadoId);
+            if (empleado.isEmpty() || empleado.get().getFechaContratacion() == null
+                    || empleado.get().getFechaContratacion().isAfter(fecha)) {
+                return Optional.empty();
+            }
+            return historialDAO.buscarPrimeroDespuesDe(empleadoId, fecha)
+                    // Si el primer registro es el alta, el salario no cambió desde la contratación
+                    .map(cambio -> cambio.getSalarioAnterior() != null
+                            ? cambio.getSalarioAnterior() : cambio.getSalarioNuevo())
+                    .or(() -> Optional.ofNullable(empleado.get().getSalarioActual()));
+        });
     }
 
     // ===== MÉTODOS DE ESTADÍSTICAS =====
+    // Se sirven desde los contadores en memoria, sin consultar la base de datos
 
     public long contarTotalEmpleados() {
-        return empleadoDAO.contar();
+        return estadisticas.instantanea().totalEmpleados();
     }
 
     public long contarEmpleadosActivos() {
-        return empleadoDAO.contarActivos();
+        return estadisticas.instantanea().empleadosActivos();
     }
 
     public long contarEmpleadosInactivos() {
-        return empleadoDAO.contarInactivos();
+        return estadisticas.instantanea().empleadosInactivos();
     }
 
     public long contarTotalCargos() {
-        return cargoDAO.contar();
+        return estadisticas.instantanea().totalCargos();
+    }
+
+    public EstadisticasSistema obtenerEstadisticasSistema() {
+        return estadisticas.instantanea();
+    }
+
+    public EstadisticasCache obtenerEstadisticasCache() {
+        return JPAUtil.getEstadisticasCache();
+    }
+
+    public MetricasPool obtenerMetricasPool() {
+        return JPAUtil.getMetricasPool();
+    }
+
+    /**
+     * Réplicas de lectura configuradas: lecturas atendidas, fallos y si están en la rotación
+     */
+    public List<EstadoReplica> obtenerEstadoReplicas() {
+        return JPAUtil.getEstadoReplicas();
+    }
+
+    /**
+     * Nómina agregada en la base de datos: una fila por grupo con total, promedio, mínimo
+     * y máximo de salarios, cantidad de empleados y diferencia con el salario base del cargo
+     */
+    public List<ResumenNomina> obtenerResumenNomina(ResumenNomina.Agrupacion agrupacion, boolean soloActivos) {
+        if (agrupacion == null) {
+            throw new IllegalArgumentException("Debe indicar cómo agrupar la nómina");
+        }
+        return leer(EMPLEADO, "obtenerResumenNomina", () -> reporteNomina.resumir(agrupacion, soloActivos));
+    }
+
+    public List<MetricasConflictos> obtenerMetricasConflictos() {
+        return reintentos.metricas();
+    }
+
+    /**
+     * Llamadas, errores y percentiles de latencia de cada método de los DAOs y del servicio
+     */
+    public List<MetricasOperacion> obtenerMetricasRendimiento() {
+        return RegistroMetricas.instantanea();
+    }
+
+    public EstadisticasHibernate obtenerEstadisticasHibernate() {
+        return JPAUtil.getEstadisticasHibernate();
+    }
+
+    /**
+     * Fuerza el recálculo de los contadores con una consulta agregada
+     */
+    public void recalcularEstadisticas() {
+        estadisticas.recalcular();
     }
 
     public String obtenerEstadisticas() {
+        EstadisticasSistema actual = estadisticas.instantanea();
         return String.format(
                 "📊 Estadísticas:\n" +
                         "   • Total empleados: %d\n" +
                         "   • Empleados activos: %d\n" +
                         "   • Empleados inactivos: %d\n" +
                         "   • Total cargos: %d",
-                contarTotalEmpleados(), contarEmpleadosActivos(),
-                contarEmpleadosInactivos(), contarTotalCargos()
+                actual.totalEmpleados(), actual.empleadosActivos(),
+                actual.empleadosInactivos(), actual.totalCargos()
         );
     }
 
@@ -259,30 +625,47 @@ public class GestionEmpleadosService {
     }
 
     // ===== GESTIÓN DE TRANSACCIONES =====
+    // Transacción explícita ligada al hilo que llama: las operaciones del servicio
+    // ejecutadas entre begin y commit/rollback comparten un mismo EntityManager
 
     public void beginTransaction() {
-        if (!entityManager.getTransaction().isActive()) {
-            entityManager.getTransaction().begin();
+        if (!UnidadDeTrabajo.enCurso()) {
+            UnidadDeTrabajo.iniciar();
         }
     }
 
     public void commitTransaction() {
-        if (entityManager.getTransaction().isActive()) {
-            entityManager.getTransaction().commit();
+        if (UnidadDeTrabajo.enCurso()) {
+            UnidadDeTrabajo.confirmar();
         }
     }
 
     public void rollbackTransaction() {
-        if (entityManager.getTransaction().isActive()) {
-            entityManager.getTransaction().rollback();
-        }
+        UnidadDeTrabajo.revertir();
+    }
+
+    /**
+     * Ejecuta varias operaciones del servicio en una sola transacción
+     */
+    public <T> T enTransaccion(Supplier<T> operaciones) {
+        return UnidadDeTrabajo.enTransaccion(operaciones);
+    }
+
+    /**
+     * Ejecuta operaciones del servicio a nombre de un llamador: tras confirmar una
+     * escritura, sus listados se leen del primario durante la ventana de la sesión
+     */
+    public <T> T conLecturasPropias(SesionLectura sesion, Supplier<T> operaciones) {
+        return UnidadDeTrabajo.conSesion(sesion, operaciones);
     }
 
     public void cerrar() {
-        if (entityManager != null && entityManager.isOpen()) {
-            entityManager.close();
+        try {
+            escritorHistorial.cerrar();
+        } finally {
+            estadisticas.cerrar();
+            JPAUtil.close();
         }
-        JPAUtil.close();
     }
 
     public String getDatabaseStatus() {
@@ -0,0 +1,430 @@
+package service;
+
+import dao.IEmpleado;
+import dao.ObservadorEmpleados;
+import dao.OperacionMasiva;
+import lombok.extern.slf4j.Slf4j;
+import models.Cargo;
+import models.Empleado;
+import models.EmpleadoResumen;
+import org.hibernate.Hibernate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Índice invertido de trigramas en memoria sobre nombre, apellido y número de empleado,
+ * para responder búsquedas por nombre sin ir a la base de datos.
+ * <p>
+ * Cada empleado ocupa una posición (int) y cada trigrama apunta a la lista ordenada de
+ * posiciones que lo contienen. Una búsqueda intersecta las listas de los trigramas de
+ * cada palabra y confirma los candidatos contra el texto normalizado, así que equivale
+ * a un {@code LIKE '%palabra%'} por palabra, sin distinguir mayúsculas ni acentos.
+ * <p>
+ * Se llena al arrancar recorriendo la tabla y se mantiene al día con las escrituras
+ * confirmadas de {@link dao.EmpleadoDAO}, incluidas las operaciones masivas, que solo
+ * tocan las entradas afectadas. Las actualizaciones y eliminaciones dejan la posición
+ * anterior marcada como libre; el índice se compacta cuando esas posiciones superan la
+ * cuarta parte del total.
+ * <p>
+ * Los cambios que llegan mientras {@link #reconstruir()} recorre la tabla se aplican al
+ * índice actual y se guardan para repetirlos sobre el índice nuevo, así no se pierden
+ * cuando este reemplaza al anterior.
+ */
+@Slf4j
+public class IndiceTrigramas implements ObservadorEmpleados {
+
+    private static final int TAMANO_FETCH = 1000;
+    private static final int MINIMO_PARA_COMPACTAR = 1024;
+
+    private final IEmpleado empleadoDAO;
+    private final Function<Long, Optional<Cargo>> buscarCargo;
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    private Map<Long, ListaPosiciones> posiciones = new HashMap<>();
+    private Map<Long, Integer> posicionPorId = new HashMap<>();
+    private EmpleadoResumen[] documentos = new EmpleadoResumen[1024];
+    private String[] textos = new String[1024];
+    private int ocupadas;
+    private int libres;
+    private List<Runnable> cambiosDuranteCarga;
+
+    /**
+     * Crea el índice vacío; se llena con {@link #reconstruir()}
+     *
+     * @param buscarCargo resuelve el cargo de un empleado guardado cuando la entidad
+     *                    solo trae un proxy sin inicializar
+     */
+    public IndiceTrigramas(IEmpleado empleadoDAO, Function<Long, Optional<Cargo>> buscarCargo) {
+        this.empleadoDAO = empleadoDAO;
+        this.buscarCargo = buscarCargo;
+    }
+
+    /**
+     * Carga (o vuelve a cargar) todos los empleados desde la base de datos. Las búsquedas
+     * siguen respondiendo con el índice anterior durante el recorrido
+     */
+    public synchronized void reconstruir() {
+        long inicio = System.nanoTime();
+        candado.writeLock().lock();
+        try {
+            cambiosDuranteCarga = new ArrayList<>();
+        } finally {
+            candado.writeLock().unlock();
+        }
+
+        List<EmpleadoResumen> todos = new ArrayList<>();
+        try {
+            empleadoDAO.recorrerTodos(TAMANO_FETCH, e -> todos.add(EmpleadoResumen.de(e, e.getCargo())));
+        } catch (RuntimeException e) {
+            // Los cambios recibidos ya están en el índice actual, que se conserva
+            candado.writeLock().lock();
+            try {
+                cambiosDuranteCarga = null;
+            } finally {
+                candado.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int trigramas;
+        int repetidos;
+        candado.writeLock().lock();
+        try {
+            List<Runnable> cambios = cambiosDuranteCarga;
+            cambiosDuranteCarga = null;
+            cargar(todos);
+            cambios.forEach(Runnable::run);
+            trigramas = posiciones.size();
+            repetidos = cambios.size();
+        } finally {
+            candado.writeLock().unlock();
+        }
+        log.info("Índice de trigramas construido: {} empleados, {} trigramas, {} cambios repetidos en {} ms",
+                todos.size(), trigramas, repetidos, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Empleados cuyo nombre, apellido o número contiene cada palabra del texto. Primero
+     * los que tienen alguna palabra que empieza por el texto buscado, luego por apellido
+     * y nombre.
+     */
+    public List<EmpleadoResumen> buscar(String texto, int limite) {
+        String[] palabras = palabras(texto);
+
+        candado.readLock().lock();
+        try {
+            int[] candidatos = candidatos(palabras);
+            List<Coincidencia> coincidencias = new ArrayList<>();
+            for (int i = 0; i < (candidatos == null ? ocupadas : candidatos.length); i++) {
+                int posicion = candidatos == null ? i : candidatos[i];
+                EmpleadoResumen documento = documentos[posicion];
+                if (documento != null && contieneTodas(textos[posicion], palabras)) {
+                    coincidencias.add(new Coincidencia(documento, puntaje(textos[posicion], palabras)));
+                }
+            }
+
+            coincidencias.sort(Comparator.comparingInt(Coincidencia::puntaje).reversed()
+                    .thenComparing(c -> c.empleado().apellido())
+                    .thenComparing(c -> c.empleado().nombre())
+                    .thenComparing(c -> c.empleado().id()));
+            return coincidencias.stream()
+                    .limit(limite)
+                    .map(Coincidencia::empleado)
+                    .toList();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public int tamano() {
+        candado.readLock().lock();
+        try {
+            return posicionPorId.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    // ===== ACTUALIZACIÓN INCREMENTAL =====
+
+    @Override
+    public void empleadoGuardado(Empleado empleado, boolean nuevo) {
+        Cargo cargo = empleado.getCargo();
+        if (cargo != null && !Hibernate.isInitialized(cargo)) {
+            cargo = buscarCargo.apply(cargo.getId()).orElse(null);
+        }
+        if (cargo == null) {
+            log.warn("Empleado {} sin cargo disponible, no se indexa", empleado.getId());
+            return;
+        }
+
+        EmpleadoResumen resumen = EmpleadoResumen.de(empleado, cargo);
+        modificar(() -> {
+            quitar(resumen.id());
+            agregar(resumen);
+            compactarSiHaceFalta();
+        });
+    }
+
+    @Override
+    public void empleadoEliminado(Empleado empleado) {
+        modificar(() -> {
+            quitar(empleado.getId());
+            compactarSiHaceFalta();
+        });
+    }
+
+    @Override
+    public void estadoCambiado(Empleado empleado, boolean activo) {
+        modificar(() -> {
+            Integer posicion = posicionPorId.get(empleado.getId());
+            if (posicion != null) {
+                reemplazar(posicion, activo, documentos[posicion].salarioActual());
+            }
+        });
+    }
+
+    @Override
+    public void operacionMasiva(OperacionMasiva operacion, int afectados) {
+        modificar(() -> {
+            List<Integer> alcanzadas = new ArrayList<>();
+            if (operacion.cargoId() == null) {
+                for (Long id : operacion.ids()) {
+                    Integer posicion = posicionPorId.get(id);
+                    if (posicion != null) {
+                        alcanzadas.add(posicion);
+                    }
+                }
+            } else {
+                for (int i = 0; i < ocupadas; i++) {
+                    if (documentos[i] != null && operacion.incluye(documentos[i].id(), documentos[i].cargoId())) {
+                        alcanzadas.add(i);
+                    }
+                }
+            }
+
+            for (int posicion : alcanzadas) {
+                EmpleadoResumen actual = documentos[posicion];
+                switch (operacion.tipo()) {
+                    case ACTIVAR -> reemplazar(posicion, true, actual.salarioActual());
+                    case DESACTIVAR -> reemplazar(posicion, false, actual.salarioActual());
+                    case ELIMINAR -> quitar(actual.id());
+                    case AJUSTAR_SALARIOS -> reemplazar(posicion, actual.activo(), operacion.salarios().get(actual.id()));
+                }
+            }
+            compactarSiHaceFalta();
+        });
+    }
+
+    /**
+     * Aplica el cambio con el candado de escritura y, si hay una reconstrucción en curso,
+     * lo guarda para repetirlo sobre el índice nuevo
+     */
+    private void modificar(Runnable cambio) {
+        candado.writeLock().lock();
+        try {
+            cambio.run();
+            if (cambiosDuranteCarga != null) {
+                cambiosDuranteCarga.add(cambio);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    // ===== ESTRUCTURA INTERNA (con el candado de escritura tomado) =====
+
+    private void cargar(List<EmpleadoResumen> empleados) {
+        posiciones = new HashMap<>();
+        posicionPorId = new HashMap<>(empleados.size() * 2);
+        documentos = new EmpleadoResumen[Math.max(1024, empleados.size() + empleados.size() / 4)];
+        textos = new String[documentos.length];
+        ocupadas = 0;
+        libres = 0;
+        empleados.forEach(this::agregar);
+    }
+
+    private void agregar(EmpleadoResumen empleado) {
+        if (ocupadas == documentos.length) {
+            documentos = Arrays.copyOf(documentos, ocupadas * 2);
+            textos = Arrays.copyOf(textos, ocupadas * 2);
+        }
+
+        int posicion = ocupadas++;
+        String texto = normalizar(empleado.nombre() + " " + empleado.apellido() + " " + empleado.numEmpleado());
+        documentos[posicion] = empleado;
+        textos[posicion] = texto;
+        posicionPorId.put(empleado.id(), posicion);
+
+        // Las posiciones nuevas siempre son mayores, así que cada lista queda ordenada
+        String conBordes = " " + texto + " ";
+        for (int i = 0; i + 3 <= conBordes.length(); i++) {
+            posiciones.computeIfAbsent(trigrama(conBordes, i), t -> new ListaPosiciones()).agregar(posicion);
+        }
+    }
+
+    /**
+     * El estado y el salario no forman parte del texto indexado: basta con reemplazar el resumen
+     */
+    private void reemplazar(int posicion, Boolean activo, Double salario) {
+        EmpleadoResumen actual = documentos[posicion];
+        documentos[posicion] = new EmpleadoResumen(actual.id(), actual.numEmpleado(), actual.nombre(),
+                actual.apellido(), actual.email(), actual.telefono(), actual.fechaContratacion(),
+                salario, activo, actual.cargoId(), actual.cargoNombre(), actual.cargoNivel());
+    }
+
+    private void quitar(Long id) {
+        Integer posicion = posicionPorId.remove(id);
+        if (posicion != null) {
+            documentos[posicion] = null;
+            textos[posicion] = null;
+            libres++;
+        }
+    }
+
+    private void compactarSiHaceFalta() {
+        if (libres >= MINIMO_PARA_COMPACTAR && libres * 4 > ocupadas) {
+            List<EmpleadoResumen> vivos = new ArrayList<>(ocupadas - libres);
+            for (int i = 0; i < ocupadas; i++) {
+                if (documentos[i] != null) {
+                    vivos.add(documentos[i]);
+                }
+            }
+            cargar(vivos);
+            log.debug("Índice de trigramas compactado: {} empleados", vivos.size());
+        }
+    }
+
+    // ===== BÚSQUEDA =====
+
+    /**
+     * Intersección de las listas de todos los trigramas de las palabras, o null si
+     * ninguna palabra tiene tres caracteres (hay que revisar todas las posiciones)
+     */
+    private int[] candidatos(String[] palabras) {
+        Set<Long> trigramas = new LinkedHashSet<>();
+        for (String palabra : palabras) {
+            for (int i = 0; i + 3 <= palabra.length(); i++) {
+                trigramas.add(trigrama(palabra, i));
+            }
+        }
+        if (trigramas.isEmpty()) {
+            return null;
+        }
+
+        List<ListaPosiciones> listas = new ArrayList<>(trigramas.size());
+        for (Long trigrama : trigramas) {
+            ListaPosiciones lista = posiciones.get(trigrama);
+            if (lista == null) {
+                return new int[0];
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(ListaPosiciones::tamano));
+
+        int[] resultado = Arrays.copyOf(listas.getFirst().valores, listas.getFirst().tamano);
+        int tamano = resultado.length;
+        for (int l = 1; l < listas.size() && tamano > 0; l++) {
+            tamano = intersectar(resultado, tamano, listas.get(l));
+        }
+        return Arrays.copyOf(resultado, tamano);
+    }
+
+    /**
+     * Deja en {@code actual} los valores presentes también en la lista; retorna el nuevo tamaño
+     */
+    private static int intersectar(int[] actual, int tamano, ListaPosiciones lista) {
+        int[] otros = lista.valores;
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < tamano && j < lista.tamano) {
+            if (actual[i] < otros[j]) {
+                i++;
+            } else if (actual[i] > otros[j]) {
+                j++;
+            } else {
+                actual[k++] = actual[i];
+                i++;
+                j++;
+            }
+        }
+        return k;
+    }
+
+    private static boolean contieneTodas(String texto, String[] palabras) {
+        for (String palabra : palabras) {
+            if (!texto.contains(palabra)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Dos puntos por cada palabra que coincide con el inicio de una palabra del texto, uno si no
+     */
+    private static int puntaje(String texto, String[] palabras) {
+        int puntaje = 0;
+        for (String palabra : palabras) {
+            puntaje += texto.startsWith(palabra) || texto.contains(" " + palabra) ? 2 : 1;
+        }
+        return puntaje;
+    }
+
+    private static String[] palabras(String texto) {
+        if (texto == null) {
+            return new String[0];
+        }
+        return Arrays.stream(normalizar(texto).split("\\s+"))
+                .filter(p -> !p.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static String normalizar(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigrama(String texto, int desde) {
+        return ((long) texto.charAt(desde) << 32) | ((long) texto.charAt(desde + 1) << 16) | texto.charAt(desde + 2);
+    }
+
+    private record Coincidencia(EmpleadoResumen empleado, int puntaje) {
+    }
+
+    /**
+     * Lista creciente de enteros sin envolver
+     */
+    private static final class ListaPosiciones {
+        private int[] valores = new int[4];
+        private int tamano;
+
+        private void agregar(int valor) {
+            if (tamano > 0 && valores[tamano - 1] == valor) {
+                return;
+            }
+            if (tamano == valores.length) {
+                valores = Arrays.copyOf(valores, tamano * 2);
+            }
+            valores[tamano++] = valor;
+        }
+
+        private int tamano() {
+            return tamano;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package service;
+
+/**
+ * Conflictos de concurrencia optimista de una operación del servicio.
+ *
+ * @param operacion  nombre de la operación
+ * @param conflictos intentos que fallaron porque otro escritor modificó antes la misma fila
+ * @param resueltas  llamadas que terminaron bien tras al menos un reintento
+ * @param agotadas   llamadas que fallaron tras agotar los reintentos (o dentro de una
+ *                   transacción explícita, donde no se reintenta)
+ */
+public record MetricasConflictos(String operacion,
+                                 long conflictos,
+                                 long resueltas,
+                                 long agotadas) {
+}
@@ -0,0 +1,126 @@
+package service;
+
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StaleStateException;
+import util.UnidadDeTrabajo;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Reintenta las escrituras que fallan por concurrencia optimista: cuando otro escritor
+ * confirmó antes un cambio sobre la misma fila, la versión leída ya no coincide y la
+ * operación completa (lectura, cambios y guardado) se repite con los datos actuales.
+ * Entre intentos se espera un tiempo aleatorio que crece con cada intento, para que los
+ * escritores que chocaron no vuelvan a coincidir.
+ * <p>
+ * Dentro de una transacción explícita no se reintenta: el conflicto la deja marcada para
+ * revertir y es quien la abrió el que debe repetirla.
+ */
+@Slf4j
+class ReintentosConflicto {
+
+    private static final int INTENTOS_MAXIMOS = 5;
+    private static final long ESPERA_BASE_MS = 5;
+    private static final long ESPERA_MAXIMA_MS = 200;
+
+    private static final class Contadores {
+        final LongAdder conflictos = new LongAdder();
+        final LongAdder resueltas = new LongAdder();
+        final LongAdder agotadas = new LongAdder();
+    }
+
+    private final Map<String, Contadores> porOperacion = new ConcurrentHashMap<>();
+
+    <T> T ejecutar(String operacion, Supplier<T> accion) {
+        Contadores contadores = null;
+        for (int intento = 1; ; intento++) {
+            try {
+                T resultado = accion.get();
+                if (intento > 1) {
+                    contadores.resueltas.increment();
+                }
+                return resultado;
+            } catch (RuntimeException e) {
+                if (!esConflicto(e)) {
+                    throw e;
+                }
+                if (contadores == null) {
+                    contadores = porOperacion.computeIfAbsent(operacion, clave -> new Contadores());
+                }
+                contadores.conflictos.increment();
+
+                if (UnidadDeTrabajo.enCurso() || intento == INTENTOS_MAXIMOS || !esperar(intento)) {
+                    contadores.agotadas.increment();
+                    log.warn("Conflicto de concurrencia en {} tras {} intento(s)", operacion, intento);
+                    throw new IllegalStateException(
+                            "❌ El registro fue modificado por otro usuario al mismo tiempo; intente de nuevo", e);
+                }
+                log.debug("Conflicto de concurrencia en {} (intento {} de {}), se reintenta",
+                        operacion, intento, INTENTOS_MAXIMOS);
+            }
+        }
+    }
+
+    void ejecutar(String operacion, Runnable accion) {
+        ejecutar(operacion, () -> {
+            accion.run();
+            return null;
+        });
+    }
+
+    List<MetricasConflictos> metricas() {
+        return porOperacion.entrySet().stream()
+                .map(entrada -> new MetricasConflictos(entrada.getKey(),
+                        entrada.getValue().conflictos.sum(),
+                        entrada.getValue().resueltas.sum(),
+                        entrada.getValue().agotadas.sum()))
+                .sorted(Comparator.comparingLong(MetricasConflictos::conflictos).reversed())
+                .toList();
+    }
+
+    /**
+     * Falla si el registro cambió desde que el llamador lo leyó. Las actualizaciones que
+     * reemplazan todos los campos con lo que el llamador vio la usan sobre la fila recién
+     * leída, de modo que un reintento nunca pisa el cambio del otro usuario
+     */
+    static void verificarVersion(long leida, long actual) {
+        if (leida != actual) {
+            throw new IllegalStateException("❌ El registro fue modificado por otro usuario (versión leída "
+                    + leida + ", actual " + actual + "); vuelva a consultarlo e intente de nuevo");
+        }
+    }
+
+    /**
+     * Los DAOs envuelven las excepciones de persistencia, así que se busca en toda la cadena de causas
+     */
+    static boolean esConflicto(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof OptimisticLockException || causa instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Espera aleatoria entre 0 y el techo del intento (que se duplica hasta {@link #ESPERA_MAXIMA_MS}).
+     * Retorna false si el hilo fue interrumpido
+     */
+    private static boolean esperar(int intento) {
+        long techo = Math.min(ESPERA_MAXIMA_MS, ESPERA_BASE_MS << (intento - 1));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(techo + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package util;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Almacenamiento en memoria de una región de caché: LRU acotado por cantidad de
+ * entradas y con expiración por tiempo de vida. Un límite o TTL de 0 los desactiva.
+ */
+class AlmacenCacheLocal implements DomainDataStorageAccess {
+
+    private record Entrada(Object valor, long expiraEn) {
+    }
+
+    private final long ttlNanos;
+    private final LinkedHashMap<Object, Entrada> entradas;
+
+    AlmacenCacheLocal(int maxEntradas, long ttlSegundos) {
+        this.ttlNanos = ttlSegundos * 1_000_000_000L;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entrada> mayor) {
+                return maxEntradas > 0 && size() > maxEntradas;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entrada entrada = entradas.get(key);
+        if (entrada == null) {
+            return null;
+        }
+        if (expirada(entrada)) {
+            entradas.remove(key);
+            return null;
+        }
+        return entrada.valor();
+    }
+
+    @Override
+    public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        long expiraEn = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0;
+        entradas.put(key, new Entrada(value, expiraEn));
+    }
+
+    @Override
+    public synchronized boolean contains(Object key) {
+        Entrada entrada = entradas.get(key);
+        return entrada != null && !expirada(entrada);
+    }
+
+    @Override
+    public synchronized void evictData() {
+        entradas.clear();
+    }
+
+    @Override
+    public synchronized void evictData(Object key) {
+        entradas.remove(key);
+    }
+
+    @Override
+    public synchronized void release() {
+        entradas.clear();
+    }
+
+    synchronized int tamano() {
+        return entradas.size();
+    }
+
+    private boolean expirada(Entrada entrada) {
+        return ttlNanos > 0 && System.nanoTime() - entrada.expiraEn() > 0;
+    }
+}
@@ -0,0 +1,46 @@
+package util;
+
+import java.time.Duration;
+
+/**
+ * Parámetros del pool de conexiones de {@link PoolConexiones}.
+ *
+ * @param minimoInactivas      conexiones inactivas que se mantienen abiertas
+ * @param maximo               conexiones totales (prestadas + inactivas)
+ * @param tiempoEsperaConexion espera máxima por una conexión antes de fallar
+ * @param vidaMaxima           edad a partir de la cual una conexión se retira
+ * @param umbralFugas          tiempo prestada a partir del cual se reporta una posible fuga (0 = desactivado)
+ * @param tiempoValidacion     límite de {@code Connection.isValid} al validar una conexión
+ */
+public record ConfiguracionPool(int minimoInactivas,
+                                int maximo,
+                                Duration tiempoEsperaConexion,
+                                Duration vidaMaxima,
+                                Duration umbralFugas,
+                                Duration tiempoValidacion) {
+
+    public ConfiguracionPool {
+        if (maximo < 1 || minimoInactivas < 0 || minimoInactivas > maximo) {
+            throw new IllegalArgumentException(
+                    "Tamaño de pool inválido: mínimo " + minimoInactivas + ", máximo " + maximo);
+        }
+    }
+
+    public static ConfiguracionPool postgresql() {
+        return new ConfiguracionPool(2, 10, Duration.ofSeconds(30), Duration.ofMinutes(30),
+                Duration.ofMinutes(2), Duration.ofSeconds(5));
+    }
+
+    /**
+     * SQLite serializa las escrituras, así que pocas conexiones bastan
+     */
+    public static ConfiguracionPool sqlite() {
+        return new ConfiguracionPool(1, 4, Duration.ofSeconds(30), Duration.ofMinutes(30),
+                Duration.ofMinutes(2), Duration.ofSeconds(5));
+    }
+
+    public ConfiguracionPool conTamano(int minimoInactivas, int maximo) {
+        return new ConfiguracionPool(minimoInactivas, maximo, tiempoEsperaConexion, vidaMaxima,
+                umbralFugas, tiempoValidacion);
+    }
+}
@@ -0,0 +1,116 @@
+package util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de una operación: llamadas, errores y latencias. Varios hilos registran
+ * en paralelo sin bloquearse; las lecturas son aproximadas mientras se registra.
+ */
+final class ContadorOperacion implements OperacionMXBean {
+
+    private final String operacion;
+    private final String capa;
+    private final String entidad;
+    private final LongAdder llamadas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maximoNanos = new LongAccumulator(Long::max, 0);
+    private volatile HistogramaLatencia histograma = new HistogramaLatencia();
+
+    ContadorOperacion(String operacion, String capa, String entidad) {
+        this.operacion = operacion;
+        this.capa = capa;
+        this.entidad = entidad;
+    }
+
+    String operacion() {
+        return operacion;
+    }
+
+    String capa() {
+        return capa;
+    }
+
+    String entidad() {
+        return entidad;
+    }
+
+    void registrar(long nanos, boolean error) {
+        llamadas.increment();
+        if (error) {
+            errores.increment();
+        }
+        totalNanos.add(nanos);
+        maximoNanos.accumulate(nanos);
+        histograma.registrar(nanos);
+    }
+
+    MetricasOperacion instantanea() {
+        long[] conteos = histograma.copiar();
+        long total = llamadas.sum();
+        long maximo = maximoNanos.get();
+        return new MetricasOperacion(operacion, total, errores.sum(),
+                total == 0 ? 0 : micros(totalNanos.sum() / total),
+                percentil(conteos, 0.50, maximo),
+                percentil(conteos, 0.95, maximo),
+                percentil(conteos, 0.99, maximo),
+                micros(maximo));
+    }
+
+    /**
+     * El punto medio de la cubeta puede superar al máximo observado; se acota a él
+     */
+    private static long percentil(long[] conteos, double fraccion, long maximoNanos) {
+        return micros(Math.min(HistogramaLatencia.percentil(conteos, fraccion), maximoNanos));
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Override
+    public long getLlamadas() {
+        return llamadas.sum();
+    }
+
+    @Override
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    @Override
+    public long getMediaMicros() {
+        return instantanea().mediaMicros();
+    }
+
+    @Override
+    public long getP50Micros() {
+        return instantanea().p50Micros();
+    }
+
+    @Override
+    public long getP95Micros() {
+        return instantanea().p95Micros();
+    }
+
+    @Override
+    public long getP99Micros() {
+        return instantanea().p99Micros();
+    }
+
+    @Override
+    public long getMaximoMicros() {
+        return micros(maximoNanos.get());
+    }
+
+    @Override
+    public void reiniciar() {
+        llamadas.reset();
+        errores.reset();
+        totalNanos.reset();
+        maximoNanos.reset();
+        histograma = new HistogramaLatencia();
+    }
+}
@@ -0,0 +1,22 @@
+package util;
+
+/**
+ * Contadores acumulados de la caché de segundo nivel y de consultas.
+ */
+public record EstadisticasCache(long aciertos,
+                                long fallos,
+                                long escrituras,
+                                long aciertosConsultas,
+                                long fallosConsultas,
+                                int entradasCargos) {
+
+    public double tasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0.0 : (double) aciertos / total;
+    }
+
+    public double tasaAciertosConsultas() {
+        long total = aciertosConsultas + fallosConsultas;
+        return total == 0 ? 0.0 : (double) aciertosConsultas / total;
+    }
+}
@@ -0,0 +1,22 @@
+package util;
+
+/**
+ * Contadores acumulados de Hibernate (sentencias, entidades, flushes y caché) desde el
+ * arranque de la EntityManagerFactory actual.
+ */
+public record EstadisticasHibernate(long sentenciasPreparadas,
+                                    long consultasEjecutadas,
+                                    long entidadesCargadas,
+                                    long entidadesInsertadas,
+                                    long entidadesActualizadas,
+                                    long entidadesEliminadas,
+                                    long flushes,
+                                    long transacciones,
+                                    long aciertosCache,
+                                    long fallosCache,
+                                    long consultaMasLentaMs,
+                                    String consultaMasLenta) {
+
+    public static final EstadisticasHibernate VACIAS =
+            new EstadisticasHibernate(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, "");
+}
@@ -0,0 +1,31 @@
+package util;
+
+/**
+ * Vista JMX de las estadísticas de Hibernate ({@code empleados:type=Hibernate})
+ */
+public interface EstadisticasHibernateMXBean {
+
+    long getSentenciasPreparadas();
+
+    long getConsultasEjecutadas();
+
+    long getEntidadesCargadas();
+
+    long getEntidadesInsertadas();
+
+    long getEntidadesActualizadas();
+
+    long getEntidadesEliminadas();
+
+    long getFlushes();
+
+    long getTransacciones();
+
+    long getAciertosCache();
+
+    long getFallosCache();
+
+    long getConsultaMasLentaMs();
+
+    String getConsultaMasLenta();
+}
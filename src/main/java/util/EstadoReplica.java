@@ -0,0 +1,17 @@
+package util;
+
+/**
+ * Instantánea de una réplica de lectura.
+ *
+ * @param enCurso     lecturas ejecutándose ahora en la réplica
+ * @param lecturas    lecturas atendidas desde que se configuró
+ * @param fallos      lecturas que fallaron y se repitieron en el primario
+ * @param disponible  false mientras la réplica está fuera de la rotación tras un fallo
+ */
+public record EstadoReplica(String nombre,
+                            String url,
+                            int enCurso,
+                            long lecturas,
+                            long fallos,
+                            boolean disponible) {
+}
@@ -0,0 +1,31 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de la creación de una EntityManagerFactory en {@link JPAUtil}: arranque,
+ * reconexión o cambio de base de datos
+ */
+@Name("empleados.ArranqueBase")
+@Label("Arranque de base de datos")
+@Category({"Gestión de Empleados", "Persistencia"})
+@Description("Creación del pool de conexiones y arranque de Hibernate para una unidad de persistencia")
+final class EventoArranqueBase extends Event {
+
+    @Label("Unidad de persistencia")
+    String unidad;
+
+    @Label("Motivo")
+    @Description("inicio, reconexión, forzada o configuración")
+    String motivo;
+
+    @Label("Éxito")
+    boolean exito;
+
+    @Label("Error")
+    String error;
+}
@@ -0,0 +1,39 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de una operación de un DAO o del servicio. Lo emite {@link RegistroMetricas}
+ * junto con sus métricas; con la grabación apagada solo cuesta una comprobación.
+ */
+@Name("empleados.Operacion")
+@Label("Operación de gestión de empleados")
+@Category({"Gestión de Empleados", "Persistencia"})
+@Description("Llamada a un método de un DAO o de GestionEmpleadosService")
+final class EventoOperacion extends Event {
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Capa")
+    @Description("DAO o Servicio")
+    String capa;
+
+    @Label("Entidad")
+    String entidad;
+
+    @Label("Filas")
+    @Description("Filas devueltas o afectadas; -1 si el resultado no es una cantidad de filas")
+    long filas;
+
+    @Label("Sentencias")
+    @Description("Sentencias JDBC ejecutadas por el hilo durante la operación")
+    long sentencias;
+
+    @Label("Error")
+    boolean error;
+}
@@ -0,0 +1,30 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR de la ejecución de una sentencia JDBC, emitido por {@link InterceptorSentencias}.
+ * Se anida dentro del {@link EventoOperacion} del mismo hilo.
+ */
+@Name("empleados.Sentencia")
+@Label("Sentencia JDBC")
+@Category({"Gestión de Empleados", "Persistencia"})
+@Description("Ejecución de una sentencia con una conexión de PoolConexiones")
+@Threshold("1 ms")
+final class EventoSentencia extends Event {
+
+    @Label("Pool")
+    String pool;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Lote")
+    @Description("Sentencias acumuladas con addBatch, 0 si no es un lote")
+    int lote;
+}
@@ -0,0 +1,26 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de una transacción de {@link UnidadDeTrabajo}, desde que se inicia hasta
+ * que se confirma o se revierte
+ */
+@Name("empleados.Transaccion")
+@Label("Transacción")
+@Category({"Gestión de Empleados", "Persistencia"})
+@Description("Transacción ligada a un hilo por UnidadDeTrabajo")
+final class EventoTransaccion extends Event {
+
+    @Label("Resultado")
+    @Description("confirmada, revertida o fallida")
+    String resultado;
+
+    @Label("Sentencias")
+    @Description("Sentencias JDBC ejecutadas dentro de la transacción")
+    long sentencias;
+}
@@ -0,0 +1,312 @@
+package util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Mide cada sentencia JDBC ejecutada con las conexiones de {@link PoolConexiones} y
+ * registra las que superan {@value #PROP_UMBRAL_MS} milisegundos, con la forma de sus
+ * parámetros (solo los tipos, nunca los valores) y el método del DAO que la originó.
+ * Con {@value #PROP_CAPTURAR_PLAN} se adjunta además el plan de ejecución, obtenido
+ * con EXPLAIN (PostgreSQL) o EXPLAIN QUERY PLAN (SQLite) sobre la misma conexión y
+ * con los mismos parámetros; cada sentencia distinta se explica como mucho una vez
+ * cada {@link #INTERVALO_PLAN_MINUTOS} minutos.
+ * <p>
+ * Cada ejecución emite además un {@link EventoSentencia} de JFR y suma al contador de
+ * sentencias del hilo que usan los eventos de operaciones y transacciones.
+ * <p>
+ * Con {@link #receptorPlanes} asignado, cada consulta ejecutada se explica de la misma
+ * forma y se entrega su plan, sin importar el umbral; las pruebas lo usan para revisar
+ * los planes del SQL que Hibernate genera realmente.
+ */
+@Slf4j
+final class InterceptorSentencias {
+
+    static final String PROP_UMBRAL_MS = "empleados.consultas_lentas.umbral_ms";
+    static final String PROP_CAPTURAR_PLAN = "empleados.consultas_lentas.capturar_plan";
+
+    private static final long UMBRAL_MS_DEFECTO = 200;
+    private static final long INTERVALO_PLAN_MINUTOS = 5;
+    private static final int MAXIMO_PLANES_RECORDADOS = 500;
+
+    private static final StackWalker PILA = StackWalker.getInstance();
+
+    /** Recibe el SQL de cada consulta ejecutada y las líneas de su plan; null para no explicarlas */
+    static volatile BiConsumer<String, List<String>> receptorPlanes;
+
+    /** Sentencias ejecutadas por cada hilo, para los eventos JFR de operaciones y transacciones */
+    private static final ThreadLocal<long[]> SENTENCIAS_HILO = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Llamada a un setter de parámetro ({@code setString(1, ...)}, {@code setNull(2, ...)}, ...)
+     */
+    private record Enlace(Method metodo, Object[] argumentos) {
+
+        String forma() {
+            String tipo = metodo.getName().substring(3);
+            if ("Null".equals(tipo) || (argumentos.length > 1 && argumentos[1] == null)) {
+                return "null";
+            }
+            return "Object".equals(tipo) ? argumentos[1].getClass().getSimpleName() : tipo;
+        }
+    }
+
+    private final String nombrePool;
+    private final boolean sqlite;
+    private final Map<String, Long> planesCapturados = new ConcurrentHashMap<>();
+    private final LongAdder sentenciasLentas = new LongAdder();
+
+    private volatile long umbralNanos = TimeUnit.MILLISECONDS.toNanos(UMBRAL_MS_DEFECTO);
+    private volatile boolean capturarPlan;
+
+    InterceptorSentencias(String nombrePool, String url) {
+        this.nombrePool = nombrePool;
+        this.sqlite = url.startsWith("jdbc:sqlite:");
+    }
+
+    /**
+     * Lee el umbral y la captura de planes de las propiedades de la unidad de persistencia.
+     * Un umbral negativo desactiva solo el registro de sentencias lentas: los eventos JFR
+     * y los contadores por hilo se siguen emitiendo
+     */
+    void configurar(Map<String, ?> propiedades) {
+        Object umbral = propiedades.get(PROP_UMBRAL_MS);
+        long umbralMs = umbral == null ? UMBRAL_MS_DEFECTO : Long.parseLong(umbral.toString().trim());
+        Object plan = propiedades.get(PROP_CAPTURAR_PLAN);
+
+        umbralNanos = umbralMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(umbralMs);
+        capturarPlan = plan != null && Boolean.parseBoolean(plan.toString().trim());
+        log.info("Registro de sentencias lentas del pool '{}': {}", nombrePool,
+                umbralMs < 0 ? "desactivado" : "umbral " + umbralMs + " ms" + (capturarPlan ? " con plan" : ""));
+    }
+
+    long sentenciasLentas() {
+        return sentenciasLentas.sum();
+    }
+
+    /**
+     * Total de sentencias ejecutadas hasta ahora por el hilo actual; la diferencia entre
+     * dos lecturas da las sentencias de lo ejecutado entre ambas
+     */
+    static long sentenciasDelHilo() {
+        return SENTENCIAS_HILO.get()[0];
+    }
+
+    /**
+     * Envuelve la sentencia recién creada; {@code sql} es null para un Statement simple
+     */
+    Statement envolver(Statement sentencia, Class<?> tipo, String sql, Connection fisica, Connection proxy) {
+        if (!Statement.class.isAssignableFrom(tipo)) {
+            return sentencia;
+        }
+        return (Statement) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo},
+                new ManejadorSentencia(sentencia, sql, fisica, proxy));
+    }
+
+    private final class ManejadorSentencia implements InvocationHandler {
+
+        private final Statement sentencia;
+        private final String sql;
+        private final Connection fisica;
+        private final Connection proxyConexion;
+        private final Map<Integer, Enlace> enlaces = new TreeMap<>();
+        private int lote;
+
+        private ManejadorSentencia(Statement sentencia, String sql, Connection fisica, Connection proxyConexion) {
+            this.sentencia = sentencia;
+            this.sql = sql;
+            this.fisica = fisica;
+            this.proxyConexion = proxyConexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String nombre = method.getName();
+            switch (nombre) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "getConnection" -> {
+                    return proxyConexion;
+                }
+                case "clearParameters" -> enlaces.clear();
+                case "addBatch" -> lote++;
+                case "clearBatch" -> lote = 0;
+                default -> {
+                    if (nombre.startsWith("execute")) {
+                        return ejecutar(method, args);
+                    }
+                    if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                        enlaces.put(indice, new Enlace(method, args));
+                    }
+                }
+            }
+            return invocar(method, args);
+        }
+
+        private Object ejecutar(Method method, Object[] args) throws Throwable {
+            SENTENCIAS_HILO.get()[0]++;
+            EventoSentencia evento = new EventoSentencia();
+            evento.begin();
+            long inicio = System.nanoTime();
+            try {
+                return invocar(method, args);
+            } finally {
+                long duracion = System.nanoTime() - inicio;
+                long umbral = umbralNanos;
+                String ejecutada = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sql;
+                evento.end();
+                if (evento.shouldCommit()) {
+                    evento.pool = nombrePool;
+                    evento.sql = ejecutada;
+                    evento.lote = lote;
+                    evento.commit();
+                }
+                if (umbral >= 0 && duracion >= umbral) {
+                    reportar(ejecutada, duracion);
+                }
+                BiConsumer<String, List<String>> receptor = receptorPlanes;
+                if (receptor != null && ejecutada != null && esConsulta(ejecutada)) {
+                    entregarPlan(receptor, ejecutada);
+                }
+                if (method.getName().contains("Batch")) {
+                    lote = 0;
+                }
+            }
+        }
+
+        private Object invocar(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(sentencia, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void reportar(String sqlEjecutado, long nanos) {
+            sentenciasLentas.increment();
+
+            StringJoiner parametros = new StringJoiner(", ", "[", "]");
+            enlaces.values().forEach(enlace -> parametros.add(enlace.forma()));
+
+            StringBuilder mensaje = new StringBuilder()
+                    .append("Sentencia lenta (").append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms) en ")
+                    .append(origen()).append(": ").append(sqlEjecutado);
+            if (!enlaces.isEmpty()) {
+                mensaje.append(" | parámetros ").append(parametros);
+            }
+            if (lote > 0) {
+                mensaje.append(" | lote de ").append(lote);
+            }
+            if (capturarPlan && sqlEjecutado != null && debeExplicarse(sqlEjecutado)) {
+                mensaje.append(System.lineSeparator()).append(explicar(sqlEjecutado));
+            }
+            log.warn("🐢 {}", mensaje);
+        }
+
+        private String explicar(String sqlEjecutado) {
+            StringJoiner texto = new StringJoiner(System.lineSeparator() + "     ", "   Plan:" + System.lineSeparator() + "     ", "")
+                    .setEmptyValue("   Plan: sin pasos");
+            try {
+                plan(sqlEjecutado).forEach(texto::add);
+                return texto.toString();
+            } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+                return "   Plan no disponible: " + e.getMessage();
+            }
+        }
+
+        private void entregarPlan(BiConsumer<String, List<String>> receptor, String sqlEjecutado) {
+            List<String> lineas;
+            try {
+                lineas = plan(sqlEjecutado);
+            } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+                lineas = List.of("Plan no disponible: " + e.getMessage());
+            }
+            receptor.accept(sqlEjecutado, lineas);
+        }
+
+        /**
+         * Ejecuta EXPLAIN sobre la misma conexión, repitiendo los setters de parámetros
+         */
+        private List<String> plan(String sqlEjecutado) throws SQLException, ReflectiveOperationException {
+            String prefijo = sqlite ? "EXPLAIN QUERY PLAN " : "EXPLAIN ";
+            List<String> lineas = new ArrayList<>();
+            try (PreparedStatement explicacion = fisica.prepareStatement(prefijo + sqlEjecutado)) {
+                if (sql != null) {
+                    for (Enlace enlace : enlaces.values()) {
+                        enlace.metodo().invoke(explicacion, enlace.argumentos());
+                    }
+                }
+                try (ResultSet resultado = explicacion.executeQuery()) {
+                    // EXPLAIN QUERY PLAN retorna (id, parent, notused, detail); EXPLAIN, una sola columna
+                    int columna = sqlite ? 4 : 1;
+                    while (resultado.next()) {
+                        lineas.add(resultado.getString(columna));
+                    }
+                }
+            }
+            return lineas;
+        }
+    }
+
+    private static boolean esConsulta(String sqlEjecutado) {
+        String inicio = sqlEjecutado.stripLeading().toLowerCase(Locale.ROOT);
+        return inicio.startsWith("select") || inicio.startsWith("with");
+    }
+
+    private boolean debeExplicarse(String sqlEjecutado) {
+        String inicio = sqlEjecutado.stripLeading().toLowerCase(Locale.ROOT);
+        if (!(esConsulta(sqlEjecutado) || inicio.startsWith("insert")
+                || inicio.startsWith("update") || inicio.startsWith("delete"))) {
+            return false;
+        }
+
+        long ahora = System.nanoTime();
+        Long anterior = planesCapturados.get(sqlEjecutado);
+        if (anterior != null && ahora - anterior < TimeUnit.MINUTES.toNanos(INTERVALO_PLAN_MINUTOS)) {
+            return false;
+        }
+        if (planesCapturados.size() >= MAXIMO_PLANES_RECORDADOS) {
+            planesCapturados.clear();
+        }
+        planesCapturados.put(sqlEjecutado, ahora);
+        return true;
+    }
+
+    /**
+     * Primer método de un DAO en la pila (sin contar lambdas); si no lo hay, el primer
+     * método del servicio
+     */
+    private static String origen() {
+        return PILA.walk(marcos -> marcos
+                        .filter(marco -> !marco.getMethodName().startsWith("lambda$"))
+                        .filter(marco -> marco.getClassName().startsWith("dao.") && marco.getClassName().endsWith("DAO")
+                                || marco.getClassName().startsWith("service."))
+                        .findFirst())
+                .map(marco -> marco.getClassName().substring(marco.getClassName().indexOf('.') + 1)
+                        + "." + marco.getMethodName())
+                .orElse("origen desconocido");
+    }
+}
@@ -5,83 +5,509 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import lombok.extern.slf4j.Slf4j;
+import models.Cargo;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.boot.internal.ParsedPersistenceXmlDescriptor;
+import org.hibernate.jpa.boot.internal.PersistenceXmlParser;
+import org.hibernate.stat.Statistics;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public class JPAUtil {
 
-    private static final String POSTGRES_UNIT = "postgres-unit";
+    private static final String POSTGRES_UNIT = "pgres-db";
     private static final String SQLITE_UNIT = "sqlite-unit";
 
-    private static EntityManagerFactory entityManagerFactory;
+
+    private static volatile EntityManagerFactory entityManagerFactory;
+    private static volatile PoolConexiones pool;
     private static String activeUnit;
-    private static boolean usingFallback = false;
+    private static volatile boolean usingFallback = false;
+    private static volatile DatosConexion conexionActiva;
 
-    static {
-        initializeDatabaseConnection();
-    }
+    private static final String NO_INICIALIZADA = "no inicializada";
 
-    private static void initializeDatabaseConnection() {
-        // Primero intentar con PostgreSQL
-        try {
-            log.info("🔍 Intentando conectar a PostgreSQL...");
-            entityManagerFactory = Persistence.createEntityManagerFactory(POSTGRES_UNIT);
-            activeUnit = POSTGRES_UNIT;
-            usingFallback = false;
-            log.info("✅ Conectado exitosamente a PostgreSQL");
+    /**
+     * Réplicas de lectura separadas por comas: archivos SQLite si la base activa es
+     * SQLite, URLs JDBC si es PostgreSQL. Se configuran al arrancar la base
+     */
+    public static final String PROP_REPLICAS = "empleados.replicas";
+
+    private static volatile List<ReplicaLectura> replicas = List.of();
+    private static final AtomicInteger turnoReplica = new AtomicInteger();
+
+    /**
+     * Las réplicas no tocan el esquema y no usan la caché de segundo nivel: no reciben
+     * las invalidaciones de las escrituras, que solo ocurren en el primario
+     */
+    private static final Map<String, Object> PROPIEDADES_REPLICA = Map.of(
+            AvailableSettings.HBM2DDL_AUTO, "none",
+            AvailableSettings.USE_SECOND_LEVEL_CACHE, "false",
+            AvailableSettings.USE_QUERY_CACHE, "false");
+
+    /** Límite de cada sondeo de conexión previo al arranque de Hibernate */
+    private static final Duration TIEMPO_SONDEO = Duration.ofSeconds(2);
 
-        } catch (Exception postgresEx) {
-            log.warn("❌ No se pudo conectar a PostgreSQL: {}", postgresEx.getMessage());
-            log.info("🔄 Intentando fallback a SQLite...");
+    /**
+     * Elige la base de datos y arranca Hibernate una sola vez. Antes del arranque se
+     * sondean PostgreSQL y SQLite en paralelo con un límite corto, de modo que un
+     * servidor caído no cuesta el timeout completo de JDBC más un arranque fallido.
+     */
+    private static void initializeDatabaseConnection(String motivo) {
+        long inicio = System.nanoTime();
+        DatosConexion postgres = datosConexion(POSTGRES_UNIT);
+        DatosConexion sqlite = datosConexion(SQLITE_UNIT);
 
-            // Fallback a SQLite
+        ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+        Future<Long> sondeoPostgres = hilos.submit(() -> sondear(postgres));
+        Future<Long> sondeoSqlite = hilos.submit(() -> sondear(sqlite));
+        hilos.shutdown();
+
+        log.info("🔍 Sondeando PostgreSQL y SQLite...");
+        long postgresMs = esperarSondeo(sondeoPostgres, "PostgreSQL");
+        long sqliteMs = esperarSondeo(sondeoSqlite, "SQLite");
+        log.info("Sondeo completado en {} ms (PostgreSQL: {}, SQLite: {})", milisDesde(inicio),
+                postgresMs < 0 ? "no disponible" : postgresMs + " ms",
+                sqliteMs < 0 ? "no disponible" : sqliteMs + " ms");
+
+        Exception postgresEx = null;
+        if (postgresMs >= 0) {
             try {
-                entityManagerFactory = Persistence.createEntityManagerFactory(SQLITE_UNIT);
-                activeUnit = SQLITE_UNIT;
-                usingFallback = true;
-                log.info("✅ Conectado exitosamente a SQLite (modo fallback)");
-
-            } catch (Exception sqliteEx) {
-                log.error("💥 Error crítico: No se pudo conectar a ninguna base de datos");
-                log.error("Error PostgreSQL: {}", postgresEx.getMessage());
-                log.error("Error SQLite: {}", sqliteEx.getMessage());
-                throw new RuntimeException("No se pudo conectar a ninguna base de datos disponible", sqliteEx);
+                long arranque = System.nanoTime();
+                entityManagerFactory = crearFactory(POSTGRES_UNIT, postgres, ConfiguracionPool.postgresql(), motivo);
+                activeUnit = POSTGRES_UNIT;
+                usingFallback = false;
+                log.info("✅ Conectado exitosamente a PostgreSQL (arranque de Hibernate: {} ms, total: {} ms)",
+                        milisDesde(arranque), milisDesde(inicio));
+                return;
+
+            } catch (Exception e) {
+                postgresEx = e;
+                log.warn("❌ No se pudo conectar a PostgreSQL: {}", e.getMessage());
             }
         }
+
+        // Fallback a SQLite
+        log.info("🔄 Usando SQLite (modo fallback)...");
+        try {
+            long arranque = System.nanoTime();
+            entityManagerFactory = crearFactory(SQLITE_UNIT, sqlite, ConfiguracionPool.sqlite(), motivo);
+            activeUnit = SQLITE_UNIT;
+            usingFallback = true;
+            log.info("✅ Conectado exitosamente a SQLite (arranque de Hibernate: {} ms, total: {} ms)",
+                    milisDesde(arranque), milisDesde(inicio));
+
+        } catch (Exception sqliteEx) {
+            log.error("💥 Error crítico: No se pudo conectar a ninguna base de datos");
+            log.error("Error PostgreSQL: {}", postgresEx != null ? postgresEx.getMessage() : "no responde al sondeo");
+            log.error("Error SQLite: {}", sqliteEx.getMessage());
+            throw new RuntimeException("No se pudo conectar a ninguna base de datos disponible", sqliteEx);
+        }
+    }
+
+    /**
+     * URL y credenciales de una unidad de persistencia. Se toman de las propiedades
+     * {@code jakarta.persistence.jdbc.*} de persistence.xml y cada una puede reemplazarse
+     * con la propiedad de sistema {@code <unidad>.url}, {@code <unidad>.usuario} o
+     * {@code <unidad>.password}, o con la variable de entorno equivalente (por ejemplo
+     * {@code PGRES_DB_PASSWORD}); la propiedad de sistema tiene prioridad.
+     */
+    private static DatosConexion datosConexion(String unidad) {
+        Properties propiedades = PersistenceXmlParser.locatePersistenceUnits(Map.of()).stream()
+                .filter(descriptor -> descriptor.getName().equals(unidad))
+                .findFirst()
+                .map(ParsedPersistenceXmlDescriptor::getProperties)
+                .orElseThrow(() -> new IllegalStateException("Unidad de persistencia no encontrada: " + unidad));
+
+        String url = valorConexion(unidad, "url", propiedades.getProperty(AvailableSettings.JAKARTA_JDBC_URL));
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("La unidad " + unidad + " no define " + AvailableSettings.JAKARTA_JDBC_URL);
+        }
+        return new DatosConexion(url,
+                valorConexion(unidad, "usuario", propiedades.getProperty(AvailableSettings.JAKARTA_JDBC_USER, "")),
+                valorConexion(unidad, "password", propiedades.getProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")));
+    }
+
+    private static String valorConexion(String unidad, String clave, String porDefecto) {
+        String valor = System.getProperty(unidad + "." + clave);
+        if (valor == null) {
+            valor = System.getenv((unidad + "_" + clave).replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+        return valor != null ? valor : porDefecto;
     }
 
+    private record DatosConexion(String url, String usuario, String password) {
+    }
+
+    /**
+     * Abre y valida una conexión JDBC con timeouts cortos.
+     * Retorna los milisegundos que tomó, o -1 si la base no está disponible
+     */
+    private static long sondear(DatosConexion datos) {
+        long inicio = System.nanoTime();
+        String segundos = String.valueOf(TIEMPO_SONDEO.toSeconds());
+
+        Properties propiedades = new Properties();
+        propiedades.setProperty("user", datos.usuario());
+        propiedades.setProperty("password", datos.password());
+        propiedades.setProperty("connectTimeout", segundos);
+        propiedades.setProperty("loginTimeout", segundos);
+        propiedades.setProperty("socketTimeout", segundos);
+
+        try (Connection conexion = DriverManager.getConnection(datos.url(), propiedades)) {
+            return conexion.isValid((int) TIEMPO_SONDEO.toSeconds()) ? milisDesde(inicio) : -1;
+        } catch (SQLException e) {
+            log.debug("Sondeo fallido para {}: {}", datos.url(), e.getMessage());
+            return -1;
+        }
+    }
+
+    private static long esperarSondeo(Future<Long> sondeo, String baseDatos) {
+        try {
+            return sondeo.get(TIEMPO_SONDEO.toMillis() + 500, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            sondeo.cancel(true);
+            log.debug("Sondeo de {} sin respuesta tras {} ms", baseDatos, TIEMPO_SONDEO.toMillis());
+            return -1;
+        } catch (ExecutionException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static long milisDesde(long inicioNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+    }
+
+    /**
+     * Crea la factory de la unidad indicada usando un {@link PoolConexiones} propio como
+     * DataSource, con el registro de sentencias lentas configurado desde la unidad, y
+     * alinea los generadores de ids con los datos existentes ({@link SemillaSecuencias}).
+     * Si la factory no puede crearse, el pool se cierra. Cada intento emite un
+     * {@link EventoArranqueBase} de JFR con el motivo indicado.
+     */
+    private static EntityManagerFactory crearFactory(String unidad, DatosConexion datos,
+                                                     ConfiguracionPool configuracion, String motivo) {
+        PoolConexiones nuevoPool = new PoolConexiones(unidad, datos.url(), datos.usuario(), datos.password(),
+                configuracion);
+        EntityManagerFactory factory = crearFactory(unidad, nuevoPool, Map.of(), motivo);
+        try {
+            SemillaSecuencias.sembrar(nuevoPool);
+        } catch (RuntimeException e) {
+            factory.close();
+            nuevoPool.close();
+            throw e;
+        }
+        pool = nuevoPool;
+        conexionActiva = datos;
+        return factory;
+    }
+
+    private static EntityManagerFactory crearFactory(String unidad, PoolConexiones nuevoPool,
+                                                     Map<String, Object> adicionales, String motivo) {
+        EventoArranqueBase evento = new EventoArranqueBase();
+        evento.begin();
+        try {
+            Map<String, Object> properties = new HashMap<>(adicionales);
+            properties.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, nuevoPool);
+            EntityManagerFactory factory = Persistence.createEntityManagerFactory(unidad, properties);
+            nuevoPool.configurarSentenciasLentas(factory.getProperties());
+            registrarArranque(evento, unidad, motivo, null);
+            return factory;
+        } catch (RuntimeException e) {
+            nuevoPool.close();
+            registrarArranque(evento, unidad, motivo, e);
+            throw e;
+        }
+    }
+
+    private static void registrarArranque(EventoArranqueBase evento, String unidad, String motivo, Exception error) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.unidad = unidad;
+            evento.motivo = motivo;
+            evento.exito = error == null;
+            evento.error = error == null ? null : error.getMessage();
+            evento.commit();
+        }
+    }
+
+    /**
+     * Crea un EntityManager nuevo. Es seguro llamarlo desde varios hilos; quien lo
+     * obtiene es responsable de cerrarlo (ver {@link UnidadDeTrabajo}). La base de
+     * datos se elige y Hibernate arranca en el primer uso.
+     */
     public static EntityManager getEntityManager() {
-        if (entityManagerFactory == null) {
-            initializeDatabaseConnection();
+        return getEntityManagerFactory().createEntityManager();
+    }
+
+    private static EntityManagerFactory getEntityManagerFactory() {
+        EntityManagerFactory factory = entityManagerFactory;
+        if (factory == null) {
+            synchronized (JPAUtil.class) {
+                if (entityManagerFactory == null) {
+                    initializeDatabaseConnection("inicio");
+                    configurarReplicasDesdeSistema();
+                }
+                factory = entityManagerFactory;
+            }
         }
-        return entityManagerFactory.createEntityManager();
+        return factory;
     }
 
+    /**
+     * Indica si la base activa es SQLite. No arranca la base de datos: retorna false si
+     * aún no se ha usado
+     */
     public static boolean isUsingFallback() {
-        return usingFallback;
+        return inicializada() && usingFallback;
     }
 
+    /**
+     * Nombre de la base activa, o "no inicializada" si aún no se ha usado
+     */
     public static String getActiveDatabase() {
+        if (!inicializada()) {
+            return NO_INICIALIZADA;
+        }
         return usingFallback ? "SQLite" : "PostgreSQL";
     }
 
+    private static boolean inicializada() {
+        EntityManagerFactory factory = entityManagerFactory;
+        return factory != null && factory.isOpen();
+    }
+
+    /**
+     * Aciertos y fallos de la caché de segundo nivel y de consultas desde el arranque
+     */
+    public static EstadisticasCache getEstadisticasCache() {
+        SessionFactoryImplementor sessionFactory = getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        Statistics estadisticas = sessionFactory.getStatistics();
+
+        int entradasCargos = 0;
+        if (sessionFactory.getCache().getRegionFactory() instanceof RegionFactoryLocal regionFactory) {
+            entradasCargos = regionFactory.tamanoRegion(Cargo.REGION_CACHE);
+        }
+
+        return new EstadisticasCache(
+                estadisticas.getSecondLevelCacheHitCount(),
+                estadisticas.getSecondLevelCacheMissCount(),
+                estadisticas.getSecondLevelCachePutCount(),
+                estadisticas.getQueryCacheHitCount(),
+                estadisticas.getQueryCacheMissCount(),
+                entradasCargos);
+    }
+
+    /**
+     * Sentencias, entidades, flushes y caché según las estadísticas de Hibernate.
+     * No arranca la base de datos: retorna contadores vacíos si aún no se ha usado
+     */
+    public static EstadisticasHibernate getEstadisticasHibernate() {
+        EntityManagerFactory factory = entityManagerFactory;
+        if (factory == null || !factory.isOpen()) {
+            return EstadisticasHibernate.VACIAS;
+        }
+        Statistics estadisticas = factory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        String consultaMasLenta = estadisticas.getQueryExecutionMaxTimeQueryString();
+
+        return new EstadisticasHibernate(
+                estadisticas.getPrepareStatementCount(),
+                estadisticas.getQueryExecutionCount(),
+                estadisticas.getEntityLoadCount(),
+                estadisticas.getEntityInsertCount(),
+                estadisticas.getEntityUpdateCount(),
+                estadisticas.getEntityDeleteCount(),
+                estadisticas.getFlushCount(),
+                estadisticas.getTransactionCount(),
+                estadisticas.getSecondLevelCacheHitCount(),
+                estadisticas.getSecondLevelCacheMissCount(),
+                estadisticas.getQueryExecutionMaxTime(),
+                consultaMasLenta != null ? consultaMasLenta : "");
+    }
+
+    /**
+     * Estado actual del pool de conexiones (activas, inactivas, hilos esperando y tiempos de adquisición)
+     */
+    public static MetricasPool getMetricasPool() {
+        getEntityManagerFactory();
+        return pool.metricas();
+    }
+
+    /**
+     * Configuración del pool de conexiones de la base activa
+     */
+    public static ConfiguracionPool getConfiguracionPool() {
+        getEntityManagerFactory();
+        return pool.getConfiguracion();
+    }
+
+    // ===== RÉPLICAS DE LECTURA =====
+
+    /**
+     * Configura réplicas de solo lectura de la base activa, reemplazando las anteriores.
+     * Las lecturas marcadas con {@link UnidadDeTrabajo#soloLectura} se reparten entre
+     * ellas; todo lo demás sigue yendo al primario. Se descartan al cerrar o cambiar la
+     * base activa
+     */
+    public static synchronized void configurarReplicas(List<String> urls, String usuario, String password,
+                                                       ConfiguracionPool configuracion) {
+        getEntityManagerFactory();
+        List<ReplicaLectura> nuevas = new ArrayList<>(urls.size());
+        try {
+            for (String url : urls) {
+                String nombre = activeUnit + "-replica-" + (nuevas.size() + 1);
+                PoolConexiones poolReplica = new PoolConexiones(nombre, url, usuario, password, configuracion);
+                EntityManagerFactory factory = crearFactory(activeUnit, poolReplica, PROPIEDADES_REPLICA, "réplica");
+                nuevas.add(new ReplicaLectura(nombre, url, factory, poolReplica));
+            }
+        } catch (RuntimeException e) {
+            nuevas.forEach(ReplicaLectura::cerrar);
+            log.error("Error al configurar las réplicas de lectura: {}", e.getMessage());
+            throw new RuntimeException("Error al configurar las réplicas de lectura", e);
+        }
+
+        List<ReplicaLectura> anteriores = replicas;
+        replicas = List.copyOf(nuevas);
+        anteriores.forEach(ReplicaLectura::cerrar);
+        log.info("📚 {} réplica(s) de lectura configuradas para {}", nuevas.size(), activeUnit);
+    }
+
+    /**
+     * Réplicas SQLite para pruebas locales, abiertas en modo de solo lectura. Un archivo
+     * que no existe se crea como copia instantánea del primario (VACUUM INTO), así que se
+     * comporta como una réplica detenida en ese momento; para refrescarla basta borrarlo
+     * antes de configurar
+     */
+    public static synchronized void configurarReplicasSQLite(String... archivos) {
+        getEntityManagerFactory();
+        if (!isUsingFallback()) {
+            throw new IllegalStateException("Las réplicas SQLite requieren que la base activa sea SQLite");
+        }
+        List<String> urls = new ArrayList<>(archivos.length);
+        for (String archivo : archivos) {
+            Path ruta = Path.of(archivo).toAbsolutePath();
+            if (Files.notExists(ruta)) {
+                copiarPrimarioSQLite(ruta);
+            }
+            urls.add("jdbc:sqlite:" + ruta + "?open_mode=1");
+        }
+        configurarReplicas(urls, "", "", ConfiguracionPool.sqlite());
+    }
+
+    private static void copiarPrimarioSQLite(Path destino) {
+        DatosConexion datos = conexionActiva;
+        try (Connection conexion = DriverManager.getConnection(datos.url(), datos.usuario(), datos.password());
+             PreparedStatement copia = conexion.prepareStatement("VACUUM INTO ?")) {
+            copia.setString(1, destino.toString());
+            copia.execute();
+            log.info("Copia del primario creada en {}", destino);
+        } catch (SQLException e) {
+            log.error("Error al copiar la base SQLite a {}: {}", destino, e.getMessage());
+            throw new RuntimeException("Error al copiar la base SQLite a " + destino, e);
+        }
+    }
+
+    /**
+     * Lee {@value #PROP_REPLICAS}; un error deja la aplicación funcionando solo con el primario
+     */
+    private static void configurarReplicasDesdeSistema() {
+        String valor = System.getProperty(PROP_REPLICAS);
+        if (valor == null || valor.isBlank()) {
+            return;
+        }
+        String[] entradas = Arrays.stream(valor.split(",")).map(String::trim)
+                .filter(entrada -> !entrada.isEmpty()).toArray(String[]::new);
+        try {
+            if (usingFallback) {
+                configurarReplicasSQLite(entradas);
+            } else {
+                configurarReplicas(List.of(entradas), conexionActiva.usuario(), conexionActiva.password(),
+                        ConfiguracionPool.postgresql());
+            }
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Se continúa sin réplicas de lectura: {}", e.getMessage());
+        }
+    }
+
+    public static synchronized void quitarReplicas() {
+        List<ReplicaLectura> anteriores = replicas;
+        replicas = List.of();
+        anteriores.forEach(ReplicaLectura::cerrar);
+        if (!anteriores.isEmpty()) {
+            log.info("Réplicas de lectura cerradas");
+        }
+    }
+
+    public static List<EstadoReplica> getEstadoReplicas() {
+        return replicas.stream().map(ReplicaLectura::estado).toList();
+    }
+
+    /**
+     * Réplica para una lectura: la de menos lecturas en curso entre las disponibles,
+     * recorriéndolas por turnos para repartir los empates. Null si no hay ninguna
+     */
+    static ReplicaLectura elegirReplica() {
+        List<ReplicaLectura> candidatas = replicas;
+        int cantidad = candidatas.size();
+        if (cantidad == 0) {
+            return null;
+        }
+        long ahora = System.nanoTime();
+        int inicio = Math.floorMod(turnoReplica.getAndIncrement(), cantidad);
+        ReplicaLectura elegida = null;
+        for (int i = 0; i < cantidad; i++) {
+            ReplicaLectura replica = candidatas.get((inicio + i) % cantidad);
+            if (replica.disponible(ahora) && (elegida == null || replica.enCurso() < elegida.enCurso())) {
+                elegida = replica;
+            }
+        }
+        return elegida;
+    }
+
+    /**
+     * Base activa y su URL JDBC, o "no inicializada" si aún no se ha usado
+     */
     public static String getConnectionDetails() {
-        if (usingFallback) {
-            return "SQLite (archivo local: gestion_empleados.db)";
-        } else {
-            return "PostgreSQL (servidor)";
+        DatosConexion datos = conexionActiva;
+        if (!inicializada() || datos == null) {
+            return NO_INICIALIZADA;
         }
+        return getActiveDatabase() + " (" + datos.url() + ")";
     }
 
     /**
      * Forzar el uso de una unidad específica (útil para testing)
      */
-    public static void forceDatabase(String unitName) {
+    public static synchronized void forceDatabase(String unitName) {
         close();
         try {
-            entityManagerFactory = Persistence.createEntityManagerFactory(unitName);
+            entityManagerFactory = crearFactory(unitName, datosConexion(unitName), SQLITE_UNIT.equals(unitName)
+                    ? ConfiguracionPool.sqlite() : ConfiguracionPool.postgresql(), "forzada");
             activeUnit = unitName;
             usingFallback = SQLITE_UNIT.equals(unitName);
             log.info("Base de datos forzada a: {}", unitName);
@@ -94,53 +520,70 @@ public class JPAUtil {
     /**
      * Reiniciar la conexión (útil para recuperación)
      */
-    public static void reconnect() {
+    public static synchronized void reconnect() {
         close();
-        initializeDatabaseConnection();
+        initializeDatabaseConnection("reconexión");
     }
 
-    public static void close() {
+    public static synchronized void close() {
+        quitarReplicas();
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
             entityManagerFactory.close();
             entityManagerFactory = null;
             log.info("Conexión de base de datos cerrada");
         }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
     }
 
     /**
      * Configuración personalizada para PostgreSQL
      */
-    public static void configurePostgreSQL(String host, String port, String database,
+    public static synchronized void configurePostgreSQL(String host, String port, String database,
                                            String username, String password) {
-        Map<String, String> properties = new HashMap<>();
-        properties.put("jakarta.persistence.jdbc.url",
-                String.format("jdbc:postgresql://%s:%s/%s", host, port, database));
-        properties.put("jakarta.persistence.jdbc.user", username);
-        properties.put("jakarta.persistence.jdbc.password", password);
+        configurePostgreSQL(host, port, database, username, password, ConfiguracionPool.postgresql());
+    }
+
+    /**
+     * Configuración personalizada para PostgreSQL con un pool de conexiones a medida
+     */
+    public static synchronized void configurePostgreSQL(String host, String port, String database,
+                                                        String username, String password,
+                                                        ConfiguracionPool configuracionPool) {
+        String url = String.format("jdbc:postgresql://%s:%s/%s", host, port, database);
 
         close();
         try {
-            entityManagerFactory = Persistence.createEntityManagerFactory(POSTGRES_UNIT, properties);
+            entityManagerFactory = crearFactory(POSTGRES_UNIT, new DatosConexion(url, username, password),
+                    configuracionPool, "configuración");
             activeUnit = POSTGRES_UNIT;
             usingFallback = false;
-            log.info("PostgreSQL configurado: {}@{}:{}/{}", username, host, port, database);
+            log.info("PostgreSQL configurado: {}@{}:{}/{} (pool de {} conexiones)",
+                    username, host, port, database, configuracionPool.maximo());
         } catch (Exception e) {
             log.error("Error configurando PostgreSQL: {}", e.getMessage());
             // Fallback automático
-            initializeDatabaseConnection();
+            initializeDatabaseConnection("configuración");
         }
     }
 
     /**
      * Configuración personalizada para SQLite
      */
-    public static void configureSQLite(String filePath) {
-        Map<String, String> properties = new HashMap<>();
-        properties.put("jakarta.persistence.jdbc.url", "jdbc:sqlite:" + filePath);
+    public static synchronized void configureSQLite(String filePath) {
+        configureSQLite(filePath, ConfiguracionPool.sqlite());
+    }
 
+    /**
+     * Configuración personalizada para SQLite con un pool de conexiones a medida
+     */
+    public static synchronized void configureSQLite(String filePath, ConfiguracionPool configuracionPool) {
         close();
         try {
-            entityManagerFactory = Persistence.createEntityManagerFactory(SQLITE_UNIT, properties);
+            entityManagerFactory = crearFactory(SQLITE_UNIT, new DatosConexion("jdbc:sqlite:" + filePath, "", ""),
+                    configuracionPool, "configuración");
             activeUnit = SQLITE_UNIT;
             usingFallback = true;
             log.info("SQLite configurado: {}", filePath);
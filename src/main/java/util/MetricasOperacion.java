@@ -0,0 +1,19 @@
+package util;
+
+/**
+ * Instantánea de las métricas de una operación medida por {@link RegistroMetricas}.
+ * Los tiempos están en microsegundos.
+ */
+public record MetricasOperacion(String operacion,
+                                long llamadas,
+                                long errores,
+                                long mediaMicros,
+                                long p50Micros,
+                                long p95Micros,
+                                long p99Micros,
+                                long maximoMicros) {
+
+    public double tasaErrores() {
+        return llamadas == 0 ? 0.0 : (double) errores / llamadas;
+    }
+}
@@ -0,0 +1,27 @@
+package util;
+
+/**
+ * Instantánea del estado del pool de conexiones.
+ *
+ * @param activas                 conexiones prestadas en este momento
+ * @param inactivas               conexiones abiertas disponibles
+ * @param hilosEsperando          hilos bloqueados esperando una conexión
+ * @param adquisiciones           total de conexiones entregadas
+ * @param tiemposAgotados         solicitudes que fallaron por tiempo de espera
+ * @param adquisicionMediaMicros  latencia media de obtención de una conexión
+ * @param adquisicionMaximaMicros latencia máxima observada de obtención de una conexión
+ * @param sentenciasLentas        sentencias que superaron el umbral de {@link InterceptorSentencias}
+ */
+public record MetricasPool(int activas,
+                           int inactivas,
+                           int hilosEsperando,
+                           long adquisiciones,
+                           long tiemposAgotados,
+                           long adquisicionMediaMicros,
+                           long adquisicionMaximaMicros,
+                           long sentenciasLentas) {
+
+    public int total() {
+        return activas + inactivas;
+    }
+}
@@ -0,0 +1,23 @@
+package util;
+
+/**
+ * Vista JMX de las métricas de una operación ({@code empleados:type=Operacion,name=...})
+ */
+public interface OperacionMXBean {
+
+    long getLlamadas();
+
+    long getErrores();
+
+    long getMediaMicros();
+
+    long getP50Micros();
+
+    long getP95Micros();
+
+    long getP99Micros();
+
+    long getMaximoMicros();
+
+    void reiniciar();
+}
@@ -0,0 +1,440 @@
+package util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Pool de conexiones JDBC usado por Hibernate como DataSource. Mantiene un mínimo de
+ * conexiones inactivas, limita el total, valida las conexiones que llevan un tiempo
+ * sin usarse, retira las que superan su vida máxima y reporta posibles fugas
+ * (conexiones prestadas por más de {@link ConfiguracionPool#umbralFugas()}).
+ * Las conexiones entregadas son proxies cuyo {@code close()} las devuelve al pool, y
+ * sus sentencias pasan por {@link InterceptorSentencias} para registrar las lentas.
+ */
+@Slf4j
+public class PoolConexiones implements DataSource, AutoCloseable {
+
+    /** Una conexión usada hace menos de esto se entrega sin validarla. */
+    private static final long VENTANA_SIN_VALIDACION_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long INTERVALO_MANTENIMIENTO_SEGUNDOS = 30;
+    private static final long ESPERA_MAXIMA_POR_INTENTO_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final class ConexionEnPool {
+        private final Connection fisica;
+        private final long creadaEn = System.nanoTime();
+        private volatile long ultimoUso = creadaEn;
+        private volatile long prestadaEn;
+        private volatile Throwable origenPrestamo;
+        private volatile boolean fugaReportada;
+
+        private ConexionEnPool(Connection fisica) {
+            this.fisica = fisica;
+        }
+
+        private boolean expirada(long ahora) {
+            return ahora - creadaEn > config.vidaMaxima().toNanos();
+        }
+    }
+
+    private final String nombre;
+    private final String url;
+    private final String usuario;
+    private final String password;
+    private final Properties propiedadesConexion;
+    private final ConfiguracionPool config;
+    private final InterceptorSentencias interceptor;
+
+    private final LinkedBlockingDeque<ConexionEnPool> inactivas = new LinkedBlockingDeque<>();
+    private final Set<ConexionEnPool> prestadas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger esperando = new AtomicInteger();
+
+    private final LongAdder adquisiciones = new LongAdder();
+    private final LongAdder nanosAdquisicion = new LongAdder();
+    private final LongAdder tiemposAgotados = new LongAdder();
+    private final AtomicLong maximoNanosAdquisicion = new AtomicLong();
+
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado;
+
+    public PoolConexiones(String nombre, String url, String usuario, String password, ConfiguracionPool config) {
+        this.nombre = nombre;
+        this.url = url;
+        this.usuario = usuario;
+        this.password = password;
+        this.propiedadesConexion = propiedadesConexion(url, usuario, password, config);
+        this.config = config;
+        this.interceptor = new InterceptorSentencias(nombre, url);
+
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "pool-" + nombre + "-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        mantenimiento.scheduleWithFixedDelay(this::mantener,
+                0, INTERVALO_MANTENIMIENTO_SEGUNDOS, TimeUnit.SECONDS);
+        log.info("Pool '{}' creado: mínimo {} inactivas, máximo {} conexiones",
+                nombre, config.minimoInactivas(), config.maximo());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool '" + nombre + "' está cerrado");
+        }
+
+        long inicio = System.nanoTime();
+        long limite = inicio + config.tiempoEsperaConexion().toNanos();
+        try {
+            while (true) {
+                ConexionEnPool conexion = inactivas.pollFirst();
+                if (conexion == null) {
+                    conexion = crearSiHayCupo();
+                }
+                if (conexion == null) {
+                    long restante = limite - System.nanoTime();
+                    if (restante <= 0) {
+                        tiemposAgotados.increment();
+                        throw new SQLTimeoutException(String.format(
+                                "Pool '%s' agotado: sin conexión disponible tras %d ms (activas %d, máximo %d)",
+                                nombre, config.tiempoEsperaConexion().toMillis(), prestadas.size(), config.maximo()));
+                    }
+                    // Se espera por tramos para reintentar la creación si se liberó cupo
+                    esperando.incrementAndGet();
+                    try {
+                        conexion = inactivas.pollFirst(Math.min(restante, ESPERA_MAXIMA_POR_INTENTO_NANOS),
+                                TimeUnit.NANOSECONDS);
+                    } finally {
+                        esperando.decrementAndGet();
+                    }
+                    if (conexion == null) {
+                        continue;
+                    }
+                }
+
+                if (!utilizable(conexion)) {
+                    retirar(conexion);
+                    continue;
+                }
+                return prestar(conexion, inicio);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba una conexión del pool '" + nombre + "'", e);
+        }
+    }
+
+    /**
+     * Solo se aceptan las credenciales con las que se configuró el pool
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!Objects.equals(Objects.requireNonNullElse(username, ""), Objects.requireNonNullElse(usuario, ""))
+                || !Objects.equals(Objects.requireNonNullElse(password, ""), Objects.requireNonNullElse(this.password, ""))) {
+            throw new SQLFeatureNotSupportedException("El pool '" + nombre + "' usa las credenciales con las que fue configurado");
+        }
+        return getConnection();
+    }
+
+    public MetricasPool metricas() {
+        long cantidad = adquisiciones.sum();
+        long media = cantidad == 0 ? 0 : nanosAdquisicion.sum() / cantidad / 1000;
+        return new MetricasPool(prestadas.size(), inactivas.size(), esperando.get(), cantidad,
+                tiemposAgotados.sum(), media, maximoNanosAdquisicion.get() / 1000,
+                interceptor.sentenciasLentas());
+    }
+
+    /**
+     * Aplica el umbral de sentencias lentas y la captura de planes definidos en las
+     * propiedades de la unidad de persistencia
+     */
+    public void configurarSentenciasLentas(Map<String, ?> propiedades) {
+        interceptor.configurar(propiedades);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public ConfiguracionPool getConfiguracion() {
+        return config;
+    }
+
+    @Override
+    public void close() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        mantenimiento.shutdownNow();
+
+        ConexionEnPool conexion;
+        while ((conexion = inactivas.pollFirst()) != null) {
+            retirar(conexion);
+        }
+        if (!prestadas.isEmpty()) {
+            log.warn("Pool '{}' cerrado con {} conexiones prestadas; se cerrarán al devolverse",
+                    nombre, prestadas.size());
+        }
+        log.info("Pool '{}' cerrado", nombre);
+    }
+
+    // ===== CICLO DE VIDA DE LAS CONEXIONES =====
+
+    private ConexionEnPool crearSiHayCupo() throws SQLException {
+        while (true) {
+            int actual = total.get();
+            if (actual >= config.maximo()) {
+                return null;
+            }
+            if (total.compareAndSet(actual, actual + 1)) {
+                break;
+            }
+        }
+
+        try {
+            return new ConexionEnPool(DriverManager.getConnection(url, propiedadesConexion));
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Credenciales y, en PostgreSQL, límites para abrir la conexión (segundos, redondeados
+     * hacia arriba) iguales a la espera máxima por una conexión, para que un servidor que
+     * no responde no deje el hilo bloqueado en la creación. SQLite abre un archivo local
+     * y no los necesita
+     */
+    private static Properties propiedadesConexion(String url, String usuario, String password,
+                                                  ConfiguracionPool config) {
+        Properties propiedades = new Properties();
+        if (usuario != null) {
+            propiedades.setProperty("user", usuario);
+        }
+        if (password != null) {
+            propiedades.setProperty("password", password);
+        }
+        if (url.startsWith("jdbc:postgresql:")) {
+            long segundos = Math.max(1, (config.tiempoEsperaConexion().toMillis() + 999) / 1000);
+            propiedades.setProperty("connectTimeout", Long.toString(segundos));
+            propiedades.setProperty("loginTimeout", Long.toString(segundos));
+        }
+        return propiedades;
+    }
+
+    private boolean utilizable(ConexionEnPool conexion) {
+        long ahora = System.nanoTime();
+        if (conexion.expirada(ahora)) {
+            return false;
+        }
+        if (ahora - conexion.ultimoUso < VENTANA_SIN_VALIDACION_NANOS) {
+            return true;
+        }
+        try {
+            return conexion.fisica.isValid((int) Math.max(1, config.tiempoValidacion().toSeconds()));
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection prestar(ConexionEnPool conexion, long inicioSolicitud) {
+        long ahora = System.nanoTime();
+        conexion.prestadaEn = ahora;
+        conexion.fugaReportada = false;
+        conexion.origenPrestamo = config.umbralFugas().isZero() ? null
+                : new Exception("Conexión obtenida del pool '" + nombre + "' aquí");
+        prestadas.add(conexion);
+
+        long espera = ahora - inicioSolicitud;
+        adquisiciones.increment();
+        nanosAdquisicion.add(espera);
+        maximoNanosAdquisicion.accumulateAndGet(espera, Math::max);
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ManejadorConexion(conexion));
+    }
+
+    private void devolver(ConexionEnPool conexion) {
+        prestadas.remove(conexion);
+        conexion.origenPrestamo = null;
+
+        if (cerrado || conexion.expirada(System.nanoTime())) {
+            retirar(conexion);
+            return;
+        }
+        try {
+            if (!conexion.fisica.getAutoCommit()) {
+                conexion.fisica.rollback();
+                conexion.fisica.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            log.warn("Conexión del pool '{}' descartada al devolverla: {}", nombre, e.getMessage());
+            retirar(conexion);
+            return;
+        }
+        conexion.ultimoUso = System.nanoTime();
+        // LIFO: las conexiones usadas recientemente se reutilizan primero
+        inactivas.offerFirst(conexion);
+    }
+
+    private void retirar(ConexionEnPool conexion) {
+        total.decrementAndGet();
+        try {
+            conexion.fisica.close();
+        } catch (SQLException e) {
+            log.debug("Error al cerrar conexión del pool '{}': {}", nombre, e.getMessage());
+        }
+    }
+
+    /**
+     * Reporta fugas, retira conexiones inactivas expiradas y repone el mínimo de inactivas
+     */
+    private void mantener() {
+        try {
+            long ahora = System.nanoTime();
+
+            if (!config.umbralFugas().isZero()) {
+                for (ConexionEnPool conexion : prestadas) {
+                    long prestadaHace = ahora - conexion.prestadaEn;
+                    if (!conexion.fugaReportada && prestadaHace > config.umbralFugas().toNanos()) {
+                        conexion.fugaReportada = true;
+                        log.warn("Posible fuga de conexión en el pool '{}': prestada hace {} s",
+                                nombre, TimeUnit.NANOSECONDS.toSeconds(prestadaHace), conexion.origenPrestamo);
+                    }
+                }
+            }
+
+            for (ConexionEnPool conexion : inactivas) {
+                if (conexion.expirada(ahora) && inactivas.remove(conexion)) {
+                    retirar(conexion);
+                }
+            }
+
+            while (!cerrado && inactivas.size() < config.minimoInactivas()) {
+                ConexionEnPool nueva = crearSiHayCupo();
+                if (nueva == null) {
+                    break;
+                }
+                inactivas.offerLast(nueva);
+            }
+        } catch (Exception e) {
+            log.debug("Mantenimiento del pool '{}' incompleto: {}", nombre, e.getMessage());
+        }
+    }
+
+    private final class ManejadorConexion implements InvocationHandler {
+
+        private final ConexionEnPool conexion;
+        private boolean devuelta;
+
+        private ManejadorConexion(ConexionEnPool conexion) {
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!devuelta) {
+                        devuelta = true;
+                        devolver(conexion);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return devuelta || conexion.fisica.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "ConexionEnPool[" + nombre + "]";
+                }
+                default -> {
+                    if (devuelta) {
+                        throw new SQLException("La conexión ya fue devuelta al pool '" + nombre + "'");
+                    }
+                }
+            }
+
+            Object resultado;
+            try {
+                resultado = method.invoke(conexion.fisica, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (resultado instanceof Statement sentencia) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return interceptor.envolver(sentencia, method.getReturnType(), sql, conexion.fisica, (Connection) proxy);
+            }
+            return resultado;
+        }
+    }
+
+    // ===== DataSource =====
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return (int) config.tiempoEsperaConexion().toSeconds();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("PoolConexiones no envuelve " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,84 @@
+package util;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proveedor de caché de segundo nivel local al proceso. Cada región de entidades y
+ * de consultas se acota con {@value #PROP_MAX_ENTRADAS} y {@value #PROP_TTL_SEGUNDOS};
+ * la región de timestamps no se acota porque perder una marca haría pasar por
+ * vigentes resultados de consultas obsoletos.
+ */
+public class RegionFactoryLocal extends RegionFactoryTemplate {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String PROP_MAX_ENTRADAS = "empleados.cache.max_entradas";
+    public static final String PROP_TTL_SEGUNDOS = "empleados.cache.ttl_segundos";
+
+    private static final int MAX_ENTRADAS_DEFECTO = 1000;
+    private static final long TTL_SEGUNDOS_DEFECTO = 600;
+
+    /** Los almacenes solo existen mientras la fábrica de sesiones está abierta */
+    private final transient Map<String, AlmacenCacheLocal> almacenes = new ConcurrentHashMap<>();
+    private int maxEntradas;
+    private long ttlSegundos;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        maxEntradas = (int) leerNumero(configValues.get(PROP_MAX_ENTRADAS), MAX_ENTRADAS_DEFECTO);
+        ttlSegundos = leerNumero(configValues.get(PROP_TTL_SEGUNDOS), TTL_SEGUNDOS_DEFECTO);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        almacenes.values().forEach(AlmacenCacheLocal::release);
+        almacenes.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                   DomainDataRegionBuildingContext buildingContext) {
+        return registrar(regionConfig.getRegionName(), new AlmacenCacheLocal(maxEntradas, ttlSegundos));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return registrar(regionName, new AlmacenCacheLocal(maxEntradas, ttlSegundos));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return registrar(regionName, new AlmacenCacheLocal(0, 0));
+    }
+
+    /**
+     * Cantidad de entradas actualmente en memoria en la región, o 0 si no existe
+     */
+    public int tamanoRegion(String regionName) {
+        AlmacenCacheLocal almacen = almacenes.get(regionName);
+        return almacen == null ? 0 : almacen.tamano();
+    }
+
+    private AlmacenCacheLocal registrar(String regionName, AlmacenCacheLocal almacen) {
+        almacenes.put(regionName, almacen);
+        return almacen;
+    }
+
+    private static long leerNumero(Object valor, long porDefecto) {
+        if (valor == null) {
+            return porDefecto;
+        }
+        return valor instanceof Number numero ? numero.longValue() : Long.parseLong(valor.toString().trim());
+    }
+}
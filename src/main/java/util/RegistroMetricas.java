@@ -0,0 +1,281 @@
+package util;
+
+import dao.Pagina;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Métricas por operación (llamadas, errores y percentiles de latencia) de los DAOs y del
+ * servicio. Cada operación se publica también por JMX bajo
+ * {@code empleados:type=Operacion,name=<operación>}, junto con las estadísticas de
+ * Hibernate en {@code empleados:type=Hibernate}.
+ * <p>
+ * Los DAOs se miden envolviéndolos con {@link #instrumentar(Class, Object, String)}; el
+ * servicio, con {@link #medir(String, String, Supplier)} en cada método público. Cada
+ * llamada emite también un {@link EventoOperacion} de JFR.
+ */
+@Slf4j
+public final class RegistroMetricas {
+
+    private static final String DOMINIO_JMX = "empleados";
+    private static final String CAPA_DAO = "DAO";
+    private static final String CAPA_SERVICIO = "Servicio";
+
+    private static final ConcurrentMap<String, ContadorOperacion> OPERACIONES = new ConcurrentHashMap<>();
+
+    static {
+        registrarMBean(DOMINIO_JMX + ":type=Hibernate", new EstadisticasHibernateJmx());
+    }
+
+    private RegistroMetricas() {
+    }
+
+    /**
+     * Ejecuta la acción y registra su duración bajo el nombre indicado; si lanza una
+     * excepción se cuenta como error y se propaga sin cambios
+     */
+    public static <T> T medir(String operacion, String entidad, Supplier<T> accion) {
+        ContadorOperacion contador = contador(operacion, CAPA_SERVICIO, entidad);
+        EventoOperacion evento = new EventoOperacion();
+        evento.begin();
+        long sentencias = InterceptorSentencias.sentenciasDelHilo();
+        long inicio = System.nanoTime();
+        T resultado = null;
+        boolean error = true;
+        try {
+            resultado = accion.get();
+            error = false;
+            return resultado;
+        } finally {
+            finalizar(contador, evento, inicio, sentencias, resultado, error);
+        }
+    }
+
+    public static void medir(String operacion, String entidad, Runnable accion) {
+        medir(operacion, entidad, () -> {
+            accion.run();
+            return null;
+        });
+    }
+
+    /**
+     * Envuelve la implementación en un proxy de la interfaz que mide cada método como
+     * {@code ClaseImplementación.método}. Los métodos sobrecargados se distinguen por
+     * los tipos de sus parámetros.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T instrumentar(Class<T> interfaz, T destino, String entidad) {
+        String clase = destino.getClass().getSimpleName();
+        Map<String, Long> sobrecargas = Arrays.stream(interfaz.getMethods())
+                .collect(Collectors.groupingBy(Method::getName, Collectors.counting()));
+
+        Map<Method, ContadorOperacion> contadores = new HashMap<>();
+        for (Method metodo : interfaz.getMethods()) {
+            String nombre = clase + "." + metodo.getName();
+            if (sobrecargas.get(metodo.getName()) > 1) {
+                nombre += Arrays.stream(metodo.getParameterTypes())
+                        .map(Class::getSimpleName)
+                        .collect(Collectors.joining(", ", "(", ")"));
+            }
+            contadores.put(metodo, contador(nombre, CAPA_DAO, entidad));
+        }
+
+        return (T) Proxy.newProxyInstance(interfaz.getClassLoader(), new Class<?>[]{interfaz},
+                (proxy, metodo, argumentos) -> {
+                    ContadorOperacion contador = contadores.get(metodo);
+                    if (contador == null) {
+                        // equals, hashCode y toString de Object
+                        return invocar(metodo, destino, argumentos);
+                    }
+                    EventoOperacion evento = new EventoOperacion();
+                    evento.begin();
+                    long sentencias = InterceptorSentencias.sentenciasDelHilo();
+                    long inicio = System.nanoTime();
+                    Object resultado = null;
+                    boolean error = true;
+                    try {
+                        resultado = invocar(metodo, destino, argumentos);
+                        error = false;
+                        return resultado;
+                    } finally {
+                        finalizar(contador, evento, inicio, sentencias, resultado, error);
+                    }
+                });
+    }
+
+    /**
+     * Registra la llamada en el contador y, solo si JFR está grabando el evento,
+     * completa sus campos y lo emite
+     */
+    private static void finalizar(ContadorOperacion contador, EventoOperacion evento, long inicio,
+                                  long sentenciasAlInicio, Object resultado, boolean error) {
+        contador.registrar(System.nanoTime() - inicio, error);
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.operacion = contador.operacion();
+            evento.capa = contador.capa();
+            evento.entidad = contador.entidad();
+            evento.filas = filas(resultado);
+            evento.sentencias = InterceptorSentencias.sentenciasDelHilo() - sentenciasAlInicio;
+            evento.error = error;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Filas devueltas (colecciones, páginas, opcionales) o afectadas (operaciones que
+     * retornan una cantidad); -1 para cualquier otro resultado
+     */
+    private static long filas(Object resultado) {
+        if (resultado instanceof Collection<?> coleccion) {
+            return coleccion.size();
+        }
+        if (resultado instanceof Pagina<?> pagina) {
+            return pagina.elementos().size();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        if (resultado instanceof Integer || resultado instanceof Long) {
+            return ((Number) resultado).longValue();
+        }
+        return -1;
+    }
+
+    private static Object invocar(Method metodo, Object destino, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(destino, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Métricas de todas las operaciones invocadas al menos una vez, ordenadas por nombre
+     */
+    public static List<MetricasOperacion> instantanea() {
+        return OPERACIONES.values().stream()
+                .map(ContadorOperacion::instantanea)
+                .filter(metricas -> metricas.llamadas() > 0)
+                .sorted(Comparator.comparing(MetricasOperacion::operacion))
+                .toList();
+    }
+
+    public static void reiniciar() {
+        OPERACIONES.values().forEach(ContadorOperacion::reiniciar);
+    }
+
+    private static ContadorOperacion contador(String operacion, String capa, String entidad) {
+        ContadorOperacion contador = OPERACIONES.get(operacion);
+        if (contador != null) {
+            return contador;
+        }
+        return OPERACIONES.computeIfAbsent(operacion, nombre -> {
+            ContadorOperacion nuevo = new ContadorOperacion(nombre, capa, entidad);
+            registrarMBean(DOMINIO_JMX + ":type=Operacion,name=" + ObjectName.quote(nombre), nuevo);
+            return nuevo;
+        });
+    }
+
+    private static void registrarMBean(String nombre, Object mbean) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(nombre);
+            if (servidor.isRegistered(objectName)) {
+                servidor.unregisterMBean(objectName);
+            }
+            servidor.registerMBean(mbean, objectName);
+        } catch (JMException e) {
+            log.warn("No se pudo registrar el MBean {}: {}", nombre, e.getMessage());
+        }
+    }
+
+    /**
+     * Lee las estadísticas de la factory vigente en cada consulta, así sobrevive a los
+     * cambios de base de datos de JPAUtil
+     */
+    private static final class EstadisticasHibernateJmx implements EstadisticasHibernateMXBean {
+
+        private static EstadisticasHibernate actuales() {
+            return JPAUtil.getEstadisticasHibernate();
+        }
+
+        @Override
+        public long getSentenciasPreparadas() {
+            return actuales().sentenciasPreparadas();
+        }
+
+        @Override
+        public long getConsultasEjecutadas() {
+            return actuales().consultasEjecutadas();
+        }
+
+        @Override
+        public long getEntidadesCargadas() {
+            return actuales().entidadesCargadas();
+        }
+
+        @Override
+        public long getEntidadesInsertadas() {
+            return actuales().entidadesInsertadas();
+        }
+
+        @Override
+        public long getEntidadesActualizadas() {
+            return actuales().entidadesActualizadas();
+        }
+
+        @Override
+        public long getEntidadesEliminadas() {
+            return actuales().entidadesEliminadas();
+        }
+
+        @Override
+        public long getFlushes() {
+            return actuales().flushes();
+        }
+
+        @Override
+        public long getTransacciones() {
+            return actuales().transacciones();
+        }
+
+        @Override
+        public long getAciertosCache() {
+            return actuales().aciertosCache();
+        }
+
+        @Override
+        public long getFallosCache() {
+            return actuales().fallosCache();
+        }
+
+        @Override
+        public long getConsultaMasLentaMs() {
+            return actuales().consultaMasLentaMs();
+        }
+
+        @Override
+        public String getConsultaMasLenta() {
+            return actuales().consultaMasLenta();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package util;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Réplica de solo lectura administrada por {@link JPAUtil}: su factory, su pool y la
+ * carga que recibe. Tras un fallo de la base queda fuera de la rotación durante
+ * {@link #PAUSA_TRAS_FALLO_SEGUNDOS} segundos; pasado ese tiempo se vuelve a probar.
+ */
+final class ReplicaLectura {
+
+    private static final long PAUSA_TRAS_FALLO_SEGUNDOS = 30;
+
+    private final String nombre;
+    private final String url;
+    private final EntityManagerFactory factory;
+    private final PoolConexiones pool;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final LongAdder lecturas = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private volatile boolean caida;
+    private volatile long caidaDesde;
+
+    ReplicaLectura(String nombre, String url, EntityManagerFactory factory, PoolConexiones pool) {
+        this.nombre = nombre;
+        this.url = url;
+        this.factory = factory;
+        this.pool = pool;
+    }
+
+    String nombre() {
+        return nombre;
+    }
+
+    int enCurso() {
+        return enCurso.get();
+    }
+
+    boolean disponible(long ahora) {
+        return !caida || ahora - caidaDesde >= TimeUnit.SECONDS.toNanos(PAUSA_TRAS_FALLO_SEGUNDOS);
+    }
+
+    /**
+     * Abre un EntityManager contando la lectura como en curso hasta {@link #liberar()}
+     */
+    EntityManager abrir() {
+        enCurso.incrementAndGet();
+        lecturas.increment();
+        try {
+            return factory.createEntityManager();
+        } catch (RuntimeException e) {
+            enCurso.decrementAndGet();
+            throw e;
+        }
+    }
+
+    void liberar() {
+        enCurso.decrementAndGet();
+    }
+
+    void registrarExito() {
+        if (caida) {
+            caida = false;
+        }
+    }
+
+    void registrarFallo() {
+        fallos.increment();
+        caidaDesde = System.nanoTime();
+        caida = true;
+    }
+
+    EstadoReplica estado() {
+        return new EstadoReplica(nombre, url, enCurso.get(), lecturas.sum(), fallos.sum(),
+                disponible(System.nanoTime()));
+    }
+
+    void cerrar() {
+        try {
+            if (factory.isOpen()) {
+                factory.close();
+            }
+        } finally {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Alinea la tabla {@code secuencias_id} de los generadores de ids por tabla con los ids
+ * que ya existen. Una base creada cuando los ids eran IDENTITY no tiene filas en esa
+ * tabla y el generador empezaría en 1, chocando con las claves existentes en el primer
+ * INSERT. Se ejecuta al arrancar el primario y solo sube valores, nunca los baja.
+ */
+@Slf4j
+final class SemillaSecuencias {
+
+    /** Fila de secuencias_id (pkColumnValue del generador) y tabla cuyos ids reparte */
+    private record Secuencia(String entidad, String tabla) {
+    }
+
+    private static final List<Secuencia> SECUENCIAS = List.of(
+            new Secuencia("cargos", "cargos"),
+            new Secuencia("empleados", "empleados"),
+            new Secuencia("historial_salarios", "historial_salarios"));
+
+    /** allocationSize de los @TableGenerator: se deja libre un bloque completo sobre el máximo */
+    private static final int TAMANO_BLOQUE = 50;
+
+    private SemillaSecuencias() {
+    }
+
+    static void sembrar(DataSource origen) {
+        try (Connection conexion = origen.getConnection()) {
+            boolean autoCommit = conexion.getAutoCommit();
+            conexion.setAutoCommit(false);
+            try {
+                for (Secuencia secuencia : SECUENCIAS) {
+                    ajustar(conexion, secuencia);
+                }
+                conexion.commit();
+            } catch (SQLException e) {
+                conexion.rollback();
+                throw e;
+            } finally {
+                conexion.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.error("Error al ajustar las secuencias de ids: {}", e.getMessage());
+            throw new RuntimeException("Error al ajustar las secuencias de ids", e);
+        }
+    }
+
+    private static void ajustar(Connection conexion, Secuencia secuencia) throws SQLException {
+        long maximo;
+        try (PreparedStatement consulta = conexion.prepareStatement(
+                "SELECT COALESCE(MAX(id), 0) FROM " + secuencia.tabla());
+             ResultSet resultado = consulta.executeQuery()) {
+            resultado.next();
+            maximo = resultado.getLong(1);
+        }
+        if (maximo == 0) {
+            return;
+        }
+
+        long minimo = maximo + TAMANO_BLOQUE + 1;
+        int actualizadas;
+        try (PreparedStatement subir = conexion.prepareStatement(
+                "UPDATE secuencias_id SET siguiente_valor = ? WHERE entidad = ? AND siguiente_valor < ?")) {
+            subir.setLong(1, minimo);
+            subir.setString(2, secuencia.entidad());
+            subir.setLong(3, minimo);
+            actualizadas = subir.executeUpdate();
+        }
+        if (actualizadas > 0) {
+            log.info("Secuencia '{}' ajustada a {} (id máximo {})", secuencia.entidad(), minimo, maximo);
+            return;
+        }
+
+        boolean existe;
+        try (PreparedStatement consulta = conexion.prepareStatement(
+                "SELECT 1 FROM secuencias_id WHERE entidad = ?")) {
+            consulta.setString(1, secuencia.entidad());
+            try (ResultSet resultado = consulta.executeQuery()) {
+                existe = resultado.next();
+            }
+        }
+        if (!existe) {
+            try (PreparedStatement insertar = conexion.prepareStatement(
+                    "INSERT INTO secuencias_id (entidad, siguiente_valor) VALUES (?, ?)")) {
+                insertar.setString(1, secuencia.entidad());
+                insertar.setLong(2, minimo);
+                insertar.executeUpdate();
+            }
+            log.info("Secuencia '{}' creada en {} (id máximo {})", secuencia.entidad(), minimo, maximo);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package util;
+
+import java.time.Duration;
+
+/**
+ * Lectura de las propias escrituras para un llamador (un usuario, un cliente de la API):
+ * durante la ventana indicada tras confirmar una transacción con la sesión activa
+ * ({@link UnidadDeTrabajo#conSesion}), sus lecturas de solo lectura van al primario en
+ * lugar de a una réplica, para no ver datos anteriores a lo que acaba de escribir. La
+ * ventana debe cubrir el retraso de replicación esperado. Puede compartirse entre hilos.
+ */
+public final class SesionLectura {
+
+    public static final Duration VENTANA_DEFECTO = Duration.ofSeconds(5);
+
+    private final long ventanaNanos;
+    private volatile boolean escribio;
+    private volatile long ultimaEscritura;
+
+    public SesionLectura() {
+        this(VENTANA_DEFECTO);
+    }
+
+    public SesionLectura(Duration ventana) {
+        if (ventana == null || ventana.isNegative()) {
+            throw new IllegalArgumentException("La ventana de lectura propia no puede ser negativa");
+        }
+        this.ventanaNanos = ventana.toNanos();
+    }
+
+    void registrarEscritura() {
+        ultimaEscritura = System.nanoTime();
+        escribio = true;
+    }
+
+    /**
+     * Si la última escritura confirmada cae dentro de la ventana
+     */
+    public boolean escribioRecientemente() {
+        return escribio && System.nanoTime() - ultimaEscritura < ventanaNanos;
+    }
+}
@@ -0,0 +1,312 @@
+package util;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Ámbito de EntityManager por operación. Cada llamada obtiene su propio EntityManager
+ * de {@link JPAUtil} y lo cierra al terminar, salvo que el hilo tenga una transacción
+ * explícita en curso ({@link #iniciar()} / {@link #enTransaccion(Supplier)}), en cuyo
+ * caso todas las operaciones del hilo la comparten hasta confirmarla o revertirla.
+ * Como el estado es por hilo, puede usarse desde muchos hilos virtuales a la vez.
+ * Cada transacción emite un {@link EventoTransaccion} de JFR al terminar.
+ * <p>
+ * Las lecturas sin transacción hechas dentro de {@link #soloLectura(Supplier)} se envían
+ * a una réplica de {@link JPAUtil} si hay alguna configurada, salvo que la
+ * {@link SesionLectura} activa haya escrito hace poco; las transacciones siempre usan
+ * el primario. Si la réplica falla, la lectura se repite en el primario.
+ */
+@Slf4j
+public final class UnidadDeTrabajo {
+
+    private static final ThreadLocal<Unidad> ACTUAL = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> SOLO_LECTURA = new ThreadLocal<>();
+    private static final ThreadLocal<SesionLectura> SESION = new ThreadLocal<>();
+
+    private static final class Unidad {
+        private final EntityManager entityManager;
+        private final List<Runnable> alConfirmar = new ArrayList<>();
+        private final EventoTransaccion evento = new EventoTransaccion();
+        private final long sentenciasAlIniciar = InterceptorSentencias.sentenciasDelHilo();
+
+        private Unidad(EntityManager entityManager) {
+            this.entityManager = entityManager;
+            evento.begin();
+        }
+
+        /**
+         * Emite el evento JFR de la transacción si se está grabando
+         */
+        private void terminar(String resultado) {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.resultado = resultado;
+                evento.sentencias = InterceptorSentencias.sentenciasDelHilo() - sentenciasAlIniciar;
+                evento.commit();
+            }
+        }
+    }
+
+    private UnidadDeTrabajo() {
+    }
+
+    /**
+     * Ejecuta una lectura sin transacción con el EntityManager de la transacción en
+     * curso, o con uno nuevo que se cierra al terminar. Las entidades retornadas
+     * quedan desconectadas.
+     */
+    public static <T> T consultar(Function<EntityManager, T> operacion) {
+        Unidad actual = ACTUAL.get();
+        if (actual != null) {
+            return operacion.apply(actual.entityManager);
+        }
+        if (SOLO_LECTURA.get() != null && !leeSusEscrituras()) {
+            ReplicaLectura replica = JPAUtil.elegirReplica();
+            if (replica != null) {
+                return consultarEnReplica(replica, operacion);
+            }
+        }
+
+        EntityManager entityManager = JPAUtil.getEntityManager();
+        try {
+            return operacion.apply(entityManager);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Como {@link #consultar(Function)}, pero siempre en el primario aunque la operación
+     * esté marcada como de solo lectura; para lecturas que dependen de objetos que solo
+     * existen en el primario
+     */
+    public static <T> T consultarEnPrimario(Function<EntityManager, T> operacion) {
+        Unidad actual = ACTUAL.get();
+        if (actual != null) {
+            return operacion.apply(actual.entityManager);
+        }
+        EntityManager entityManager = JPAUtil.getEntityManager();
+        try {
+            return operacion.apply(entityManager);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Si la réplica falla con un error de base de datos, o se cerró mientras tanto por
+     * una reconfiguración, la lectura se repite en el primario
+     */
+    private static <T> T consultarEnReplica(ReplicaLectura replica, Function<EntityManager, T> operacion) {
+        EntityManager entityManager = null;
+        try {
+            entityManager = replica.abrir();
+        } catch (RuntimeException e) {
+            log.debug("No se pudo abrir la réplica '{}': {}", replica.nombre(), e.getMessage());
+        }
+
+        if (entityManager != null) {
+            try {
+                T resultado = operacion.apply(entityManager);
+                replica.registrarExito();
+                return resultado;
+            } catch (RuntimeException e) {
+                if (!esErrorDeBase(e)) {
+                    throw e;
+                }
+                replica.registrarFallo();
+                log.warn("Réplica '{}' fuera de servicio, la lectura se repite en el primario: {}",
+                        replica.nombre(), e.getMessage());
+            } finally {
+                entityManager.close();
+                replica.liberar();
+            }
+        }
+
+        EntityManager primario = JPAUtil.getEntityManager();
+        try {
+            return operacion.apply(primario);
+        } finally {
+            primario.close();
+        }
+    }
+
+    private static boolean esErrorDeBase(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof PersistenceException || causa instanceof SQLException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean leeSusEscrituras() {
+        SesionLectura sesion = SESION.get();
+        return sesion != null && sesion.escribioRecientemente();
+    }
+
+    /**
+     * Marca las lecturas de la operación como aptas para una réplica. Las que ocurran
+     * dentro de una transacción siguen usando la de la transacción
+     */
+    public static <T> T soloLectura(Supplier<T> operacion) {
+        if (SOLO_LECTURA.get() != null) {
+            return operacion.get();
+        }
+        SOLO_LECTURA.set(Boolean.TRUE);
+        try {
+            return operacion.get();
+        } finally {
+            SOLO_LECTURA.remove();
+        }
+    }
+
+    /**
+     * Ejecuta la operación a nombre de la sesión: sus transacciones confirmadas la
+     * marcan como escritora y sus lecturas respetan su ventana de lectura propia
+     */
+    public static <T> T conSesion(SesionLectura sesion, Supplier<T> operacion) {
+        SesionLectura anterior = SESION.get();
+        SESION.set(sesion);
+        try {
+            return operacion.get();
+        } finally {
+            if (anterior == null) {
+                SESION.remove();
+            } else {
+                SESION.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la operación en una transacción: se une a la transacción en curso del
+     * hilo o, si no hay ninguna, abre una propia que se confirma al terminar y se
+     * revierte si la operación falla.
+     */
+    public static <T> T ejecutar(Function<EntityManager, T> operacion) {
+        Unidad actual = ACTUAL.get();
+        if (actual != null) {
+            return operacion.apply(actual.entityManager);
+        }
+        return enTransaccion(() -> operacion.apply(ACTUAL.get().entityManager));
+    }
+
+    /**
+     * Ejecuta varias operaciones (por ejemplo, llamadas a distintos DAOs) en una sola
+     * transacción. Si ya hay una en curso en el hilo, se une a ella.
+     */
+    public static <T> T enTransaccion(Supplier<T> operacion) {
+        if (ACTUAL.get() != null) {
+            return operacion.get();
+        }
+
+        iniciar();
+        T resultado;
+        try {
+            resultado = operacion.get();
+        } catch (RuntimeException | Error e) {
+            revertir();
+            throw e;
+        }
+        confirmar();
+        return resultado;
+    }
+
+    /**
+     * Inicia una transacción explícita ligada al hilo actual
+     */
+    public static void iniciar() {
+        if (ACTUAL.get() != null) {
+            throw new IllegalStateException("Ya hay una transacción en curso en este hilo");
+        }
+
+        EntityManager entityManager = JPAUtil.getEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+        } catch (RuntimeException e) {
+            entityManager.close();
+            throw e;
+        }
+        ACTUAL.set(new Unidad(entityManager));
+    }
+
+    /**
+     * Confirma la transacción del hilo actual, cierra su EntityManager y ejecuta las
+     * acciones registradas con {@link #alConfirmar(Runnable)}
+     */
+    public static void confirmar() {
+        Unidad unidad = ACTUAL.get();
+        if (unidad == null) {
+            throw new IllegalStateException("No hay una transacción en curso en este hilo");
+        }
+
+        String resultado = "fallida";
+        try {
+            unidad.entityManager.getTransaction().commit();
+            resultado = "confirmada";
+            SesionLectura sesion = SESION.get();
+            if (sesion != null) {
+                sesion.registrarEscritura();
+            }
+        } finally {
+            ACTUAL.remove();
+            unidad.entityManager.close();
+            unidad.terminar(resultado);
+        }
+
+        for (Runnable accion : unidad.alConfirmar) {
+            try {
+                accion.run();
+            } catch (RuntimeException e) {
+                log.warn("Error en acción posterior a la confirmación: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Revierte la transacción del hilo actual, si existe, y cierra su EntityManager
+     */
+    public static void revertir() {
+        Unidad unidad = ACTUAL.get();
+        if (unidad == null) {
+            return;
+        }
+
+        try {
+            EntityTransaction transaction = unidad.entityManager.getTransaction();
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+        } finally {
+            ACTUAL.remove();
+            unidad.entityManager.close();
+            unidad.terminar("revertida");
+        }
+    }
+
+    public static boolean enCurso() {
+        return ACTUAL.get() != null;
+    }
+
+    /**
+     * Ejecuta la acción cuando se confirme la transacción en curso del hilo, o de
+     * inmediato si no hay ninguna. Si la transacción se revierte, la acción se descarta.
+     */
+    public static void alConfirmar(Runnable accion) {
+        Unidad unidad = ACTUAL.get();
+        if (unidad == null) {
+            accion.run();
+        } else {
+            unidad.alConfirmar.add(accion);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package dao;
+
+import models.Cargo;
+import models.Empleado;
+import models.ReglaAjusteSalarial;
+import models.ResultadoAjusteSalarial;
+import org.junit.jupiter.api.Test;
+import util.BaseDatosPrueba;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Ajustes salariales masivos con reglas superpuestas: cada empleado recibe solo la
+ * primera regla que lo alcanza, y la simulación calcula lo mismo que el ajuste aplicado
+ * sin modificar salarios ni versiones.
+ */
+class AjusteSalarialTest extends BaseDatosPrueba {
+
+    private static final AtomicInteger NIVELES = new AtomicInteger();
+
+    private static final EmpleadoDAO empleados = new EmpleadoDAO();
+    private static final CargoDAO cargos = new CargoDAO();
+
+    @Test
+    void lasReglasSuperpuestasNoSeComponen() {
+        String nivel = nivelUnico();
+        Cargo gerente = cargos.guardar(nuevoCargo(nivel, 1000.0));
+        Cargo director = cargos.guardar(nuevoCargo(nivel, 1000.0));
+        Empleado deGerente = empleados.guardar(nuevoEmpleado("Ana", "Gerente", 2000.0, LocalDate.of(2020, 1, 1), gerente));
+        Empleado deDirector = empleados.guardar(nuevoEmpleado("Luis", "Director", 3000.0, LocalDate.of(2020, 1, 1), director));
+
+        ResultadoAjusteSalarial resultado = empleados.ajustarSalarios(List.of(
+                ReglaAjusteSalarial.porcentaje(10).paraCargo(gerente.getId()),
+                ReglaAjusteSalarial.montoFijo(100).paraNivel(nivel)), false);
+
+        assertEquals(List.of(1, 1), resultado.ajustesPorRegla());
+        assertEquals(200.0 + 100.0, resultado.diferencia(), 0.001);
+        Empleado gerenteAjustado = empleados.buscarPorId(deGerente.getId()).orElseThrow();
+        Empleado directorAjustado = empleados.buscarPorId(deDirector.getId()).orElseThrow();
+        assertEquals(2200.0, gerenteAjustado.getSalarioActual(), 0.001);
+        assertEquals(3100.0, directorAjustado.getSalarioActual(), 0.001);
+        assertEquals(deGerente.getVersion() + 1, gerenteAjustado.getVersion());
+        assertEquals(deDirector.getVersion() + 1, directorAjustado.getVersion());
+    }
+
+    @Test
+    void laSimulacionCoincideConElAjusteYNoEscribe() {
+        String nivel = nivelUnico();
+        Cargo cargo = cargos.guardar(nuevoCargo(nivel, 1500.0));
+        Empleado antiguo = empleados.guardar(nuevoEmpleado("Eva", "Antigua", 1600.0, LocalDate.of(2015, 3, 1), cargo));
+        Empleado reciente = empleados.guardar(nuevoEmpleado("Juan", "Reciente", 2400.0, LocalDate.of(2023, 3, 1), cargo));
+        List<ReglaAjusteSalarial> reglas = List.of(
+                ReglaAjusteSalarial.porcentaje(-20).paraNivel(nivel)
+                        .contratadosEntre(LocalDate.of(2010, 1, 1), LocalDate.of(2019, 12, 31)),
+                ReglaAjusteSalarial.porcentaje(5).paraNivel(nivel));
+
+        ResultadoAjusteSalarial simulado = empleados.ajustarSalarios(reglas, true);
+
+        Empleado antiguoSinCambios = empleados.buscarPorId(antiguo.getId()).orElseThrow();
+        assertEquals(1600.0, antiguoSinCambios.getSalarioActual(), 0.001);
+        assertEquals(antiguo.getVersion(), antiguoSinCambios.getVersion());
+        assertEquals(reciente.getVersion(), empleados.buscarPorId(reciente.getId()).orElseThrow().getVersion());
+
+        ResultadoAjusteSalarial aplicado = empleados.ajustarSalarios(reglas, false);
+
+        assertEquals(List.of(1, 1), simulado.ajustesPorRegla());
+        assertEquals(aplicado.ajustesPorRegla(), simulado.ajustesPorRegla());
+        assertEquals(aplicado.diferencia(), simulado.diferencia(), 0.001);
+        assertEquals(aplicado.masaSalarialNueva(), simulado.masaSalarialNueva(), 0.001);
+        // -20 % dejaría 1280, por debajo del salario base del cargo
+        assertEquals(1500.0, empleados.buscarPorId(antiguo.getId()).orElseThrow().getSalarioActual(), 0.001);
+        assertEquals(2520.0, empleados.buscarPorId(reciente.getId()).orElseThrow().getSalarioActual(), 0.001);
+    }
+
+    @Test
+    void unEmpleadoSinFechaDeContratacionPasaALaReglaSiguiente() {
+        Cargo cargo = cargos.guardar(nuevoCargo(nivelUnico(), 1000.0));
+        Empleado sinFecha = empleados.guardar(nuevoEmpleado("Rosa", "SinFecha", 2000.0, null, cargo));
+
+        ResultadoAjusteSalarial resultado = empleados.ajustarSalarios(List.of(
+                ReglaAjusteSalarial.porcentaje(10).paraCargo(cargo.getId())
+                        .contratadosEntre(LocalDate.of(2000, 1, 1), LocalDate.of(2030, 1, 1)),
+                ReglaAjusteSalarial.montoFijo(50).paraCargo(cargo.getId())), false);
+
+        assertEquals(List.of(0, 1), resultado.ajustesPorRegla());
+        assertEquals(2050.0, empleados.buscarPorId(sinFecha.getId()).orElseThrow().getSalarioActual(), 0.001);
+    }
+
+    @Test
+    void unaReglaTrasOtraSinFiltrosNoAlcanzaANadie() {
+        Cargo cargo = cargos.guardar(nuevoCargo(nivelUnico(), 1000.0));
+        empleados.guardar(nuevoEmpleado("Pablo", "Todos", 2000.0, LocalDate.of(2020, 1, 1), cargo));
+
+        ResultadoAjusteSalarial simulado = empleados.ajustarSalarios(List.of(
+                ReglaAjusteSalarial.porcentaje(3),
+                ReglaAjusteSalarial.montoFijo(100).paraCargo(cargo.getId())), true);
+
+        assertEquals(0, simulado.ajustesPorRegla().get(1).intValue());
+    }
+
+    @Test
+    void elAjusteNotificaElSalarioNuevoDeCadaEmpleadoAjustado() {
+        EmpleadoDAO observado = new EmpleadoDAO();
+        List<OperacionMasiva> recibidas = new ArrayList<>();
+        observado.agregarObservador(new ObservadorEmpleados() {
+            @Override
+            public void operacionMasiva(OperacionMasiva operacion, int afectados) {
+                recibidas.add(operacion);
+            }
+        });
+        Cargo cargo = cargos.guardar(nuevoCargo(nivelUnico(), 1000.0));
+        Empleado ajustado = observado.guardar(nuevoEmpleado("Sara", "Ajustada", 2000.0, LocalDate.of(2020, 1, 1), cargo));
+        Empleado inactivo = nuevoEmpleado("Hugo", "Inactivo", 2000.0, LocalDate.of(2020, 1, 1), cargo);
+        inactivo.setActivo(false);
+        inactivo = observado.guardar(inactivo);
+
+        observado.ajustarSalarios(List.of(ReglaAjusteSalarial.montoFijo(250).paraCargo(cargo.getId())), false);
+
+        assertEquals(1, recibidas.size());
+        assertEquals(OperacionMasiva.Tipo.AJUSTAR_SALARIOS, recibidas.getFirst().tipo());
+        assertEquals(Map.of(ajustado.getId(), 2250.0), recibidas.getFirst().salarios());
+        assertFalse(recibidas.getFirst().incluye(inactivo.getId(), cargo.getId()));
+    }
+
+    private static String nivelUnico() {
+        return "Nivel " + NIVELES.incrementAndGet();
+    }
+}
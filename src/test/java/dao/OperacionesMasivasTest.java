@@ -0,0 +1,92 @@
+package dao;
+
+import jakarta.persistence.OptimisticLockException;
+import models.Cargo;
+import models.Empleado;
+import org.hibernate.StaleStateException;
+import org.junit.jupiter.api.Test;
+import util.BaseDatosPrueba;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Los UPDATE masivos de estado incrementan la versión de las filas que cambian, de modo
+ * que una copia leída antes ya no puede guardarse encima, y no dejan estado obsoleto en
+ * la caché de segundo nivel.
+ */
+class OperacionesMasivasTest extends BaseDatosPrueba {
+
+    private static final EmpleadoDAO empleados = new EmpleadoDAO();
+    private static final CargoDAO cargos = new CargoDAO();
+
+    @Test
+    void desactivarTodosIncrementaLaVersionSoloDeLasFilasQueCambian() {
+        Cargo cargo = cargos.guardar(nuevoCargo("Junior", 1500.0));
+        Empleado activo = empleados.guardar(nuevoEmpleado("Ana", "Activa", 2000.0, LocalDate.of(2020, 1, 1), cargo));
+        Empleado inactivo = nuevoEmpleado("Luis", "Inactivo", 2000.0, LocalDate.of(2020, 1, 1), cargo);
+        inactivo.setActivo(false);
+        inactivo = empleados.guardar(inactivo);
+
+        int cambiados = empleados.desactivarTodos(List.of(activo.getId(), inactivo.getId()));
+
+        assertEquals(1, cambiados);
+        Empleado releido = empleados.buscarPorId(activo.getId()).orElseThrow();
+        assertFalse(releido.getActivo());
+        assertEquals(activo.getVersion() + 1, releido.getVersion());
+        assertEquals(inactivo.getVersion(), empleados.buscarPorId(inactivo.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void activarPorCargoIncrementaLaVersionDeCadaFila() {
+        Cargo cargo = cargos.guardar(nuevoCargo("Senior", 3000.0));
+        List<Empleado> nuevos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Empleado empleado = nuevoEmpleado("Nombre" + i, "Apellido", 3500.0, LocalDate.of(2019, 1, 1), cargo);
+            empleado.setActivo(false);
+            nuevos.add(empleado);
+        }
+        empleados.guardarTodos(nuevos);
+        List<Empleado> antes = nuevos.stream()
+                .map(e -> empleados.buscarPorId(e.getId()).orElseThrow())
+                .toList();
+
+        assertEquals(5, empleados.activarPorCargo(cargo.getId()));
+
+        for (Empleado anterior : antes) {
+            Empleado releido = empleados.buscarPorId(anterior.getId()).orElseThrow();
+            assertTrue(releido.getActivo());
+            assertEquals(anterior.getVersion() + 1, releido.getVersion());
+        }
+        assertEquals(0, empleados.activarPorCargo(cargo.getId()));
+    }
+
+    @Test
+    void unaCopiaLeidaAntesDelUpdateMasivoNoPuedeGuardarse() {
+        Cargo cargo = cargos.guardar(nuevoCargo("Junior", 1500.0));
+        Empleado guardado = empleados.guardar(nuevoEmpleado("Eva", "Obsoleta", 2000.0, LocalDate.of(2022, 1, 1), cargo));
+        Empleado copia = empleados.buscarPorId(guardado.getId()).orElseThrow();
+
+        empleados.desactivarTodos(List.of(guardado.getId()));
+        copia.setTelefono("3999999");
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> empleados.guardar(copia));
+        assertTrue(esConflicto(error), () -> "se esperaba un conflicto de versión: " + error);
+        assertFalse(empleados.buscarPorId(guardado.getId()).orElseThrow().getActivo());
+    }
+
+    private static boolean esConflicto(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof OptimisticLockException || causa instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,137 @@
+package dao;
+
+import models.Cargo;
+import models.Empleado;
+import models.EmpleadoResumen;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import util.BaseDatosPrueba;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Límites de página de la paginación por clave: recorrer las páginas entrega cada
+ * empleado una sola vez y en orden (apellido, nombre, id), también cuando un corte cae
+ * en medio de empleados con el mismo apellido y nombre.
+ */
+class PaginacionKeysetTest extends BaseDatosPrueba {
+
+    private static final Comparator<EmpleadoResumen> ORDEN = Comparator.comparing(EmpleadoResumen::apellido)
+            .thenComparing(EmpleadoResumen::nombre)
+            .thenComparing(EmpleadoResumen::id);
+
+    private static final ConsultaEmpleadosDAO consultas = new ConsultaEmpleadosDAO();
+
+    private static Cargo analista;
+    private static Cargo gerente;
+
+    @BeforeAll
+    static void cargarDatos() {
+        CargoDAO cargos = new CargoDAO();
+        analista = cargos.guardar(nuevoCargo("Junior", 1500.0));
+        gerente = cargos.guardar(nuevoCargo("Senior", 4000.0));
+
+        // Pocos apellidos y nombres distintos para que haya muchos empates
+        List<Empleado> nuevos = new ArrayList<>();
+        for (int i = 0; i < 37; i++) {
+            Empleado empleado = nuevoEmpleado("Nombre" + (i % 2), "Apellido" + (i % 3), 2000.0,
+                    LocalDate.of(2021, 1, 1), i < 12 ? gerente : analista);
+            empleado.setActivo(i % 4 != 0);
+            nuevos.add(empleado);
+        }
+        new EmpleadoDAO().guardarTodos(nuevos);
+    }
+
+    @Test
+    void lasPaginasCubrenTodosLosEmpleadosUnaSolaVez() {
+        for (int tamano : new int[]{1, 4, 5, 36, 37, 100}) {
+            assertEquals(ordenados(consultas.listarTodos()), recorrer(c -> consultas.listarTodos(c, tamano)),
+                    "listarTodos con páginas de " + tamano);
+            assertEquals(ordenados(consultas.listarActivos()), recorrer(c -> consultas.listarActivos(c, tamano)),
+                    "listarActivos con páginas de " + tamano);
+            assertEquals(ordenados(consultas.listarInactivos()), recorrer(c -> consultas.listarInactivos(c, tamano)),
+                    "listarInactivos con páginas de " + tamano);
+            assertEquals(ordenados(consultas.listarPorCargo(analista.getId())),
+                    recorrer(c -> consultas.listarPorCargo(analista.getId(), c, tamano)),
+                    "listarPorCargo con páginas de " + tamano);
+        }
+    }
+
+    @Test
+    void unaUltimaPaginaCompletaNoTieneSiguiente() {
+        Pagina<EmpleadoResumen> primera = consultas.listarPorCargo(gerente.getId(), null, 6);
+        Pagina<EmpleadoResumen> segunda = consultas.listarPorCargo(gerente.getId(), primera.siguiente(), 6);
+
+        assertEquals(6, primera.elementos().size());
+        assertTrue(primera.tieneSiguiente());
+        assertEquals(6, segunda.elementos().size());
+        assertNull(segunda.siguiente());
+    }
+
+    @Test
+    void unCorteEnMedioDeUnEmpateSigueConElSiguienteId() {
+        List<EmpleadoResumen> todos = ordenados(consultas.listarTodos());
+        EmpleadoResumen corte = todos.get(2);
+        EmpleadoResumen siguiente = todos.get(3);
+        assertEquals(corte.apellido() + corte.nombre(), siguiente.apellido() + siguiente.nombre(),
+                "los datos deben tener empates en (apellido, nombre)");
+
+        Pagina<EmpleadoResumen> pagina = consultas.listarTodos(CursorEmpleado.de(corte), 1);
+
+        assertEquals(List.of(siguiente), pagina.elementos());
+        assertEquals(CursorEmpleado.de(siguiente), pagina.siguiente());
+    }
+
+    @Test
+    void elCursorDelUltimoEmpleadoDevuelveUnaPaginaVacia() {
+        List<EmpleadoResumen> todos = ordenados(consultas.listarTodos());
+
+        Pagina<EmpleadoResumen> pagina = consultas.listarTodos(CursorEmpleado.de(todos.getLast()), 10);
+
+        assertTrue(pagina.elementos().isEmpty());
+        assertNull(pagina.siguiente());
+    }
+
+    @Test
+    void laBusquedaPorNombrePaginaPorRelevanciaSinRepetirNiOmitir() {
+        Set<Long> todos = new HashSet<>(consultas.listarTodos().stream().map(EmpleadoResumen::id).toList());
+        for (int tamano : new int[]{1, 4, 5, 36, 37, 100}) {
+            List<EmpleadoResumen> encontrados = recorrer(c -> consultas.buscarPorNombre("nombre", c, tamano));
+
+            assertEquals(todos, new HashSet<>(encontrados.stream().map(EmpleadoResumen::id).toList()),
+                    "buscarPorNombre con páginas de " + tamano);
+        }
+        Pagina<EmpleadoResumen> primera = consultas.buscarPorNombre("nombre1", null, 3);
+        assertTrue(primera.tieneSiguiente());
+        assertTrue(primera.siguiente().relevancia() != null, "el cursor de la búsqueda lleva la relevancia");
+    }
+
+    private static List<EmpleadoResumen> recorrer(Function<CursorEmpleado, Pagina<EmpleadoResumen>> pedirPagina) {
+        List<EmpleadoResumen> recorridos = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+        CursorEmpleado cursor = null;
+        do {
+            Pagina<EmpleadoResumen> pagina = pedirPagina.apply(cursor);
+            for (EmpleadoResumen empleado : pagina.elementos()) {
+                assertTrue(vistos.add(empleado.id()), () -> "empleado repetido: " + empleado.id());
+                recorridos.add(empleado);
+            }
+            cursor = pagina.siguiente();
+        } while (cursor != null);
+        return recorridos;
+    }
+
+    private static List<EmpleadoResumen> ordenados(List<EmpleadoResumen> empleados) {
+        return empleados.stream().sorted(ORDEN).toList();
+    }
+}
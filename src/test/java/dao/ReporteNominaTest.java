@@ -0,0 +1,62 @@
+package dao;
+
+import models.Cargo;
+import models.Empleado;
+import models.ResumenNomina;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import util.BaseDatosPrueba;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * El resumen por año de contratación entrega una fila por año (no por fecha), también
+ * en SQLite, donde las fechas se guardan como milisegundos.
+ */
+class ReporteNominaTest extends BaseDatosPrueba {
+
+    private static final ReporteNominaDAO reporte = new ReporteNominaDAO();
+
+    @BeforeAll
+    static void cargarDatos() {
+        Cargo cargo = new CargoDAO().guardar(nuevoCargo("Senior", 2000.0));
+        Empleado sinSalario = nuevoEmpleado("Luis", "SinSalario", 0.0, LocalDate.of(2021, 7, 1), cargo);
+        sinSalario.setSalarioActual(null);
+        new EmpleadoDAO().guardarTodos(List.of(
+                nuevoEmpleado("Ana", "Enero", 2500.0, LocalDate.of(2021, 1, 1), cargo),
+                nuevoEmpleado("Eva", "Diciembre", 3500.0, LocalDate.of(2021, 12, 31), cargo),
+                sinSalario,
+                nuevoEmpleado("Juan", "Junio", 2200.0, LocalDate.of(2022, 6, 15), cargo),
+                nuevoEmpleado("Rosa", "SinFecha", 2000.0, null, cargo)));
+    }
+
+    @Test
+    void agrupaPorAnioDeContratacion() {
+        List<ResumenNomina> resumenes = reporte.resumir(ResumenNomina.Agrupacion.ANIO_CONTRATACION, false);
+        Map<String, ResumenNomina> porAnio = resumenes.stream()
+                .collect(Collectors.toMap(ResumenNomina::grupo, Function.identity()));
+
+        assertEquals(3, resumenes.size(), () -> "grupos: " + porAnio.keySet());
+        assertEquals(3, porAnio.get("2021").empleados());
+        assertEquals(6000.0, porAnio.get("2021").totalSalarios(), 0.001);
+        assertEquals(1, porAnio.get("2022").empleados());
+        assertEquals(1, porAnio.get("Sin fecha").empleados());
+    }
+
+    @Test
+    void laDiferenciaPromedioIgnoraALosEmpleadosSinSalario() {
+        ResumenNomina anio2021 = reporte.resumir(ResumenNomina.Agrupacion.ANIO_CONTRATACION, false).stream()
+                .filter(r -> r.grupo().equals("2021"))
+                .findFirst().orElseThrow();
+
+        // (500 + 1500) / 2: el empleado sin salario no cuenta
+        assertEquals(1000.0, anio2021.diferenciaPromedio(), 0.001);
+        assertEquals(3000.0, anio2021.salarioPromedio(), 0.001);
+    }
+}
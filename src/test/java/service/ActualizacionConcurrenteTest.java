@@ -0,0 +1,97 @@
+package service;
+
+import models.Cargo;
+import models.Empleado;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import util.BaseDatosPrueba;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conflictos de concurrencia optimista en las actualizaciones del servicio: los cambios
+ * parciales se reintentan sobre la versión actual sin perder lo que escribió el otro
+ * usuario, y las actualizaciones que reemplazan todos los campos con una versión
+ * obsoleta fallan en lugar de pisarlo.
+ */
+class ActualizacionConcurrenteTest extends BaseDatosPrueba {
+
+    private static GestionEmpleadosService servicio;
+
+    @BeforeAll
+    static void crearServicio() {
+        servicio = new GestionEmpleadosService();
+    }
+
+    @AfterAll
+    static void cerrarServicio() {
+        servicio.cerrar();
+    }
+
+    @Test
+    void unConflictoVuelveAAplicarLosCambiosSobreLaVersionActual() {
+        Empleado empleado = crearEmpleado();
+        AtomicInteger intentos = new AtomicInteger();
+
+        Empleado actualizado = servicio.actualizarEmpleado(empleado.getId(), actual -> {
+            if (intentos.incrementAndGet() == 1) {
+                // Otro usuario confirma un cambio entre la lectura y el guardado
+                servicio.actualizarEmpleado(empleado.getId(), otro -> otro.setTelefono("3111111"));
+            }
+            actual.setSalarioActual(5000.0);
+        });
+
+        assertEquals(2, intentos.get());
+        Empleado releido = servicio.obtenerEmpleadoPorId(empleado.getId()).orElseThrow();
+        assertEquals(5000.0, releido.getSalarioActual(), 0.001);
+        assertEquals("3111111", releido.getTelefono());
+        assertEquals(empleado.getVersion() + 2, actualizado.getVersion());
+        assertTrue(servicio.obtenerMetricasConflictos().stream()
+                .anyMatch(m -> m.operacion().equals("actualizarEmpleado") && m.resueltas() > 0));
+    }
+
+    @Test
+    void unEmpleadoConVersionObsoletaNoPisaElCambioAjeno() {
+        Empleado leido = crearEmpleado();
+        servicio.actualizarEmpleado(leido.getId(), otro -> otro.setTelefono("3222222"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> servicio.actualizarEmpleado(leido.getId(), leido.getVersion(), leido.getNombre(),
+                        leido.getApellido(), leido.getEmail(), leido.getTelefono(), 9000.0, leido.getCargo()));
+
+        assertTrue(error.getMessage().contains("modificado por otro usuario"), error.getMessage());
+        Empleado releido = servicio.obtenerEmpleadoPorId(leido.getId()).orElseThrow();
+        assertEquals("3222222", releido.getTelefono());
+        assertEquals(leido.getSalarioActual(), releido.getSalarioActual(), 0.001);
+    }
+
+    @Test
+    void unCargoConVersionObsoletaNoPisaElCambioAjeno() {
+        Cargo leido = servicio.crearCargo("Cargo concurrente", "Original", 2000.0, "Junior");
+        servicio.actualizarCargo(leido.getId(), otro -> otro.setDescripcion("Cambiada por otro usuario"));
+
+        assertThrows(IllegalStateException.class, () -> servicio.actualizarCargo(leido.getId(),
+                leido.getVersion(), leido.getNombre(), leido.getDescripcion(), 2500.0, leido.getNivel()));
+
+        Cargo actual = servicio.obtenerCargoPorId(leido.getId()).orElseThrow();
+        assertEquals("Cambiada por otro usuario", actual.getDescripcion());
+        assertEquals(2000.0, actual.getSalarioBase(), 0.001);
+
+        Cargo actualizado = servicio.actualizarCargo(actual.getId(), actual.getVersion(), actual.getNombre(),
+                actual.getDescripcion(), 2500.0, actual.getNivel());
+        assertEquals(2500.0, actualizado.getSalarioBase(), 0.001);
+    }
+
+    private static Empleado crearEmpleado() {
+        Cargo cargo = servicio.crearCargo(nuevoCargo("Senior", 3000.0).getNombre(), "Cargo de prueba", 3000.0, "Senior");
+        Empleado nuevo = nuevoEmpleado("Ana", "Concurrente", 3500.0, LocalDate.of(2021, 5, 1), cargo);
+        return servicio.crearEmpleado(nuevo.getNum_empleado(), nuevo.getNombre(), nuevo.getApellido(),
+                nuevo.getEmail(), nuevo.getTelefono(), nuevo.getFechaContratacion(), nuevo.getSalarioActual(), cargo);
+    }
+}
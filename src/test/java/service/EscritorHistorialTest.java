@@ -0,0 +1,84 @@
+package service;
+
+import dao.IHistorialSalario;
+import models.HistorialSalario;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Un lote de historial que no se puede escribir queda retenido para reintento en vez de
+ * descartarse, y el cierre falla si algo queda sin escribir.
+ */
+class EscritorHistorialTest {
+
+    @Test
+    void unLoteQueFallaSeRetieneYSeEscribeAlCerrar() {
+        HistorialEnMemoria historial = new HistorialEnMemoria();
+        EscritorHistorial escritor = new EscritorHistorial(historial);
+
+        escritor.encolar(List.of(cambio(1L), cambio(2L)));
+        escritor.vaciar();
+
+        assertEquals(2, escritor.pendientes());
+        historial.disponible = true;
+        escritor.cerrar();
+        assertEquals(0, escritor.pendientes());
+        assertEquals(List.of(1L, 2L), historial.escritos.stream().map(HistorialSalario::getEmpleadoId).sorted().toList());
+    }
+
+    @Test
+    void cerrarFallaSiQuedanRegistrosSinEscribir() {
+        EscritorHistorial escritor = new EscritorHistorial(new HistorialEnMemoria());
+
+        escritor.encolar(List.of(cambio(1L)));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, escritor::cerrar);
+        assertEquals("No se pudieron escribir 1 registros de historial de salarios", error.getMessage());
+    }
+
+    private static HistorialSalario cambio(Long empleadoId) {
+        return new HistorialSalario(empleadoId, 1000.0, 1100.0, 1L, 1L,
+                LocalDateTime.of(2024, 1, 1, 0, 0), HistorialSalario.AJUSTE_MASIVO);
+    }
+
+    /**
+     * Historial en memoria cuyas escrituras fallan mientras no esté disponible
+     */
+    private static final class HistorialEnMemoria implements IHistorialSalario {
+        private final List<HistorialSalario> escritos = new CopyOnWriteArrayList<>();
+        private volatile boolean disponible;
+
+        @Override
+        public int guardarTodos(Collection<HistorialSalario> registros) {
+            if (!disponible) {
+                throw new RuntimeException("Base de datos no disponible");
+            }
+            escritos.addAll(registros);
+            return registros.size();
+        }
+
+        @Override
+        public List<HistorialSalario> buscarPorEmpleado(Long empleadoId) {
+            return List.of();
+        }
+
+        @Override
+        public Optional<HistorialSalario> buscarVigenteEn(Long empleadoId, LocalDate fecha) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<HistorialSalario> buscarPrimeroDespuesDe(Long empleadoId, LocalDate fecha) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package util;
+
+import models.Cargo;
+import models.Empleado;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base SQLite temporal para las pruebas de integración: cada clase de prueba arranca
+ * Hibernate con la unidad sqlite-unit sobre un archivo nuevo y lo cierra al terminar.
+ */
+public abstract class BaseDatosPrueba {
+
+    private static final AtomicLong SECUENCIA = new AtomicLong();
+
+    @TempDir
+    static Path directorio;
+
+    @BeforeAll
+    static void abrirBase() {
+        JPAUtil.configureSQLite(directorio.resolve("pruebas.db").toString());
+    }
+
+    @AfterAll
+    static void cerrarBase() {
+        JPAUtil.close();
+    }
+
+    /**
+     * Cargo nuevo, todavía sin guardar, con un nombre único
+     */
+    protected static Cargo nuevoCargo(String nivel, double salarioBase) {
+        return new Cargo("Cargo " + SECUENCIA.incrementAndGet(), "Cargo de prueba", salarioBase, nivel);
+    }
+
+    /**
+     * Empleado nuevo, todavía sin guardar, con identificación y correo únicos
+     */
+    protected static Empleado nuevoEmpleado(String nombre, String apellido, double salario,
+                                           LocalDate contratacion, Cargo cargo) {
+        long n = SECUENCIA.incrementAndGet();
+        return new Empleado("PRU-" + n, nombre, apellido, "prueba" + n + "@empresa.com",
+                "300" + n, contratacion, salario, cargo);
+    }
+}
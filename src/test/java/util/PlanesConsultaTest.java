@@ -0,0 +1,181 @@
+package util;
+
+import dao.CargoDAO;
+import dao.ConsultaEmpleadosDAO;
+import dao.CursorEmpleado;
+import dao.EmpleadoDAO;
+import dao.HistorialSalarioDAO;
+import models.Cargo;
+import models.Empleado;
+import models.HistorialSalario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que las consultas de los DAOs se resuelven con un índice, sin recorrer toda
+ * la tabla ni ordenar en memoria. Los planes se piden con {@link InterceptorSentencias}
+ * sobre el SQL que Hibernate genera realmente, con los mismos parámetros.
+ * <p>
+ * Un recorrido completo (SCAN en SQLite; Seq Scan, o un Index Scan sin Index Cond, en
+ * PostgreSQL) solo se acepta en sentencias sin WHERE, como el listado completo en
+ * orden. Las búsquedas por nombre ({@code LIKE '%...%'} o el índice de texto completo)
+ * no se verifican aquí.
+ */
+class PlanesConsultaTest extends BaseDatosPrueba {
+
+    private static final EmpleadoDAO empleados = new EmpleadoDAO();
+    private static final ConsultaEmpleadosDAO consultas = new ConsultaEmpleadosDAO();
+    private static final HistorialSalarioDAO historial = new HistorialSalarioDAO();
+
+    private static Cargo cargo;
+    private static Empleado empleado;
+
+    @BeforeAll
+    static void cargarDatos() {
+        cargo = new CargoDAO().guardar(nuevoCargo("Senior", 3000.0));
+        List<Empleado> nuevos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            nuevos.add(nuevoEmpleado("Nombre " + (i % 7), "Apellido " + (i % 13), 3000.0 + i,
+                    LocalDate.of(2020, 1, 1).plusDays(i), cargo));
+        }
+        empleados.guardarTodos(nuevos);
+        empleado = nuevos.getFirst();
+        historial.guardarTodos(List.of(
+                new HistorialSalario(empleado.getId(), null, 3000.0, null, cargo.getId(),
+                        LocalDateTime.of(2020, 1, 1, 0, 0), HistorialSalario.ALTA),
+                new HistorialSalario(empleado.getId(), 3000.0, 3300.0, cargo.getId(), cargo.getId(),
+                        LocalDateTime.of(2023, 1, 1, 0, 0), HistorialSalario.AJUSTE_MASIVO)));
+    }
+
+    @AfterEach
+    void quitarReceptor() {
+        InterceptorSentencias.receptorPlanes = null;
+    }
+
+    @Test
+    void lasConsultasDeLosDAOsUsanIndices() {
+        CursorEmpleado cursor = new CursorEmpleado("Apellido 5", "Nombre 3", empleado.getId());
+        Map<String, Runnable> operaciones = new LinkedHashMap<>();
+        operaciones.put("buscarPorIdentificacion", () -> empleados.buscarPorIdentificacion(empleado.getNum_empleado()));
+        operaciones.put("listarTodos", consultas::listarTodos);
+        operaciones.put("listarActivos", consultas::listarActivos);
+        operaciones.put("listarInactivos", consultas::listarInactivos);
+        operaciones.put("listarPorCargo", () -> consultas.listarPorCargo(cargo.getId()));
+        operaciones.put("listarTodos (página)", () -> consultas.listarTodos(cursor, 20));
+        operaciones.put("listarActivos (página)", () -> consultas.listarActivos(cursor, 20));
+        operaciones.put("listarPorCargo (página)", () -> consultas.listarPorCargo(cargo.getId(), cursor, 20));
+        operaciones.put("recorrerTodos", () -> empleados.recorrerTodos(100, e -> { }));
+        operaciones.put("contarActivos", empleados::contarActivos);
+        operaciones.put("contarPorCargo", () -> empleados.contarPorCargo(cargo.getId()));
+        operaciones.put("historial: buscarPorEmpleado", () -> historial.buscarPorEmpleado(empleado.getId()));
+        operaciones.put("historial: buscarVigenteEn",
+                () -> historial.buscarVigenteEn(empleado.getId(), LocalDate.of(2022, 6, 1)));
+        operaciones.put("historial: buscarPrimeroDespuesDe",
+                () -> historial.buscarPrimeroDespuesDe(empleado.getId(), LocalDate.of(2022, 6, 1)));
+
+        boolean sqlite = JPAUtil.isUsingFallback();
+        List<String> fallos = new ArrayList<>();
+        operaciones.forEach((nombre, operacion) -> {
+            List<String[]> planes = new CopyOnWriteArrayList<>();
+            InterceptorSentencias.receptorPlanes = (sql, plan) -> planes.add(new String[]{sql, String.join("\n", plan)});
+            try {
+                operacion.run();
+            } finally {
+                InterceptorSentencias.receptorPlanes = null;
+            }
+
+            if (planes.isEmpty()) {
+                fallos.add(nombre + ": no ejecutó ninguna consulta");
+            }
+            for (String[] sentencia : planes) {
+                List<String> problemas = problemas(List.of(sentencia[1].split("\n")), sentencia[0], sqlite);
+                if (!problemas.isEmpty()) {
+                    fallos.add(nombre + ": " + problemas + "\n   " + sentencia[0] + "\n   " + sentencia[1]);
+                }
+            }
+        });
+
+        assertTrue(fallos.isEmpty(), () -> "Consultas sin índice:\n" + String.join("\n", fallos));
+    }
+
+    @Test
+    void indexScanSinIndexCondConFiltroEsUnRecorridoCompleto() {
+        List<String> plan = List.of(
+                "Limit  (cost=0.28..8.45 rows=21 width=120)",
+                "  ->  Index Scan using idx_empleados_apellido_nombre on empleados e1_0  (cost=0.28..80.45 rows=200 width=120)",
+                "        Filter: (((apellido)::text > 'a'::text) OR ((apellido)::text = 'a'::text))");
+
+        assertEquals(1, problemas(plan, "select e1_0.id from empleados e1_0 where e1_0.apellido>? order by 1", false).size());
+    }
+
+    @Test
+    void indexScanConIndexCondPasa() {
+        List<String> plan = List.of(
+                "Limit  (cost=0.28..8.45 rows=21 width=120)",
+                "  ->  Index Scan using idx_empleados_apellido_nombre on empleados e1_0  (cost=0.28..80.45 rows=200 width=120)",
+                "        Index Cond: ((apellido)::text >= 'a'::text)",
+                "        Filter: (((apellido)::text > 'a'::text) OR ((apellido)::text = 'a'::text))");
+
+        assertTrue(problemas(plan, "select e1_0.id from empleados e1_0 where e1_0.apellido>=? order by 1", false).isEmpty());
+    }
+
+    @Test
+    void recorridoCompletoSinWhereEnOrdenDeIndicePasa() {
+        assertTrue(problemas(List.of("SCAN e1_0 USING INDEX idx_empleados_apellido_nombre"),
+                "select e1_0.id from empleados e1_0 order by e1_0.apellido", true).isEmpty());
+        assertFalse(problemas(List.of("SCAN e1_0 USING INDEX idx_empleados_apellido_nombre"),
+                "select e1_0.id from empleados e1_0 where e1_0.nombre=? order by e1_0.apellido", true).isEmpty());
+        assertFalse(problemas(List.of("SCAN e1_0", "USE TEMP B-TREE FOR ORDER BY"),
+                "select e1_0.id from empleados e1_0 order by e1_0.nombre", true).isEmpty());
+    }
+
+    /**
+     * Pasos del plan que recorren una tabla completa filtrando u ordenan en memoria;
+     * vacío si la sentencia se resuelve con índices
+     */
+    static List<String> problemas(List<String> plan, String sql, boolean sqlite) {
+        boolean conFiltro = sql.toLowerCase(Locale.ROOT).contains(" where ");
+        List<String> problemas = new ArrayList<>();
+        for (int i = 0; i < plan.size(); i++) {
+            String paso = plan.get(i).trim().replaceFirst("^->\\s*", "");
+            if (sqlite) {
+                if (paso.contains("USE TEMP B-TREE")
+                        || conFiltro && paso.startsWith("SCAN ") && !paso.contains("VIRTUAL TABLE")) {
+                    problemas.add(paso);
+                }
+            } else if (paso.startsWith("Sort") || conFiltro && paso.startsWith("Seq Scan")) {
+                problemas.add(paso);
+            } else if (conFiltro && (paso.startsWith("Index Scan") || paso.startsWith("Index Only Scan"))
+                    && !tieneIndexCond(plan, i)) {
+                problemas.add(paso + " sin Index Cond");
+            }
+        }
+        return problemas;
+    }
+
+    /**
+     * Busca "Index Cond" entre las líneas de detalle del nodo, hasta el siguiente nodo
+     */
+    private static boolean tieneIndexCond(List<String> plan, int nodo) {
+        for (int i = nodo + 1; i < plan.size() && !plan.get(i).contains("->"); i++) {
+            if (plan.get(i).trim().startsWith("Index Cond:")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}